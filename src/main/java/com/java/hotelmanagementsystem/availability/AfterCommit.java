@@ -0,0 +1,30 @@
+package com.java.hotelmanagementsystem.availability;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Helper deferring in-memory index and cache updates until the current transaction commits. */
+public final class AfterCommit {
+
+  private AfterCommit() {}
+
+  /**
+   * Runs the action after the current transaction commits, or right away when no transaction is
+   * active. Nothing runs if the transaction rolls back.
+   *
+   * @param action The update to run.
+   */
+  public static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,150 @@
+package com.java.hotelmanagementsystem.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of availability search results, evicting the least recently used entry once full
+ * and every entry older than its time to live.
+ *
+ * <p>Each entry remembers the time range it was computed for, so a reservation write only drops
+ * the entries whose range overlaps the reserved one. Writes reach the cache through {@link
+ * RoomReservationIndexListener} and {@link EntertainmentReservationIndexListener} once their
+ * transaction commits, and room or entertainment changes drop every entry of their area. A result
+ * loaded while an invalidation of its area ran is returned but not stored, so a search racing a
+ * booking never caches the state from before the booking.
+ */
+@Component
+public class AvailabilityCache {
+
+  /** The kind of search an entry belongs to. */
+  public enum Area {
+    ROOM,
+    ENTERTAINMENT
+  }
+
+  /**
+   * Identifies a cached search.
+   *
+   * @param area The kind of search.
+   * @param query The name of the search.
+   * @param argument The search argument other than the time range, e.g. a room type.
+   * @param from The start of the searched range in epoch milliseconds.
+   * @param to The end of the searched range in epoch milliseconds.
+   */
+  public record Key(Area area, String query, Object argument, long from, long to) {}
+
+  /** Counters describing the cache since startup. */
+  public record Stats(
+      long hits, long misses, long evictions, long expirations, long invalidations, int size) {}
+
+  private record Entry(List<?> value, long expiresAt) {}
+
+  @Value("${availability.cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${availability.cache.max-entries:10000}")
+  private int maxEntries;
+
+  @Value("${availability.cache.ttl-seconds:60}")
+  private long ttlSeconds;
+
+  private final Map<Key, Entry> entries =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+          if (size() > maxEntries) {
+            evictions++;
+            return true;
+          }
+          return false;
+        }
+      };
+  private final long[] versions = new long[Area.values().length];
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long expirations;
+  private long invalidations;
+
+  /**
+   * Returns the cached result of a search, running and caching the search on a miss.
+   *
+   * @param key The search to look up.
+   * @param loader The search itself.
+   * @return The search result. Cached results are unmodifiable.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> get(Key key, Supplier<List<T>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+    long version;
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+        hits++;
+        return (List<T>) entry.value();
+      }
+      if (entry != null) {
+        entries.remove(key);
+        expirations++;
+      }
+      misses++;
+      version = versions[key.area().ordinal()];
+    }
+    List<T> value = List.copyOf(loader.get());
+    synchronized (this) {
+      if (versions[key.area().ordinal()] == version) {
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttlSeconds * 1000));
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Drops the entries of an area whose searched range overlaps the given one.
+   *
+   * @param area The kind of search affected.
+   * @param from The start of the changed range in epoch milliseconds.
+   * @param to The end of the changed range in epoch milliseconds.
+   */
+  public synchronized void invalidateOverlapping(Area area, long from, long to) {
+    if (!enabled) {
+      return;
+    }
+    versions[area.ordinal()]++;
+    Iterator<Key> keys = entries.keySet().iterator();
+    while (keys.hasNext()) {
+      Key key = keys.next();
+      if (key.area() == area && key.from() <= to && key.to() >= from) {
+        keys.remove();
+        invalidations++;
+      }
+    }
+  }
+
+  /**
+   * Drops every entry of an area, e.g. after a room was added or a price changed.
+   *
+   * @param area The kind of search affected.
+   */
+  public void invalidateAll(Area area) {
+    invalidateOverlapping(area, Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Returns the cache counters.
+   *
+   * @return The hits, misses, size evictions, expirations and invalidations since startup.
+   */
+  public synchronized Stats getStats() {
+    return new Stats(hits, misses, evictions, expirations, invalidations, entries.size());
+  }
+}
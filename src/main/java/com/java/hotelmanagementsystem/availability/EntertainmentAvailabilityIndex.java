@@ -0,0 +1,474 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.Entertainment;
+import com.java.hotelmanagementsystem.models.dto.bookings.EntertainmentReservationInterval;
+import com.java.hotelmanagementsystem.repositories.EntertainmentRepository;
+import com.java.hotelmanagementsystem.repositories.EntertainmentReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory schedule answering entertainment availability queries without touching the database.
+ *
+ * <p>Elements are grouped by entertainment type, and each element keeps its reserved time slots in
+ * a set sorted by start time together with the longest slot it holds. Only slots starting between
+ * {@code from - longest} and {@code to} can overlap a requested range, so a lookup is a logarithmic
+ * seek followed by a short scan. Slot bounds are inclusive, which mirrors the BETWEEN clauses used
+ * by {@link EntertainmentRepository}. The schedule is rebuilt from {@link
+ * EntertainmentReservationRepository} at startup and every night, and kept current in between by
+ * {@link EntertainmentReservationIndexListener} and {@link EntertainmentIndexListener}. As those
+ * only see this instance's changes, the schedule is also reconciled with the database every
+ * {@code availability.index.refresh-ms}, so slots booked or released on other instances are seen
+ * within one refresh interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntertainmentAvailabilityIndex {
+
+  private final EntertainmentRepository entertainmentRepository;
+  private final EntertainmentReservationRepository entertainmentReservationRepository;
+
+  @Value("${availability.index.enabled:true}")
+  private boolean enabled;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Integer, TreeMap<Integer, Schedule>> types = new HashMap<>();
+  private final Map<Integer, Schedule> elements = new HashMap<>();
+  private final Map<Integer, Slot> reservations = new HashMap<>();
+  private final Set<Integer> touchedElements = new HashSet<>();
+  private final Set<Integer> touchedReservations = new HashSet<>();
+  private long loadedSince;
+  private boolean refreshing;
+  private volatile boolean ready;
+
+  /** A reserved time slot, ordered by start time and then by reservation. */
+  private record Slot(int reservationId, int entertainmentId, long from, long to) {}
+
+  private static final Comparator<Slot> BY_START =
+      Comparator.comparingLong(Slot::from).thenComparingInt(Slot::reservationId);
+
+  /** Reserved slots of a single entertainment element. */
+  private static final class Schedule {
+    private final int entertainmentTypeId;
+    private final TreeSet<Slot> slots = new TreeSet<>(BY_START);
+    private long longest;
+
+    private Schedule(int entertainmentTypeId) {
+      this.entertainmentTypeId = entertainmentTypeId;
+    }
+
+    private boolean isFree(long from, long to) {
+      Slot lowest = new Slot(Integer.MIN_VALUE, 0, from - longest, 0);
+      Slot highest = new Slot(Integer.MAX_VALUE, 0, to, 0);
+      for (Slot slot : slots.subSet(lowest, true, highest, true)) {
+        if (slot.to() >= from) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void remove(Slot slot) {
+      slots.remove(slot);
+      if (slot.to() - slot.from() == longest) {
+        longest = slots.stream().mapToLong(s -> s.to() - s.from()).max().orElse(0);
+      }
+    }
+  }
+
+  /** Builds the schedule once the application context is ready. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /** Rebuilds the schedule every night, dropping slots that ended before the rebuild. */
+  @Scheduled(cron = "${availability.index.rebuild-cron:0 5 0 * * *}")
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    lock.writeLock().lock();
+    try {
+      long start = System.currentTimeMillis();
+      types.clear();
+      elements.clear();
+      reservations.clear();
+      loadedSince = now.getTime();
+      for (Entertainment entertainment : entertainmentRepository.findAll()) {
+        schedule(entertainment.getId(), entertainmentTypeId(entertainment));
+      }
+      List<EntertainmentReservationInterval> intervals =
+          entertainmentReservationRepository.findIntervalsEndingOnOrAfter(now);
+      for (EntertainmentReservationInterval interval : intervals) {
+        addSlot(
+            interval.getReservationId(),
+            interval.getEntertainmentId(),
+            interval.getEntertainmentTypeId(),
+            interval.getDateFrom(),
+            interval.getDateTo());
+      }
+      ready = true;
+      log.info(
+          "Entertainment availability index built: {} elements, {} reservations in {} ms",
+          elements.size(),
+          intervals.size(),
+          System.currentTimeMillis() - start);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Reconciles the schedule with the reservations and elements in the database. The snapshot is
+   * read without holding the lock; elements and reservations changed by this instance's listeners
+   * in the meantime are left as the listeners recorded them.
+   */
+  @Scheduled(
+      fixedDelayString = "${availability.index.refresh-ms:30000}",
+      initialDelayString = "${availability.index.refresh-ms:30000}")
+  public void refresh() {
+    if (!enabled || !ready) {
+      return;
+    }
+    Timestamp since;
+    lock.writeLock().lock();
+    try {
+      refreshing = true;
+      touchedElements.clear();
+      touchedReservations.clear();
+      since = new Timestamp(loadedSince);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    List<EntertainmentReservationInterval> intervals = null;
+    List<Entertainment> snapshotElements = null;
+    try {
+      // Elements are read last, so every element an interval refers to is listed or deleted
+      intervals = entertainmentReservationRepository.findIntervalsEndingOnOrAfter(since);
+      snapshotElements = entertainmentRepository.findAll();
+    } finally {
+      lock.writeLock().lock();
+      try {
+        refreshing = false;
+        if (snapshotElements != null) {
+          int changes = reconcile(snapshotElements, intervals);
+          if (changes > 0) {
+            log.debug("Entertainment availability index refreshed: {} changes", changes);
+          }
+        }
+        touchedElements.clear();
+        touchedReservations.clear();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * Tells whether the schedule can answer a query for the given time range.
+   *
+   * @param dateFrom The start of the range.
+   * @param dateTo The end of the range.
+   * @return true if the schedule is enabled, built and holds every slot that may overlap the range.
+   */
+  public boolean canAnswer(Timestamp dateFrom, Timestamp dateTo) {
+    if (!enabled || !ready || dateFrom.after(dateTo)) {
+      return false;
+    }
+    lock.readLock().lock();
+    try {
+      return dateFrom.getTime() >= loadedSince;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the elements of a type that are free for the whole time range.
+   *
+   * @param entertainmentTypeId The entertainment type.
+   * @param dateFrom The start of the range.
+   * @param dateTo The end of the range.
+   * @return The identifiers of the free elements in ascending order.
+   */
+  public List<Integer> findAvailableEntertainmentIds(
+      int entertainmentTypeId, Timestamp dateFrom, Timestamp dateTo) {
+    lock.readLock().lock();
+    try {
+      List<Integer> entertainmentIds = new ArrayList<>();
+      TreeMap<Integer, Schedule> schedules = types.get(entertainmentTypeId);
+      if (schedules == null) {
+        return entertainmentIds;
+      }
+      schedules.forEach(
+          (entertainmentId, schedule) -> {
+            if (schedule.isFree(dateFrom.getTime(), dateTo.getTime())) {
+              entertainmentIds.add(entertainmentId);
+            }
+          });
+      return entertainmentIds;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Checks whether an element of the given type is free for the whole time range.
+   *
+   * @param entertainmentId The element to check.
+   * @param entertainmentTypeId The type the element must belong to.
+   * @param dateFrom The start of the range.
+   * @param dateTo The end of the range.
+   * @return true if the element exists, has the given type and no slot overlaps the range.
+   */
+  public boolean isAvailable(
+      int entertainmentId, int entertainmentTypeId, Timestamp dateFrom, Timestamp dateTo) {
+    lock.readLock().lock();
+    try {
+      Schedule schedule = elements.get(entertainmentId);
+      return schedule != null
+          && schedule.entertainmentTypeId == entertainmentTypeId
+          && schedule.isFree(dateFrom.getTime(), dateTo.getTime());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Registers a new entertainment element. Elements changing type are moved with their slots.
+   *
+   * @param entertainmentId The element identifier.
+   * @param entertainmentTypeId The entertainment type identifier.
+   */
+  public void putEntertainment(int entertainmentId, int entertainmentTypeId) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (!ready) {
+        return;
+      }
+      touch(touchedElements, entertainmentId);
+      moveSchedule(entertainmentId, entertainmentTypeId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes an entertainment element and its slots.
+   *
+   * @param entertainmentId The element identifier.
+   */
+  public void removeEntertainment(int entertainmentId) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      touch(touchedElements, entertainmentId);
+      removeElement(entertainmentId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Records a reservation, replacing any slot previously recorded for the same reservation.
+   *
+   * @param reservationId The reservation identifier.
+   * @param entertainmentId The reserved element.
+   * @param entertainmentTypeId The type of the reserved element.
+   * @param dateFrom The start of the reserved slot.
+   * @param dateTo The end of the reserved slot.
+   */
+  public void putReservation(
+      int reservationId,
+      int entertainmentId,
+      int entertainmentTypeId,
+      Timestamp dateFrom,
+      Timestamp dateTo) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (!ready) {
+        return;
+      }
+      touch(touchedReservations, reservationId);
+      removeSlot(reservationId);
+      addSlot(reservationId, entertainmentId, entertainmentTypeId, dateFrom, dateTo);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Releases the slot held by a reservation.
+   *
+   * @param reservationId The reservation identifier.
+   */
+  public void removeReservation(int reservationId) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      touch(touchedReservations, reservationId);
+      removeSlot(reservationId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private Schedule schedule(int entertainmentId, int entertainmentTypeId) {
+    return elements.computeIfAbsent(
+        entertainmentId,
+        id -> {
+          Schedule schedule = new Schedule(entertainmentTypeId);
+          types.computeIfAbsent(entertainmentTypeId, type -> new TreeMap<>()).put(id, schedule);
+          return schedule;
+        });
+  }
+
+  private boolean moveSchedule(int entertainmentId, int entertainmentTypeId) {
+    Schedule schedule = elements.get(entertainmentId);
+    if (schedule != null && schedule.entertainmentTypeId == entertainmentTypeId) {
+      return false;
+    }
+    removeSchedule(entertainmentId);
+    Schedule moved = schedule(entertainmentId, entertainmentTypeId);
+    if (schedule != null) {
+      schedule.slots.forEach(moved.slots::add);
+      moved.longest = schedule.longest;
+    }
+    return true;
+  }
+
+  private void removeElement(int entertainmentId) {
+    Schedule schedule = removeSchedule(entertainmentId);
+    if (schedule != null) {
+      schedule.slots.forEach(slot -> reservations.remove(slot.reservationId()));
+    }
+  }
+
+  private int reconcile(
+      List<Entertainment> snapshotElements, List<EntertainmentReservationInterval> intervals) {
+    int changes = 0;
+    Set<Integer> reservationIds = new HashSet<>();
+    for (EntertainmentReservationInterval interval : intervals) {
+      int reservationId = interval.getReservationId();
+      reservationIds.add(reservationId);
+      if (touchedReservations.contains(reservationId)
+          || touchedElements.contains(interval.getEntertainmentId())) {
+        continue;
+      }
+      Slot slot =
+          new Slot(
+              reservationId,
+              interval.getEntertainmentId(),
+              interval.getDateFrom().getTime(),
+              interval.getDateTo().getTime());
+      if (!slot.equals(reservations.get(reservationId))) {
+        removeSlot(reservationId);
+        addSlot(
+            reservationId,
+            interval.getEntertainmentId(),
+            interval.getEntertainmentTypeId(),
+            interval.getDateFrom(),
+            interval.getDateTo());
+        changes++;
+      }
+    }
+    for (Integer reservationId : new ArrayList<>(reservations.keySet())) {
+      if (!reservationIds.contains(reservationId)
+          && !touchedReservations.contains(reservationId)) {
+        removeSlot(reservationId);
+        changes++;
+      }
+    }
+    Set<Integer> entertainmentIds = new HashSet<>();
+    for (Entertainment entertainment : snapshotElements) {
+      entertainmentIds.add(entertainment.getId());
+      if (!touchedElements.contains(entertainment.getId())
+          && moveSchedule(entertainment.getId(), entertainmentTypeId(entertainment))) {
+        changes++;
+      }
+    }
+    for (Integer entertainmentId : new ArrayList<>(elements.keySet())) {
+      if (!entertainmentIds.contains(entertainmentId)
+          && !touchedElements.contains(entertainmentId)) {
+        removeElement(entertainmentId);
+        changes++;
+      }
+    }
+    return changes;
+  }
+
+  private void touch(Set<Integer> touched, int id) {
+    if (refreshing) {
+      touched.add(id);
+    }
+  }
+
+  private Schedule removeSchedule(int entertainmentId) {
+    Schedule schedule = elements.remove(entertainmentId);
+    if (schedule != null) {
+      TreeMap<Integer, Schedule> schedules = types.get(schedule.entertainmentTypeId);
+      if (schedules != null) {
+        schedules.remove(entertainmentId);
+      }
+    }
+    return schedule;
+  }
+
+  private void addSlot(
+      int reservationId,
+      int entertainmentId,
+      int entertainmentTypeId,
+      Timestamp dateFrom,
+      Timestamp dateTo) {
+    Schedule schedule = schedule(entertainmentId, entertainmentTypeId);
+    Slot slot = new Slot(reservationId, entertainmentId, dateFrom.getTime(), dateTo.getTime());
+    schedule.slots.add(slot);
+    schedule.longest = Math.max(schedule.longest, slot.to() - slot.from());
+    reservations.put(reservationId, slot);
+  }
+
+  private void removeSlot(int reservationId) {
+    Slot slot = reservations.remove(reservationId);
+    Schedule schedule = slot == null ? null : elements.get(slot.entertainmentId());
+    if (schedule != null) {
+      schedule.remove(slot);
+    }
+  }
+
+  private static int entertainmentTypeId(Entertainment entertainment) {
+    return entertainment.getEntertainmentType() == null
+        ? 0
+        : entertainment.getEntertainmentType().getId();
+  }
+}
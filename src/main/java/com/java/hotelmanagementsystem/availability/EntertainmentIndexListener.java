@@ -0,0 +1,60 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.Entertainment;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener registering added, retyped and deleted entertainment elements in the {@link
+ * EntertainmentAvailabilityIndex} once the surrounding transaction commits. Any such change drops
+ * every cached entertainment search from the {@link AvailabilityCache}.
+ */
+public class EntertainmentIndexListener {
+
+  private final ObjectProvider<EntertainmentAvailabilityIndex> entertainmentAvailabilityIndex;
+  private final ObjectProvider<AvailabilityCache> availabilityCache;
+
+  public EntertainmentIndexListener(
+      ObjectProvider<EntertainmentAvailabilityIndex> entertainmentAvailabilityIndex,
+      ObjectProvider<AvailabilityCache> availabilityCache) {
+    this.entertainmentAvailabilityIndex = entertainmentAvailabilityIndex;
+    this.availabilityCache = availabilityCache;
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void onSave(Entertainment entertainment) {
+    EntertainmentAvailabilityIndex index = entertainmentAvailabilityIndex.getIfAvailable();
+    AvailabilityCache cache = availabilityCache.getIfAvailable();
+    if (index == null || cache == null) {
+      return;
+    }
+    int entertainmentId = entertainment.getId();
+    int entertainmentTypeId =
+        entertainment.getEntertainmentType() == null
+            ? 0
+            : entertainment.getEntertainmentType().getId();
+    AfterCommit.run(
+        () -> {
+          index.putEntertainment(entertainmentId, entertainmentTypeId);
+          cache.invalidateAll(AvailabilityCache.Area.ENTERTAINMENT);
+        });
+  }
+
+  @PostRemove
+  public void onRemove(Entertainment entertainment) {
+    EntertainmentAvailabilityIndex index = entertainmentAvailabilityIndex.getIfAvailable();
+    AvailabilityCache cache = availabilityCache.getIfAvailable();
+    if (index == null || cache == null) {
+      return;
+    }
+    int entertainmentId = entertainment.getId();
+    AfterCommit.run(
+        () -> {
+          index.removeEntertainment(entertainmentId);
+          cache.invalidateAll(AvailabilityCache.Area.ENTERTAINMENT);
+        });
+  }
+}
@@ -0,0 +1,70 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.EntertainmentReservation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.sql.Timestamp;
+
+/**
+ * JPA entity listener keeping the {@link EntertainmentAvailabilityIndex} and the {@link
+ * AvailabilityCache} in sync with entertainment reservation writes once the surrounding transaction
+ * commits.
+ */
+public class EntertainmentReservationIndexListener {
+
+  private final ObjectProvider<EntertainmentAvailabilityIndex> entertainmentAvailabilityIndex;
+  private final ObjectProvider<AvailabilityCache> availabilityCache;
+
+  public EntertainmentReservationIndexListener(
+      ObjectProvider<EntertainmentAvailabilityIndex> entertainmentAvailabilityIndex,
+      ObjectProvider<AvailabilityCache> availabilityCache) {
+    this.entertainmentAvailabilityIndex = entertainmentAvailabilityIndex;
+    this.availabilityCache = availabilityCache;
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void onSave(EntertainmentReservation reservation) {
+    EntertainmentAvailabilityIndex index = entertainmentAvailabilityIndex.getIfAvailable();
+    AvailabilityCache cache = availabilityCache.getIfAvailable();
+    if (index == null || cache == null || reservation.getEntertainment() == null) {
+      return;
+    }
+    int reservationId = reservation.getId();
+    int entertainmentId = reservation.getEntertainment().getId();
+    int entertainmentTypeId =
+        reservation.getEntertainment().getEntertainmentType() == null
+            ? 0
+            : reservation.getEntertainment().getEntertainmentType().getId();
+    Timestamp dateFrom = reservation.getDateFrom();
+    Timestamp dateTo = reservation.getDateTo();
+    AfterCommit.run(
+        () -> {
+          index.putReservation(
+              reservationId, entertainmentId, entertainmentTypeId, dateFrom, dateTo);
+          cache.invalidateOverlapping(
+              AvailabilityCache.Area.ENTERTAINMENT, dateFrom.getTime(), dateTo.getTime());
+        });
+  }
+
+  @PostRemove
+  public void onRemove(EntertainmentReservation reservation) {
+    EntertainmentAvailabilityIndex index = entertainmentAvailabilityIndex.getIfAvailable();
+    AvailabilityCache cache = availabilityCache.getIfAvailable();
+    if (index == null || cache == null) {
+      return;
+    }
+    int reservationId = reservation.getId();
+    Timestamp dateFrom = reservation.getDateFrom();
+    Timestamp dateTo = reservation.getDateTo();
+    AfterCommit.run(
+        () -> {
+          index.removeReservation(reservationId);
+          cache.invalidateOverlapping(
+              AvailabilityCache.Area.ENTERTAINMENT, dateFrom.getTime(), dateTo.getTime());
+        });
+  }
+}
@@ -0,0 +1,253 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.Entertainment;
+import com.java.hotelmanagementsystem.models.EntertainmentReservation;
+import com.java.hotelmanagementsystem.models.Room;
+import com.java.hotelmanagementsystem.models.RoomReservation;
+import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.repositories.EntertainmentRepository;
+import com.java.hotelmanagementsystem.repositories.EntertainmentReservationRepository;
+import com.java.hotelmanagementsystem.repositories.RoomRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
+import com.java.hotelmanagementsystem.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Allocates rooms and entertainment elements so that concurrent bookings never share a slot.
+ *
+ * <p>Each claim runs in its own short transaction: it locks the row of the candidate room or
+ * element, checks the reservation table for an overlapping stay and only then inserts the
+ * reservation. Bookings for different rooms never wait for each other. Concurrent bookings for the
+ * same room type start at a random candidate, so they rarely contend, and a claim that loses the
+ * race or times out on the lock moves on to the next candidate. The locking queries ask for a
+ * five second lock timeout, which Hibernate passes on only where the dialect supports it; on
+ * PostgreSQL the wait is bounded by the lock_timeout set on every connection instead. Because the
+ * lock lives in the database, the guarantee holds across application instances.
+ *
+ * <p>A claim made on behalf of a guest also enforces the booking quota. It first locks the row of
+ * the user and then counts the reservations of the user with a single indexed query, so two
+ * bookings of the same user running at once are checked one after the other and cannot both slip
+ * under the limit. The user is always locked before the room or element, which keeps the lock
+ * order the same for every claim.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationAllocator {
+
+  private final RoomRepository roomRepository;
+  private final RoomReservationRepository roomReservationRepository;
+  private final EntertainmentRepository entertainmentRepository;
+  private final EntertainmentReservationRepository entertainmentReservationRepository;
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${booking.quota.rooms:5}")
+  private int roomQuota;
+
+  @Value("${booking.quota.entertainments:10}")
+  private int entertainmentQuota;
+
+  /**
+   * Reserves the first candidate room that is still free once locked.
+   *
+   * @param candidates The rooms believed to be free, e.g. from the availability index.
+   * @param dateFrom The first day of the stay.
+   * @param dateTo The last day of the stay.
+   * @param user The user the reservation is made for.
+   * @param expiresAt When the reservation is released unless paid, or null for a plain booking.
+   * @return The saved reservation, or empty if every candidate was taken meanwhile.
+   */
+  public Optional<RoomReservation> allocateRoom(
+      List<Room> candidates, Date dateFrom, Date dateTo, User user, Timestamp expiresAt) {
+    return allocateRoom(candidates, dateFrom, dateTo, user, expiresAt, false, reservation -> {});
+  }
+
+  /**
+   * Reserves the first candidate room that is still free once locked, and runs a follow-up in the
+   * transaction of the reservation, e.g. queueing its confirmation email.
+   *
+   * @param candidates The rooms believed to be free, e.g. from the availability index.
+   * @param dateFrom The first day of the stay.
+   * @param dateTo The last day of the stay.
+   * @param user The user the reservation is made for.
+   * @param expiresAt When the reservation is released unless paid, or null for a plain booking.
+   * @param enforceQuota Whether the user may only hold the room quota of reservations.
+   * @param onClaimed Called with the saved reservation before its transaction commits.
+   * @return The saved reservation, or empty if every candidate was taken meanwhile.
+   * @throws IllegalArgumentException if the quota is enforced and the user has reached it.
+   */
+  public Optional<RoomReservation> allocateRoom(
+      List<Room> candidates,
+      Date dateFrom,
+      Date dateTo,
+      User user,
+      Timestamp expiresAt,
+      boolean enforceQuota,
+      Consumer<RoomReservation> onClaimed) {
+    int size = candidates.size();
+    int start = size == 0 ? 0 : ThreadLocalRandom.current().nextInt(size);
+    for (int i = 0; i < size; i++) {
+      Optional<RoomReservation> reservation =
+          claimRoom(
+              candidates.get((start + i) % size),
+              dateFrom,
+              dateTo,
+              user,
+              expiresAt,
+              enforceQuota,
+              onClaimed);
+      if (reservation.isPresent()) {
+        return reservation;
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Reserves a given room if it is free for the whole stay.
+   *
+   * @param room The room to reserve.
+   * @param dateFrom The first day of the stay.
+   * @param dateTo The last day of the stay.
+   * @param user The user the reservation is made for.
+   * @param expiresAt When the reservation is released unless paid, or null for a plain booking.
+   * @return The saved reservation, or empty if the room is taken.
+   */
+  public Optional<RoomReservation> claimRoom(
+      Room room, Date dateFrom, Date dateTo, User user, Timestamp expiresAt) {
+    return claimRoom(room, dateFrom, dateTo, user, expiresAt, false, reservation -> {});
+  }
+
+  /**
+   * Reserves a given room if it is free for the whole stay, and runs a follow-up in the transaction
+   * of the reservation.
+   *
+   * @param room The room to reserve.
+   * @param dateFrom The first day of the stay.
+   * @param dateTo The last day of the stay.
+   * @param user The user the reservation is made for.
+   * @param expiresAt When the reservation is released unless paid, or null for a plain booking.
+   * @param enforceQuota Whether the user may only hold the room quota of reservations.
+   * @param onClaimed Called with the saved reservation before its transaction commits.
+   * @return The saved reservation, or empty if the room is taken.
+   * @throws IllegalArgumentException if the quota is enforced and the user has reached it.
+   */
+  public Optional<RoomReservation> claimRoom(
+      Room room,
+      Date dateFrom,
+      Date dateTo,
+      User user,
+      Timestamp expiresAt,
+      boolean enforceQuota,
+      Consumer<RoomReservation> onClaimed) {
+    return claim(
+        () -> {
+          if (enforceQuota) {
+            checkQuota(user, roomReservationRepository::countByUserId, roomQuota, "rooms");
+          }
+          Optional<Room> locked = roomRepository.findByIdForUpdate(room.getId());
+          if (locked.isEmpty()
+              || roomReservationRepository.existsOverlapping(room.getId(), dateFrom, dateTo)) {
+            return Optional.empty();
+          }
+          // The type is read after the lock, as fetching it in the locking query would lock the
+          // type row too; the reservation is returned to the client with it
+          Hibernate.initialize(locked.get().getRoomType());
+          Timestamp bookedAt = new Timestamp(System.currentTimeMillis());
+          RoomReservation reservation =
+              new RoomReservation(dateFrom, dateTo, bookedAt, locked.get(), user);
+          reservation.setExpiresAt(expiresAt);
+          return Optional.of(roomReservationRepository.save(reservation));
+        },
+        onClaimed);
+  }
+
+  /**
+   * Reserves a given entertainment element if it is free for the whole slot.
+   *
+   * @param entertainment The element to reserve.
+   * @param dateFrom The start of the slot.
+   * @param dateTo The end of the slot.
+   * @param user The user the reservation is made for.
+   * @param expiresAt When the reservation is released unless paid, or null for a plain booking.
+   * @param enforceQuota Whether the user may only hold the entertainment quota of reservations.
+   * @param onClaimed Called with the saved reservation before its transaction commits.
+   * @return The saved reservation, or empty if the element is taken.
+   * @throws IllegalArgumentException if the quota is enforced and the user has reached it.
+   */
+  public Optional<EntertainmentReservation> claimEntertainment(
+      Entertainment entertainment,
+      Timestamp dateFrom,
+      Timestamp dateTo,
+      User user,
+      Timestamp expiresAt,
+      boolean enforceQuota,
+      Consumer<EntertainmentReservation> onClaimed) {
+    return claim(
+        () -> {
+          if (enforceQuota) {
+            checkQuota(
+                user,
+                entertainmentReservationRepository::countByUserId,
+                entertainmentQuota,
+                "entertainments");
+          }
+          Optional<Entertainment> locked =
+              entertainmentRepository.findByIdForUpdate(entertainment.getId());
+          if (locked.isEmpty()
+              || entertainmentReservationRepository.existsOverlapping(
+                  entertainment.getId(), dateFrom, dateTo)) {
+            return Optional.empty();
+          }
+          Hibernate.initialize(locked.get().getEntertainmentType());
+          Timestamp bookedAt = new Timestamp(System.currentTimeMillis());
+          EntertainmentReservation reservation =
+              new EntertainmentReservation(dateFrom, dateTo, bookedAt, user, locked.get());
+          reservation.setExpiresAt(expiresAt);
+          return Optional.of(entertainmentReservationRepository.save(reservation));
+        },
+        onClaimed);
+  }
+
+  private void checkQuota(User user, ToLongFunction<Integer> count, int quota, String what) {
+    userRepository
+        .lockById(user.getId())
+        .orElseThrow(() -> new NoSuchElementException("No user found"));
+    if (count.applyAsLong(user.getId()) >= quota) {
+      throw new IllegalArgumentException("You can't book more than " + quota + " " + what);
+    }
+  }
+
+  private <T> Optional<T> claim(Supplier<Optional<T>> attempt, Consumer<T> onClaimed) {
+    try {
+      Optional<T> result =
+          transactionTemplate.execute(
+              status -> {
+                Optional<T> claimed = attempt.get();
+                claimed.ifPresent(onClaimed);
+                return claimed;
+              });
+      return result == null ? Optional.empty() : result;
+    } catch (PessimisticLockingFailureException e) {
+      log.debug("Lost allocation race: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+}
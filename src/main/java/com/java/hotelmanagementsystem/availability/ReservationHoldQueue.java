@@ -0,0 +1,213 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.EntertainmentReservation;
+import com.java.hotelmanagementsystem.models.RoomReservation;
+import com.java.hotelmanagementsystem.models.dto.bookings.ReservationHold;
+import com.java.hotelmanagementsystem.repositories.EntertainmentReservationRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
+import com.java.hotelmanagementsystem.scheduler.LeaderLease;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases unpaid reservation holds the moment they lapse.
+ *
+ * <p>Every hold carries a persisted expiry. Holds are kept in a delay queue ordered by expiry, and
+ * a single worker thread takes each one as soon as it is due and deletes it, unless it was paid in
+ * the meantime. The delete is conditional on the row still being unpaid and expired, so it never
+ * races a payment. The queue is loaded from the database at startup. A periodic sweep also
+ * releases lapsed holds that this instance never saw, e.g. holds created by another instance that
+ * went down. Released nights and time slots go straight back into the availability index and
+ * cache, because the conditional delete bypasses the entity listeners.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationHoldQueue {
+
+  private final RoomReservationRepository roomReservationRepository;
+  private final EntertainmentReservationRepository entertainmentReservationRepository;
+  private final RoomAvailabilityIndex roomAvailabilityIndex;
+  private final EntertainmentAvailabilityIndex entertainmentAvailabilityIndex;
+  private final AvailabilityCache availabilityCache;
+  private final LeaderLease leaderLease;
+
+  @Value("${reservation.hold.ttl-seconds:900}")
+  private long ttlSeconds;
+
+  @Value("${reservation.hold.sweep-interval-ms:60000}")
+  private long sweepIntervalMs;
+
+  private final DelayQueue<Hold> holds = new DelayQueue<>();
+  private volatile Thread worker;
+
+  /** A hold waiting in the queue until its expiry. */
+  private record Hold(boolean room, int reservationId, long from, long to, long expiresAt)
+      implements Delayed {
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(expiresAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(expiresAt, ((Hold) other).expiresAt);
+    }
+  }
+
+  /**
+   * Computes the expiry of a hold created now.
+   *
+   * @return The moment a hold created now lapses.
+   */
+  public Timestamp nextExpiry() {
+    return new Timestamp(System.currentTimeMillis() + ttlSeconds * 1000);
+  }
+
+  /** Loads the pending holds and starts releasing them once the application context is ready. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    Timestamp end = Timestamp.valueOf("9999-12-31 23:59:59");
+    roomReservationRepository
+        .findHoldsExpiringBy(end)
+        .forEach(hold -> holds.offer(hold(true, hold)));
+    entertainmentReservationRepository
+        .findHoldsExpiringBy(end)
+        .forEach(hold -> holds.offer(hold(false, hold)));
+    log.info("Reservation hold queue started with {} pending holds", holds.size());
+    Thread thread = new Thread(this::run, "reservation-hold-expiry");
+    thread.setDaemon(true);
+    worker = thread;
+    thread.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread thread = worker;
+    worker = null;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  /**
+   * Schedules the release of a new room hold once the surrounding transaction commits. Plain
+   * bookings without expiry are ignored.
+   *
+   * @param reservation The saved reservation.
+   */
+  public void track(RoomReservation reservation) {
+    if (reservation.getExpiresAt() != null) {
+      Hold hold =
+          new Hold(
+              true,
+              reservation.getId(),
+              reservation.getFromDate().getTime(),
+              reservation.getToDate().getTime(),
+              reservation.getExpiresAt().getTime());
+      AfterCommit.run(() -> holds.offer(hold));
+    }
+  }
+
+  /**
+   * Schedules the release of a new entertainment hold once the surrounding transaction commits.
+   * Plain bookings without expiry are ignored.
+   *
+   * @param reservation The saved reservation.
+   */
+  public void track(EntertainmentReservation reservation) {
+    if (reservation.getExpiresAt() != null) {
+      Hold hold =
+          new Hold(
+              false,
+              reservation.getId(),
+              reservation.getDateFrom().getTime(),
+              reservation.getDateTo().getTime(),
+              reservation.getExpiresAt().getTime());
+      AfterCommit.run(() -> holds.offer(hold));
+    }
+  }
+
+  /**
+   * Releases lapsed holds missing from the queue, e.g. those created by another instance. Only one
+   * instance sweeps per interval.
+   */
+  @Scheduled(fixedDelayString = "${reservation.hold.sweep-interval-ms:60000}")
+  public void sweep() {
+    leaderLease.runIfLeader(
+        "sweepReservationHolds",
+        Duration.ofMillis(sweepIntervalMs * 9 / 10),
+        lease -> {
+          Timestamp now = new Timestamp(System.currentTimeMillis());
+          roomReservationRepository
+              .findHoldsExpiringBy(now)
+              .forEach(hold -> release(hold(true, hold)));
+          entertainmentReservationRepository
+              .findHoldsExpiringBy(now)
+              .forEach(hold -> release(hold(false, hold)));
+        });
+  }
+
+  /**
+   * Returns the number of holds waiting in the queue.
+   *
+   * @return The number of pending holds.
+   */
+  public int getPendingHolds() {
+    return holds.size();
+  }
+
+  private void run() {
+    while (worker == Thread.currentThread()) {
+      try {
+        release(holds.take());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        // The sweep retries the hold later
+        log.warn("Failed to release reservation hold", e);
+      }
+    }
+  }
+
+  private void release(Hold hold) {
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    if (hold.room()) {
+      if (roomReservationRepository.deleteExpiredHold(hold.reservationId(), now) > 0) {
+        roomAvailabilityIndex.removeReservation(hold.reservationId());
+        availabilityCache.invalidateOverlapping(
+            AvailabilityCache.Area.ROOM, hold.from(), hold.to());
+        log.debug("Released room reservation hold {}", hold.reservationId());
+      }
+    } else if (entertainmentReservationRepository.deleteExpiredHold(hold.reservationId(), now)
+        > 0) {
+      entertainmentAvailabilityIndex.removeReservation(hold.reservationId());
+      availabilityCache.invalidateOverlapping(
+          AvailabilityCache.Area.ENTERTAINMENT, hold.from(), hold.to());
+      log.debug("Released entertainment reservation hold {}", hold.reservationId());
+    }
+  }
+
+  private static Hold hold(boolean room, ReservationHold hold) {
+    return new Hold(
+        room,
+        hold.getReservationId(),
+        hold.getDateFrom().getTime(),
+        hold.getDateTo().getTime(),
+        hold.getExpiresAt().getTime());
+  }
+}
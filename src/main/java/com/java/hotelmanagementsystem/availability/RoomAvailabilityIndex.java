@@ -0,0 +1,534 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.Room;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval;
+import com.java.hotelmanagementsystem.repositories.RoomRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory occupancy index answering room availability queries without touching the database.
+ *
+ * <p>Each room owns a bitset with one bit per day over a rolling horizon starting at the day the
+ * index was last built. A reservation sets every day from its start date to its end date inclusive,
+ * which mirrors the overlap predicate used by {@link RoomRepository}. The index is rebuilt from
+ * {@link RoomReservationRepository} at startup and every night, and kept current in between by
+ * {@link RoomReservationIndexListener} and {@link RoomIndexListener}. Those only see this
+ * instance's changes, so the index is also reconciled with the database every {@code
+ * availability.index.refresh-ms}, which bounds how long bookings and released holds of other
+ * instances stay unseen. The queries return an empty Optional when the index cannot answer them,
+ * i.e. when it is disabled, not built yet or the range is outside its horizon, in which case
+ * callers fall back to the repository queries. The range is checked under the same lock as the
+ * lookup, so a rebuild moving the horizon in between cannot put it out of range.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+
+  private final RoomRepository roomRepository;
+  private final RoomReservationRepository roomReservationRepository;
+
+  @Value("${availability.index.enabled:true}")
+  private boolean enabled;
+
+  @Value("${availability.index.horizon-days:730}")
+  private int horizonDays;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final TreeMap<Integer, RoomRow> rooms = new TreeMap<>();
+  private final Map<Integer, Integer> reservationRooms = new HashMap<>();
+  private final Set<Integer> touchedRooms = new HashSet<>();
+  private final Set<Integer> touchedReservations = new HashSet<>();
+  private long baseDay;
+  private int words;
+  private boolean refreshing;
+  private volatile boolean ready;
+
+  /** Occupancy of a single room: its type, its day bitset and the stays it was built from. */
+  private static final class RoomRow {
+    private int roomTypeId;
+    private final long[] days;
+    private final Map<Integer, int[]> stays = new HashMap<>();
+
+    private RoomRow(int roomTypeId, int words) {
+      this.roomTypeId = roomTypeId;
+      this.days = new long[words];
+    }
+  }
+
+  /** Builds the index once the application context is ready. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /** Rebuilds the index every night so that the horizon keeps rolling forward. */
+  @Scheduled(cron = "${availability.index.rebuild-cron:0 5 0 * * *}")
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    LocalDate today = LocalDate.now();
+    lock.writeLock().lock();
+    try {
+      long start = System.currentTimeMillis();
+      rooms.clear();
+      reservationRooms.clear();
+      baseDay = today.toEpochDay();
+      words = (horizonDays + 63) >>> 6;
+      for (Room room : roomRepository.findAll()) {
+        rooms.put(room.getId(), new RoomRow(roomTypeId(room), words));
+      }
+      List<RoomReservationInterval> intervals =
+          roomReservationRepository.findIntervalsEndingOnOrAfter(Date.valueOf(today));
+      for (RoomReservationInterval interval : intervals) {
+        applyReservation(
+            interval.getReservationId(),
+            interval.getRoomId(),
+            interval.getRoomTypeId(),
+            interval.getFromDate().toLocalDate(),
+            interval.getToDate().toLocalDate());
+      }
+      ready = true;
+      log.info(
+          "Room availability index built: {} rooms, {} reservations in {} ms",
+          rooms.size(),
+          intervals.size(),
+          System.currentTimeMillis() - start);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Reconciles the index with the reservations and rooms in the database. The snapshot is read
+   * without holding the lock; rooms and reservations changed by this instance's listeners in the
+   * meantime are left as the listeners recorded them.
+   */
+  @Scheduled(
+      fixedDelayString = "${availability.index.refresh-ms:30000}",
+      initialDelayString = "${availability.index.refresh-ms:30000}")
+  public void refresh() {
+    if (!enabled || !ready) {
+      return;
+    }
+    Date since;
+    lock.writeLock().lock();
+    try {
+      refreshing = true;
+      touchedRooms.clear();
+      touchedReservations.clear();
+      since = Date.valueOf(LocalDate.ofEpochDay(baseDay));
+    } finally {
+      lock.writeLock().unlock();
+    }
+    List<RoomReservationInterval> intervals = null;
+    List<Room> snapshotRooms = null;
+    try {
+      // Rooms are read last, so every room an interval refers to is either listed or deleted
+      intervals = roomReservationRepository.findIntervalsEndingOnOrAfter(since);
+      snapshotRooms = roomRepository.findAll();
+    } finally {
+      lock.writeLock().lock();
+      try {
+        refreshing = false;
+        if (snapshotRooms != null) {
+          int changes = reconcile(snapshotRooms, intervals);
+          if (changes > 0) {
+            log.debug("Room availability index refreshed: {} changes", changes);
+          }
+        }
+        touchedRooms.clear();
+        touchedReservations.clear();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * Finds the rooms of a type that are free for the whole date range.
+   *
+   * @param dateFrom The first day of the range.
+   * @param dateTo The last day of the range.
+   * @param roomTypeId The room type, or null for rooms of every type.
+   * @return The identifiers of the free rooms in ascending order, or an empty Optional if the index
+   *     cannot answer for the range.
+   */
+  public Optional<List<Integer>> findAvailableRoomIds(
+      Date dateFrom, Date dateTo, Integer roomTypeId) {
+    lock.readLock().lock();
+    try {
+      if (!covers(dateFrom, dateTo)) {
+        return Optional.empty();
+      }
+      int from = offset(dateFrom);
+      int to = offset(dateTo);
+      List<Integer> roomIds = new ArrayList<>();
+      for (Map.Entry<Integer, RoomRow> entry : rooms.entrySet()) {
+        RoomRow row = entry.getValue();
+        if ((roomTypeId == null || row.roomTypeId == roomTypeId) && !anySet(row.days, from, to)) {
+          roomIds.add(entry.getKey());
+        }
+      }
+      return Optional.of(roomIds);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the room types having at least one room free for the whole date range.
+   *
+   * @param dateFrom The first day of the range.
+   * @param dateTo The last day of the range.
+   * @return The identifiers of the room types in ascending order, or an empty Optional if the index
+   *     cannot answer for the range.
+   */
+  public Optional<List<Integer>> findAvailableRoomTypeIds(Date dateFrom, Date dateTo) {
+    lock.readLock().lock();
+    try {
+      if (!covers(dateFrom, dateTo)) {
+        return Optional.empty();
+      }
+      int from = offset(dateFrom);
+      int to = offset(dateTo);
+      TreeSet<Integer> roomTypeIds = new TreeSet<>();
+      for (RoomRow row : rooms.values()) {
+        if (!roomTypeIds.contains(row.roomTypeId) && !anySet(row.days, from, to)) {
+          roomTypeIds.add(row.roomTypeId);
+        }
+      }
+      return Optional.of(new ArrayList<>(roomTypeIds));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Counts the free rooms of every room type for each day of the date range in a single pass over
+   * the bitsets.
+   *
+   * @param dateFrom The first day of the range.
+   * @param dateTo The last day of the range.
+   * @return The free room counts per day, keyed by room type identifier in ascending order, or an
+   *     empty Optional if the index cannot answer for the range.
+   */
+  public Optional<TreeMap<Integer, int[]>> countFreeRoomsPerDay(Date dateFrom, Date dateTo) {
+    lock.readLock().lock();
+    try {
+      if (!covers(dateFrom, dateTo)) {
+        return Optional.empty();
+      }
+      int from = offset(dateFrom);
+      int days = offset(dateTo) - from + 1;
+      TreeMap<Integer, int[]> freeRooms = new TreeMap<>();
+      for (RoomRow row : rooms.values()) {
+        int[] counts = freeRooms.computeIfAbsent(row.roomTypeId, id -> new int[days]);
+        for (int i = 0; i < days; i++) {
+          int day = from + i;
+          if ((row.days[day >>> 6] & (1L << (day & 63))) == 0) {
+            counts[i]++;
+          }
+        }
+      }
+      return Optional.of(freeRooms);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Checks whether a room is free for the whole date range. Unknown rooms are reported as free, as
+   * the repository query does.
+   *
+   * @param roomId The room to check.
+   * @param dateFrom The first day of the range.
+   * @param dateTo The last day of the range.
+   * @return Whether the room has no reservation overlapping the range, or an empty Optional if the
+   *     index cannot answer for the range.
+   */
+  public Optional<Boolean> isRoomAvailable(int roomId, Date dateFrom, Date dateTo) {
+    lock.readLock().lock();
+    try {
+      if (!covers(dateFrom, dateTo)) {
+        return Optional.empty();
+      }
+      RoomRow row = rooms.get(roomId);
+      return Optional.of(row == null || !anySet(row.days, offset(dateFrom), offset(dateTo)));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Registers a new room or updates the type of an existing one.
+   *
+   * @param roomId The room identifier.
+   * @param roomTypeId The room type identifier.
+   */
+  public void putRoom(int roomId, int roomTypeId) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (!ready) {
+        return;
+      }
+      touch(touchedRooms, roomId);
+      RoomRow row = rooms.get(roomId);
+      if (row == null) {
+        rooms.put(roomId, new RoomRow(roomTypeId, words));
+      } else {
+        row.roomTypeId = roomTypeId;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a room and all its reservations from the index.
+   *
+   * @param roomId The room identifier.
+   */
+  public void removeRoom(int roomId) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (!ready) {
+        return;
+      }
+      touch(touchedRooms, roomId);
+      removeRoomRow(roomId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Records a reservation, replacing any previous dates recorded for the same reservation.
+   *
+   * @param reservationId The reservation identifier.
+   * @param roomId The reserved room.
+   * @param roomTypeId The type of the reserved room.
+   * @param fromDate The first reserved day.
+   * @param toDate The last reserved day.
+   */
+  public void putReservation(
+      int reservationId, int roomId, int roomTypeId, Date fromDate, Date toDate) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (!ready) {
+        return;
+      }
+      touch(touchedReservations, reservationId);
+      removeStay(reservationId);
+      applyReservation(
+          reservationId, roomId, roomTypeId, fromDate.toLocalDate(), toDate.toLocalDate());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Releases the days held by a reservation.
+   *
+   * @param reservationId The reservation identifier.
+   */
+  public void removeReservation(int reservationId) {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (!ready) {
+        return;
+      }
+      touch(touchedReservations, reservationId);
+      removeStay(reservationId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void applyReservation(
+      int reservationId, int roomId, int roomTypeId, LocalDate fromDate, LocalDate toDate) {
+    int[] stay = stay(fromDate, toDate);
+    if (stay == null) {
+      return;
+    }
+    RoomRow row = rooms.computeIfAbsent(roomId, id -> new RoomRow(roomTypeId, words));
+    row.stays.put(reservationId, stay);
+    reservationRooms.put(reservationId, roomId);
+    setRange(row.days, stay[0], stay[1]);
+  }
+
+  private int[] stay(LocalDate fromDate, LocalDate toDate) {
+    long from = Math.max(0, fromDate.toEpochDay() - baseDay);
+    long to = Math.min(horizonDays - 1L, toDate.toEpochDay() - baseDay);
+    return from > to ? null : new int[] {(int) from, (int) to};
+  }
+
+  private int reconcile(List<Room> snapshotRooms, List<RoomReservationInterval> intervals) {
+    int changes = 0;
+    Set<Integer> reservationIds = new HashSet<>();
+    for (RoomReservationInterval interval : intervals) {
+      int reservationId = interval.getReservationId();
+      reservationIds.add(reservationId);
+      if (touchedReservations.contains(reservationId)
+          || touchedRooms.contains(interval.getRoomId())) {
+        continue;
+      }
+      LocalDate fromDate = interval.getFromDate().toLocalDate();
+      LocalDate toDate = interval.getToDate().toLocalDate();
+      if (!isRecorded(reservationId, interval.getRoomId(), stay(fromDate, toDate))) {
+        removeStay(reservationId);
+        applyReservation(
+            reservationId, interval.getRoomId(), interval.getRoomTypeId(), fromDate, toDate);
+        changes++;
+      }
+    }
+    for (Integer reservationId : new ArrayList<>(reservationRooms.keySet())) {
+      if (!reservationIds.contains(reservationId)
+          && !touchedReservations.contains(reservationId)) {
+        removeStay(reservationId);
+        changes++;
+      }
+    }
+    Set<Integer> roomIds = new HashSet<>();
+    for (Room room : snapshotRooms) {
+      roomIds.add(room.getId());
+      if (touchedRooms.contains(room.getId())) {
+        continue;
+      }
+      RoomRow row = rooms.get(room.getId());
+      if (row == null) {
+        rooms.put(room.getId(), new RoomRow(roomTypeId(room), words));
+        changes++;
+      } else if (row.roomTypeId != roomTypeId(room)) {
+        row.roomTypeId = roomTypeId(room);
+        changes++;
+      }
+    }
+    for (Integer roomId : new ArrayList<>(rooms.keySet())) {
+      if (!roomIds.contains(roomId) && !touchedRooms.contains(roomId)) {
+        removeRoomRow(roomId);
+        changes++;
+      }
+    }
+    return changes;
+  }
+
+  private boolean isRecorded(int reservationId, int roomId, int[] stay) {
+    Integer recordedRoomId = reservationRooms.get(reservationId);
+    if (recordedRoomId == null || stay == null) {
+      return recordedRoomId == null && stay == null;
+    }
+    int[] recorded = rooms.get(recordedRoomId).stays.get(reservationId);
+    return recordedRoomId == roomId && Arrays.equals(recorded, stay);
+  }
+
+  private void touch(Set<Integer> touched, int id) {
+    if (refreshing) {
+      touched.add(id);
+    }
+  }
+
+  private void removeRoomRow(int roomId) {
+    RoomRow row = rooms.remove(roomId);
+    if (row != null) {
+      row.stays.keySet().forEach(reservationRooms::remove);
+    }
+  }
+
+  private void removeStay(int reservationId) {
+    Integer roomId = reservationRooms.remove(reservationId);
+    RoomRow row = roomId == null ? null : rooms.get(roomId);
+    if (row == null || row.stays.remove(reservationId) == null) {
+      return;
+    }
+    // Stays of one room may overlap when booked by an admin, so rebuild the row from what is left
+    Arrays.fill(row.days, 0L);
+    row.stays.values().forEach(stay -> setRange(row.days, stay[0], stay[1]));
+  }
+
+  private boolean covers(Date dateFrom, Date dateTo) {
+    return enabled
+        && ready
+        && !dateFrom.after(dateTo)
+        && offset(dateFrom) >= 0
+        && dateTo.toLocalDate().toEpochDay() - baseDay < horizonDays;
+  }
+
+  private int offset(Date date) {
+    return (int) (date.toLocalDate().toEpochDay() - baseDay);
+  }
+
+  private static int roomTypeId(Room room) {
+    return room.getRoomType() == null ? 0 : room.getRoomType().getId();
+  }
+
+  private static void setRange(long[] days, int from, int to) {
+    int first = from >>> 6;
+    int last = to >>> 6;
+    long firstMask = -1L << (from & 63);
+    long lastMask = -1L >>> (63 - (to & 63));
+    if (first == last) {
+      days[first] |= firstMask & lastMask;
+      return;
+    }
+    days[first] |= firstMask;
+    for (int i = first + 1; i < last; i++) {
+      days[i] = -1L;
+    }
+    days[last] |= lastMask;
+  }
+
+  private static boolean anySet(long[] days, int from, int to) {
+    int first = from >>> 6;
+    int last = to >>> 6;
+    long firstMask = -1L << (from & 63);
+    long lastMask = -1L >>> (63 - (to & 63));
+    if (first == last) {
+      return (days[first] & firstMask & lastMask) != 0;
+    }
+    if ((days[first] & firstMask) != 0) {
+      return true;
+    }
+    for (int i = first + 1; i < last; i++) {
+      if (days[i] != 0) {
+        return true;
+      }
+    }
+    return (days[last] & lastMask) != 0;
+  }
+}
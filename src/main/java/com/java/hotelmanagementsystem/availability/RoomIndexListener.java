@@ -0,0 +1,57 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.Room;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener registering added, retyped and deleted rooms in the {@link
+ * RoomAvailabilityIndex} once the surrounding transaction commits. Any such change drops every
+ * cached room search from the {@link AvailabilityCache}.
+ */
+public class RoomIndexListener {
+
+  private final ObjectProvider<RoomAvailabilityIndex> roomAvailabilityIndex;
+  private final ObjectProvider<AvailabilityCache> availabilityCache;
+
+  public RoomIndexListener(
+      ObjectProvider<RoomAvailabilityIndex> roomAvailabilityIndex,
+      ObjectProvider<AvailabilityCache> availabilityCache) {
+    this.roomAvailabilityIndex = roomAvailabilityIndex;
+    this.availabilityCache = availabilityCache;
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void onSave(Room room) {
+    RoomAvailabilityIndex index = roomAvailabilityIndex.getIfAvailable();
+    AvailabilityCache cache = availabilityCache.getIfAvailable();
+    if (index == null || cache == null) {
+      return;
+    }
+    int roomId = room.getId();
+    int roomTypeId = room.getRoomType() == null ? 0 : room.getRoomType().getId();
+    AfterCommit.run(
+        () -> {
+          index.putRoom(roomId, roomTypeId);
+          cache.invalidateAll(AvailabilityCache.Area.ROOM);
+        });
+  }
+
+  @PostRemove
+  public void onRemove(Room room) {
+    RoomAvailabilityIndex index = roomAvailabilityIndex.getIfAvailable();
+    AvailabilityCache cache = availabilityCache.getIfAvailable();
+    if (index == null || cache == null) {
+      return;
+    }
+    int roomId = room.getId();
+    AfterCommit.run(
+        () -> {
+          index.removeRoom(roomId);
+          cache.invalidateAll(AvailabilityCache.Area.ROOM);
+        });
+  }
+}
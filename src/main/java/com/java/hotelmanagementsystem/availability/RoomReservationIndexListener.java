@@ -0,0 +1,70 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.RoomReservation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.sql.Date;
+
+/**
+ * JPA entity listener keeping the {@link RoomAvailabilityIndex} and the {@link AvailabilityCache}
+ * in sync with room reservation writes, whichever service or repository issues them. Changes are
+ * applied once the surrounding transaction commits, so rolled back bookings never show up in the
+ * index.
+ */
+public class RoomReservationIndexListener {
+
+  private final ObjectProvider<RoomAvailabilityIndex> roomAvailabilityIndex;
+  private final ObjectProvider<AvailabilityCache> availabilityCache;
+
+  public RoomReservationIndexListener(
+      ObjectProvider<RoomAvailabilityIndex> roomAvailabilityIndex,
+      ObjectProvider<AvailabilityCache> availabilityCache) {
+    this.roomAvailabilityIndex = roomAvailabilityIndex;
+    this.availabilityCache = availabilityCache;
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void onSave(RoomReservation reservation) {
+    RoomAvailabilityIndex index = roomAvailabilityIndex.getIfAvailable();
+    AvailabilityCache cache = availabilityCache.getIfAvailable();
+    if (index == null || cache == null || reservation.getRoom() == null) {
+      return;
+    }
+    int reservationId = reservation.getId();
+    int roomId = reservation.getRoom().getId();
+    int roomTypeId =
+        reservation.getRoom().getRoomType() == null
+            ? 0
+            : reservation.getRoom().getRoomType().getId();
+    Date fromDate = reservation.getFromDate();
+    Date toDate = reservation.getToDate();
+    AfterCommit.run(
+        () -> {
+          index.putReservation(reservationId, roomId, roomTypeId, fromDate, toDate);
+          cache.invalidateOverlapping(
+              AvailabilityCache.Area.ROOM, fromDate.getTime(), toDate.getTime());
+        });
+  }
+
+  @PostRemove
+  public void onRemove(RoomReservation reservation) {
+    RoomAvailabilityIndex index = roomAvailabilityIndex.getIfAvailable();
+    AvailabilityCache cache = availabilityCache.getIfAvailable();
+    if (index == null || cache == null) {
+      return;
+    }
+    int reservationId = reservation.getId();
+    Date fromDate = reservation.getFromDate();
+    Date toDate = reservation.getToDate();
+    AfterCommit.run(
+        () -> {
+          index.removeReservation(reservationId);
+          cache.invalidateOverlapping(
+              AvailabilityCache.Area.ROOM, fromDate.getTime(), toDate.getTime());
+        });
+  }
+}
@@ -0,0 +1,200 @@
+package com.java.hotelmanagementsystem.availability;
+
+import com.java.hotelmanagementsystem.models.dto.bookings.EntertainmentReservationInterval;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval;
+import com.java.hotelmanagementsystem.repositories.EntertainmentReservationRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deletes unpaid reservations that start too soon to still be paid, in chunks of set-based delete
+ * statements.
+ *
+ * <p>Each chunk selects the identifiers and dates of the next unpaid reservations without loading
+ * the entities, then deletes them with a single statement in its own short transaction, so row
+ * locks are held for one chunk only. The delete re-checks the missing payment, so a reservation
+ * paid between the two statements is kept. Deleted reservations are removed from the availability
+ * index and cache explicitly, because bulk deletes bypass the entity listeners. Holds still within
+ * their time to live are left to {@link ReservationHoldQueue}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnpaidReservationSweeper {
+
+  private static final long ENTERTAINMENT_NOTICE_MILLIS = 5 * 60 * 60 * 1000;
+
+  private final RoomReservationRepository roomReservationRepository;
+  private final EntertainmentReservationRepository entertainmentReservationRepository;
+  private final RoomAvailabilityIndex roomAvailabilityIndex;
+  private final EntertainmentAvailabilityIndex entertainmentAvailabilityIndex;
+  private final AvailabilityCache availabilityCache;
+
+  @Value("${reservation.cleanup.chunk-size:500}")
+  private int chunkSize;
+
+  /**
+   * Describes a single cleanup run.
+   *
+   * @param rowsRemoved The number of reservations deleted.
+   * @param chunks The number of delete statements issued.
+   * @param durationMillis The wall-clock time of the whole run.
+   * @param deleteMillis The time spent inside delete statements, including waits for row locks.
+   * @param maxDeleteMillis The time of the slowest delete statement.
+   * @param finishedAt The moment the run finished.
+   */
+  public record Run(
+      int rowsRemoved,
+      int chunks,
+      long durationMillis,
+      long deleteMillis,
+      long maxDeleteMillis,
+      Timestamp finishedAt) {}
+
+  private final Map<AvailabilityCache.Area, Run> lastRuns =
+      new EnumMap<>(AvailabilityCache.Area.class);
+  private long totalRowsRemoved;
+
+  /**
+   * Deletes the unpaid room reservations starting within the next day or earlier.
+   *
+   * @return The statistics of the run.
+   */
+  public Run deleteUnpaidRoomReservations() {
+    Date lastDate = Date.valueOf(LocalDate.now().plusDays(1));
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    RunRecorder recorder = new RunRecorder();
+    List<RoomReservationInterval> chunk;
+    do {
+      chunk =
+          roomReservationRepository.findUnpaidStartingBy(
+              lastDate, now, PageRequest.of(0, chunkSize));
+      if (chunk.isEmpty()) {
+        break;
+      }
+      Set<Integer> ids = new HashSet<>();
+      chunk.forEach(interval -> ids.add(interval.getReservationId()));
+      long start = System.currentTimeMillis();
+      int removed = roomReservationRepository.deleteUnpaidByIds(ids);
+      recorder.chunkDeleted(removed, System.currentTimeMillis() - start);
+      if (removed < ids.size()) {
+        // Paid in the meantime and kept by the delete
+        ids.removeAll(roomReservationRepository.findExistingIds(ids));
+      }
+      for (RoomReservationInterval interval : chunk) {
+        if (ids.contains(interval.getReservationId())) {
+          roomAvailabilityIndex.removeReservation(interval.getReservationId());
+          availabilityCache.invalidateOverlapping(
+              AvailabilityCache.Area.ROOM,
+              interval.getFromDate().getTime(),
+              interval.getToDate().getTime());
+        }
+      }
+    } while (chunk.size() == chunkSize);
+    return record(AvailabilityCache.Area.ROOM, recorder);
+  }
+
+  /**
+   * Deletes the unpaid entertainment reservations starting within the next five hours or earlier.
+   *
+   * @return The statistics of the run.
+   */
+  public Run deleteUnpaidEntertainmentReservations() {
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    Timestamp startsBefore = new Timestamp(now.getTime() + ENTERTAINMENT_NOTICE_MILLIS);
+    RunRecorder recorder = new RunRecorder();
+    List<EntertainmentReservationInterval> chunk;
+    do {
+      chunk =
+          entertainmentReservationRepository.findUnpaidStartingBefore(
+              startsBefore, now, PageRequest.of(0, chunkSize));
+      if (chunk.isEmpty()) {
+        break;
+      }
+      Set<Integer> ids = new HashSet<>();
+      chunk.forEach(interval -> ids.add(interval.getReservationId()));
+      long start = System.currentTimeMillis();
+      int removed = entertainmentReservationRepository.deleteUnpaidByIds(ids);
+      recorder.chunkDeleted(removed, System.currentTimeMillis() - start);
+      if (removed < ids.size()) {
+        ids.removeAll(entertainmentReservationRepository.findExistingIds(ids));
+      }
+      for (EntertainmentReservationInterval interval : chunk) {
+        if (ids.contains(interval.getReservationId())) {
+          entertainmentAvailabilityIndex.removeReservation(interval.getReservationId());
+          availabilityCache.invalidateOverlapping(
+              AvailabilityCache.Area.ENTERTAINMENT,
+              interval.getDateFrom().getTime(),
+              interval.getDateTo().getTime());
+        }
+      }
+    } while (chunk.size() == chunkSize);
+    return record(AvailabilityCache.Area.ENTERTAINMENT, recorder);
+  }
+
+  /**
+   * Returns the statistics of the latest run of each kind of reservation.
+   *
+   * @return The latest runs by area.
+   */
+  public synchronized Map<AvailabilityCache.Area, Run> getLastRuns() {
+    return Map.copyOf(lastRuns);
+  }
+
+  /**
+   * Returns the number of reservations deleted since startup.
+   *
+   * @return The total number of deleted reservations.
+   */
+  public synchronized long getTotalRowsRemoved() {
+    return totalRowsRemoved;
+  }
+
+  private synchronized Run record(AvailabilityCache.Area area, RunRecorder recorder) {
+    Run run = recorder.finish();
+    lastRuns.put(area, run);
+    totalRowsRemoved += run.rowsRemoved();
+    log.info(
+        "Deleted {} unpaid {} reservations in {} chunks, {} ms ({} ms in deletes)",
+        run.rowsRemoved(),
+        area.name().toLowerCase(),
+        run.chunks(),
+        run.durationMillis(),
+        run.deleteMillis());
+    return run;
+  }
+
+  private static class RunRecorder {
+    private final long start = System.currentTimeMillis();
+    private int rowsRemoved;
+    private int chunks;
+    private long deleteMillis;
+    private long maxDeleteMillis;
+
+    void chunkDeleted(int removed, long millis) {
+      rowsRemoved += removed;
+      chunks++;
+      deleteMillis += millis;
+      maxDeleteMillis = Math.max(maxDeleteMillis, millis);
+    }
+
+    Run finish() {
+      long now = System.currentTimeMillis();
+      return new Run(
+          rowsRemoved, chunks, now - start, deleteMillis, maxDeleteMillis, new Timestamp(now));
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.java.hotelmanagementsystem.controllers;
 import com.java.hotelmanagementsystem.models.dto.User.PasswordResetConfirmedRequest;
 import com.java.hotelmanagementsystem.models.dto.User.PasswordResetRequest;
 import com.java.hotelmanagementsystem.models.dto.auth.AuthenticationRequest;
+import com.java.hotelmanagementsystem.models.dto.auth.RefreshTokenRequest;
 import com.java.hotelmanagementsystem.models.dto.auth.RegisterRequest;
 import com.java.hotelmanagementsystem.responses.Response;
 import com.java.hotelmanagementsystem.responses.SuccessResponse;
@@ -16,8 +17,8 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * This class is the controller for authentication-related operations in the API. It handles
- * registration, authentication, email confirmation, password reset, and password reset
- * confirmation.
+ * registration, authentication, token refresh, email confirmation, password reset, and password
+ * reset confirmation.
  */
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -41,6 +42,11 @@ public class AuthenticationController {
     return ResponseEntity.ok(new SuccessResponse<>(authenticationService.authenticate(request)));
   }
 
+  @PostMapping("/refresh")
+  public ResponseEntity<Response> refresh(@RequestBody @Valid RefreshTokenRequest request) {
+    return ResponseEntity.ok(new SuccessResponse<>(authenticationService.refresh(request)));
+  }
+
   @GetMapping("/email-confirmation/{token}")
   public ResponseEntity<Response> confirmEmail(@PathVariable String token) {
     emailConfirmation.confirmEmail(token);
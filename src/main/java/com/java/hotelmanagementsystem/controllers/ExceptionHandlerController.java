@@ -3,9 +3,11 @@ package com.java.hotelmanagementsystem.controllers;
 import com.java.hotelmanagementsystem.responses.ErrorResponse;
 import com.java.hotelmanagementsystem.responses.FailResponse;
 import com.java.hotelmanagementsystem.responses.Response;
+import com.java.hotelmanagementsystem.security.PasswordHashingRejectedException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -79,6 +81,15 @@ public class ExceptionHandlerController {
     return ResponseEntity.status(UNAUTHORIZED).body(new FailResponse<>(ex.getMessage()));
   }
 
+  @ExceptionHandler(PasswordHashingRejectedException.class)
+  public ResponseEntity<Response> handlePasswordHashingRejected(
+      PasswordHashingRejectedException ex) {
+    log.warn("PasswordHashingRejectedException occurred: {}", ex.getMessage());
+    return ResponseEntity.status(SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(new FailResponse<>(ex.getMessage()));
+  }
+
   @ExceptionHandler(Exception.class)
   protected ResponseEntity<Response> handleException(Exception ex) {
     log.error("An exception occurred", ex);
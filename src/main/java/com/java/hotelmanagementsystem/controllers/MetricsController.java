@@ -0,0 +1,97 @@
+package com.java.hotelmanagementsystem.controllers;
+
+import com.java.hotelmanagementsystem.availability.AvailabilityCache;
+import com.java.hotelmanagementsystem.availability.UnpaidReservationSweeper;
+import com.java.hotelmanagementsystem.responses.Response;
+import com.java.hotelmanagementsystem.responses.SuccessResponse;
+import com.java.hotelmanagementsystem.search.GuestSearchIndex;
+import com.java.hotelmanagementsystem.security.BoundedPasswordEncoder;
+import com.java.hotelmanagementsystem.security.EmailOutbox;
+import com.java.hotelmanagementsystem.security.Implementation.RateLimitFilter;
+import com.java.hotelmanagementsystem.security.ExpiredTokenCompactor;
+import com.java.hotelmanagementsystem.security.TokenStateCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class serves as the controller exposing runtime counters of the application's in-memory
+ * components to administrators, such as the hit, miss and eviction counts of the availability
+ * cache, the statistics of the unpaid reservation cleanup, the lookups of the token state cache,
+ * the expired token compaction, the password hashing workers, the rate limiter, the email outbox
+ * and the guest search index.
+ */
+@RestController
+@RequestMapping("/api/v1/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+  private final AvailabilityCache availabilityCache;
+  private final UnpaidReservationSweeper unpaidReservationSweeper;
+  private final TokenStateCache tokenStateCache;
+  private final ExpiredTokenCompactor expiredTokenCompactor;
+  private final BoundedPasswordEncoder boundedPasswordEncoder;
+  private final RateLimitFilter rateLimitFilter;
+  private final EmailOutbox emailOutbox;
+  private final GuestSearchIndex guestSearchIndex;
+
+  @GetMapping("/availability-cache")
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  public ResponseEntity<Response> getAvailabilityCacheStats() {
+    return ResponseEntity.ok().body(new SuccessResponse<>(availabilityCache.getStats()));
+  }
+
+  @GetMapping("/unpaid-cleanup")
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  public ResponseEntity<Response> getUnpaidCleanupStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("totalRowsRemoved", unpaidReservationSweeper.getTotalRowsRemoved());
+    stats.put("lastRuns", unpaidReservationSweeper.getLastRuns());
+    return ResponseEntity.ok().body(new SuccessResponse<>(stats));
+  }
+
+  @GetMapping("/token-cache")
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  public ResponseEntity<Response> getTokenCacheStats() {
+    return ResponseEntity.ok().body(new SuccessResponse<>(tokenStateCache.getStats()));
+  }
+
+  @GetMapping("/token-compaction")
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  public ResponseEntity<Response> getTokenCompactionStats() {
+    return ResponseEntity.ok().body(new SuccessResponse<>(expiredTokenCompactor.getStats()));
+  }
+
+  @GetMapping("/password-hashing")
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  public ResponseEntity<Response> getPasswordHashingStats() {
+    return ResponseEntity.ok().body(new SuccessResponse<>(boundedPasswordEncoder.getStats()));
+  }
+
+  @GetMapping("/rate-limit")
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  public ResponseEntity<Response> getRateLimitStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("trackedKeys", rateLimitFilter.getTrackedKeys());
+    stats.put("rules", rateLimitFilter.getRules());
+    return ResponseEntity.ok().body(new SuccessResponse<>(stats));
+  }
+
+  @GetMapping("/email-outbox")
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  public ResponseEntity<Response> getEmailOutboxStats() {
+    return ResponseEntity.ok().body(new SuccessResponse<>(emailOutbox.getStats()));
+  }
+
+  @GetMapping("/guest-search")
+  @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+  public ResponseEntity<Response> getGuestSearchStats() {
+    return ResponseEntity.ok().body(new SuccessResponse<>(guestSearchIndex.getStats()));
+  }
+}
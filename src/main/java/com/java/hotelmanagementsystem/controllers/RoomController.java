@@ -2,6 +2,7 @@ package com.java.hotelmanagementsystem.controllers;
 
 import com.java.hotelmanagementsystem.models.Room;
 import com.java.hotelmanagementsystem.models.RoomType;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomAvailabilityCalendarResponse;
 import com.java.hotelmanagementsystem.responses.Response;
 import com.java.hotelmanagementsystem.responses.SuccessResponse;
 import com.java.hotelmanagementsystem.services.RoomService;
@@ -19,8 +20,8 @@ import java.util.List;
  * endpoints for retrieving rooms by ID, adding new rooms (restricted to administrators), deleting
  * rooms (restricted to administrators), getting all rooms, checking room availability, retrieving
  * rooms by availability and type, getting all room types, retrieving room types by availability and
- * occupancy, and getting all available rooms by date range. Some operations require role-based
- * authorization.
+ * occupancy, getting all available rooms by date range, and building a per-night availability
+ * calendar. Some operations require role-based authorization.
  */
 @RestController
 @RequestMapping("/api/v1/room")
@@ -108,6 +109,24 @@ public class RoomController {
     return ResponseEntity.ok().body(new SuccessResponse<>(roomTypes));
   }
 
+  /**
+   * Retrieves the number of free rooms of every room type for each night of a date range, so that
+   * a whole availability grid can be drawn from a single request.
+   *
+   * @param dateFrom The first night of the calendar.
+   * @param dateTo The last night of the calendar.
+   * @return A ResponseEntity with a SuccessResponse containing the room type identifiers and, for
+   *     each of them, the free room counts per night.
+   */
+  @GetMapping("/calendar/{dateFrom}/{dateTo}")
+  public ResponseEntity<Response> getAvailabilityCalendar(
+      @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") String dateFrom,
+      @PathVariable @DateTimeFormat(pattern = "yyyy-MM-dd") String dateTo) {
+    RoomAvailabilityCalendarResponse calendar =
+        roomService.getAvailabilityCalendar(dateFrom, dateTo);
+    return ResponseEntity.ok().body(new SuccessResponse<>(calendar));
+  }
+
   @PatchMapping("/update-price")
   @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
   public ResponseEntity<Response> updatePrice(@RequestBody List<RoomType> roomTypes) {
@@ -1,19 +1,27 @@
 package com.java.hotelmanagementsystem.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.java.hotelmanagementsystem.models.dto.User.*;
 import com.java.hotelmanagementsystem.responses.Response;
 import com.java.hotelmanagementsystem.responses.SuccessResponse;
 import com.java.hotelmanagementsystem.services.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * This class serves as the controller for managing user-related operations in the API. It provides
  * endpoints for retrieving user information, updating user details (password, email, phone, and
- * discount), checking email verification status, and accessing user reservation counts. Access to
+ * discount), checking email verification status, and accessing user reservation counts. Users are
+ * listed in keyset pages and exported to administrators as a stream. Access to
  * certain operations is restricted based on role-based authorization.
  */
 @RestController
@@ -21,7 +29,11 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class UserController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/get")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN', 'ROLE_CLEANER', 'ROLE_RESTAURANT')")
@@ -43,10 +55,48 @@ public class UserController {
         return ResponseEntity.ok().body(new SuccessResponse<>(user));
     }
 
+    /**
+     * Returns a page of users ordered by id. The id to pass as {@code after} for the next page is
+     * sent in the {@value #NEXT_CURSOR_HEADER} header, which is left out on the last page.
+     */
     @GetMapping("/get-all")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN', 'ROLE_CLEANER', 'ROLE_RESTAURANT')")
-    public ResponseEntity<Response> getAll() {
-        return ResponseEntity.ok().body(new SuccessResponse<>(userService.getAll()));
+    public ResponseEntity<Response> getAll(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "50") int limit) {
+        List<UserDto> users = userService.getAll(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() == limit) {
+            int lastId = users.get(users.size() - 1).getId();
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(lastId));
+        }
+        return response.body(new SuccessResponse<>(users));
+    }
+
+    /**
+     * Streams every user as newline-delimited JSON, writing each page as soon as it is fetched.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                userService.exportAll(page -> {
+                    try {
+                        for (UserDto user : page) {
+                            outputStream.write(objectMapper.writeValueAsBytes(user));
+                            outputStream.write('\n');
+                        }
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @GetMapping("/check-email-verification")
@@ -21,7 +21,7 @@ public class CleaningHistory {
   private int id;
 
   @JsonIgnore
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "room_id", referencedColumnName = "id")
   private Room room;
 
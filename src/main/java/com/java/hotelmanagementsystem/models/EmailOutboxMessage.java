@@ -0,0 +1,72 @@
+package com.java.hotelmanagementsystem.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents an email waiting for delivery. This entity is mapped to the "email_outbox" table in
+ * the database. Messages are written in the transaction of the booking or account change they
+ * announce and delivered afterwards by the
+ * {@link com.java.hotelmanagementsystem.security.EmailOutbox}. A delivered message is deleted, a
+ * failed one is retried later until it runs out of attempts and is kept as dead.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutboxMessage {
+
+  public enum Status {
+    PENDING,
+    DEAD
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id")
+  private int id;
+
+  @Column(name = "recipient", nullable = false)
+  private String recipient;
+
+  @Column(name = "template_id", nullable = false, length = 100)
+  private String templateId;
+
+  /** The template substitutions, as a JSON object. */
+  @Column(name = "substitutions", nullable = false, length = 4000)
+  private String substitutions;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  private Status status;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  /** When the message is due; while claimed by a sender, when the claim runs out. */
+  @Column(name = "next_attempt_at", nullable = false)
+  private Timestamp nextAttemptAt;
+
+  @Column(name = "claimed_by", length = 100)
+  private String claimedBy;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false)
+  private Timestamp createdAt;
+}
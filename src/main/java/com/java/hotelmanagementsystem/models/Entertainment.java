@@ -1,6 +1,8 @@
 package com.java.hotelmanagementsystem.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.java.hotelmanagementsystem.availability.EntertainmentIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -15,6 +17,8 @@ import java.util.List;
  */
 @Data
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@EntityListeners(EntertainmentIndexListener.class)
 @Table(name = "Entertainment")
 public class Entertainment {
 
@@ -34,7 +38,7 @@ public class Entertainment {
   @Column(name = "lock_code")
   private Integer lockCode;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "entertainment_type_id")
   private EntertainmentType entertainmentType;
 
@@ -1,5 +1,6 @@
 package com.java.hotelmanagementsystem.models;
 
+import com.java.hotelmanagementsystem.availability.EntertainmentReservationIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.FutureOrPresent;
 import lombok.Data;
@@ -15,10 +16,11 @@ import java.sql.Timestamp;
 @EqualsAndHashCode(callSuper = true)
 @Data
 @Entity
+@EntityListeners(EntertainmentReservationIndexListener.class)
 @Table(name = "Entertainment_Reservation")
 public class EntertainmentReservation extends Reservation {
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "entertainment_id")
   private Entertainment entertainment;
 
@@ -23,11 +23,11 @@ public class MenuItem {
   @Column(name = "menu_date", nullable = false)
   private Date menuDate;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "dish_id")
   private Dish dish;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "menu_type_id")
   private MenuType menuType;
 
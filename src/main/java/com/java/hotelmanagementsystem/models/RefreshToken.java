@@ -0,0 +1,52 @@
+package com.java.hotelmanagementsystem.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents a refresh token of the stateless authentication mode. This entity is mapped to the
+ * "refresh_token" table in the database. Every login starts a family of refresh tokens, and each
+ * refresh replaces the presented token by a new one of the same family. Replaced tokens keep their
+ * row, marked as rotated, until they expire, so presenting one again reveals a stolen token and
+ * revokes the whole family. Only a digest of each token is stored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refresh_token")
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id")
+  private int id;
+
+  /** The {@link com.java.hotelmanagementsystem.security.TokenDigest} of the raw token. */
+  @Column(name = "token_hash", nullable = false, length = 64)
+  private String tokenHash;
+
+  @Column(name = "user_id", nullable = false)
+  private int userId;
+
+  @Column(name = "family_id", nullable = false, length = 36)
+  private String familyId;
+
+  @Column(name = "expires_at", nullable = false)
+  private Timestamp expiresAt;
+
+  /** The moment the token was replaced by the next one of its family, or null while current. */
+  @Column(name = "rotated_at")
+  private Timestamp rotatedAt;
+}
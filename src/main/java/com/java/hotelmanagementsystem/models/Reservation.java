@@ -8,8 +8,9 @@ import java.sql.Timestamp;
 
 /**
  * Abstract base class for various types of reservations. This class provides common fields like ID,
- * booking timestamp, associated user, and payment. It is a mapped superclass for entities
- * representing different kinds of reservations.
+ * booking timestamp, associated user, payment, and hold expiry. It is a mapped superclass for
+ * entities representing different kinds of reservations. A reservation with an expiry is a hold
+ * that is released when the expiry passes unless it is paid first.
  */
 @Data
 @MappedSuperclass
@@ -24,11 +25,14 @@ public abstract class Reservation {
   protected Timestamp bookedAt;
 
   @JsonIgnore
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id")
   protected User user;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "payment_id")
   protected Payment payment;
+
+  @Column(name = "expires_at")
+  protected Timestamp expiresAt;
 }
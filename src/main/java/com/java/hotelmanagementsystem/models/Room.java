@@ -1,6 +1,8 @@
 package com.java.hotelmanagementsystem.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.java.hotelmanagementsystem.availability.RoomIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
@@ -14,6 +16,8 @@ import java.util.List;
  */
 @Data
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@EntityListeners(RoomIndexListener.class)
 @Table(name = "Room")
 public class Room {
 
@@ -30,7 +34,7 @@ public class Room {
   @Positive
   private int accessCode;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "room_type_id", referencedColumnName = "id")
   private RoomType roomType;
 
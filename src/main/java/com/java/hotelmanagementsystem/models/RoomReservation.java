@@ -1,5 +1,6 @@
 package com.java.hotelmanagementsystem.models;
 
+import com.java.hotelmanagementsystem.availability.RoomReservationIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.FutureOrPresent;
@@ -18,6 +19,7 @@ import java.sql.Timestamp;
 @EqualsAndHashCode(callSuper = true)
 @Data
 @Entity
+@EntityListeners(RoomReservationIndexListener.class)
 @Table(name = "Room_Reservation")
 public class RoomReservation extends Reservation {
 
@@ -34,7 +36,7 @@ public class RoomReservation extends Reservation {
     AWAITING_PAYMENT
   }
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "room_id", referencedColumnName = "id")
   private Room room;
 
@@ -0,0 +1,37 @@
+package com.java.hotelmanagementsystem.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents the lease on a scheduled job. This entity is mapped to the "scheduler_lease" table in
+ * the database. The instance named as holder runs the job until the lease ends, and the fencing
+ * token grows with every acquisition, so a former holder can tell that its lease was taken over.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+  @Id
+  @Column(name = "job_name", length = 100)
+  private String jobName;
+
+  @Column(name = "holder", nullable = false)
+  private String holder;
+
+  @Column(name = "lease_until", nullable = false)
+  private Timestamp leaseUntil;
+
+  @Column(name = "fencing_token", nullable = false)
+  private long fencingToken;
+}
@@ -14,10 +14,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.sql.Timestamp;
+
 /**
  * Represents a token associated with user authentication or authorization. This entity is mapped to
  * the "Token" table in the database. Tokens are used for various purposes, including user sessions,
- * authentication, and authorization.
+ * authentication, and authorization. Only a digest of each token is stored.
  */
 @Data
 @Builder
@@ -31,15 +33,20 @@ public class Token {
     @Column(name = "id")
     private int id;
 
-    @Column(name = "token", nullable = false)
-    private String token;
+    /** The {@link com.java.hotelmanagementsystem.security.TokenDigest} of the raw token. */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    /** The expiry of the token, after which it may be compacted away. */
+    @Column(name = "expires_at", nullable = false)
+    private Timestamp expiresAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     @NotNull
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "token_type_id", referencedColumnName = "id")
     private TokenType tokenType;
 }
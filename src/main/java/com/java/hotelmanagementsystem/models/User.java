@@ -2,9 +2,11 @@ package com.java.hotelmanagementsystem.models;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.java.hotelmanagementsystem.search.GuestSearchIndexListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -45,6 +47,7 @@ import org.springframework.security.core.userdetails.UserDetails;
  */
 @Data
 @Entity
+@EntityListeners(GuestSearchIndexListener.class)
 @Getter
 @Setter
 @Table(
@@ -94,7 +97,7 @@ public class User implements UserDetails {
     @Column(name = "verified")
     Timestamp verified;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_role",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -106,11 +109,11 @@ public class User implements UserDetails {
     private List<Token> tokens;
 
     @JsonIgnore
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "user",fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, mappedBy = "user")
     private List<EntertainmentReservation> entertainmentReservations;
 
     @JsonIgnore
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "user",fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, mappedBy = "user")
     private List<RoomReservation> roomReservations;
 
     public User() {}
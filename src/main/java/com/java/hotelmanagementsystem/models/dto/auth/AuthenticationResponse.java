@@ -12,7 +12,8 @@ import java.util.Set;
 /**
  * Represents an authentication response containing an authentication token and user roles. This
  * class is typically used to convey the result of a successful authentication, providing an
- * authentication token and the roles associated with the authenticated user.
+ * authentication token and the roles associated with the authenticated user. In the stateless
+ * authentication mode, it also carries the refresh token used to obtain new access tokens.
  */
 @Data
 @Builder
@@ -20,5 +21,6 @@ import java.util.Set;
 @NoArgsConstructor
 public class AuthenticationResponse {
   private String token;
+  private String refreshToken;
   private Set<Role.RoleEnum> roles;
 }
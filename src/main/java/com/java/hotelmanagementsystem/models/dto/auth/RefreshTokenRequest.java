@@ -0,0 +1,20 @@
+package com.java.hotelmanagementsystem.models.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a request to exchange a refresh token for a new access token and the next refresh
+ * token of the session. The presented refresh token can be used only once.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequest {
+  @NotBlank(message = "Refresh token is required")
+  private String refreshToken;
+}
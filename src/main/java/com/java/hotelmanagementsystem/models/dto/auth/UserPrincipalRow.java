@@ -0,0 +1,26 @@
+package com.java.hotelmanagementsystem.models.dto.auth;
+
+import com.java.hotelmanagementsystem.models.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents one role of a user together with the fields needed to authenticate them, so that a
+ * security principal can be built without hydrating the user entity and its reservations. A user
+ * with several roles yields one row per role.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserPrincipalRow {
+  private Integer id;
+  private String email;
+  private String password;
+  private Timestamp verified;
+  private Role.RoleEnum role;
+}
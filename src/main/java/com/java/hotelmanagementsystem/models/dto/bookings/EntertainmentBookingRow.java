@@ -0,0 +1,28 @@
+package com.java.hotelmanagementsystem.models.dto.bookings;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents an entertainment reservation of a user as listed on the bookings page, carrying the
+ * element and type details and the payment id read through joins so the reservation entity is
+ * never hydrated.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EntertainmentBookingRow {
+  private Integer id;
+  private Timestamp dateFrom;
+  private Timestamp dateTo;
+  private String description;
+  private Integer price;
+  private String typeName;
+  private Integer lockCode;
+  private Integer paymentId;
+}
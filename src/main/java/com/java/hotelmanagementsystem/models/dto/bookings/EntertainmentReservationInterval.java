@@ -0,0 +1,25 @@
+package com.java.hotelmanagementsystem.models.dto.bookings;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents the time slot held by a single entertainment reservation, carrying only the
+ * identifiers and timestamps needed to rebuild availability data without hydrating the reservation
+ * entity.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EntertainmentReservationInterval {
+  private Integer reservationId;
+  private Integer entertainmentId;
+  private Integer entertainmentTypeId;
+  private Timestamp dateFrom;
+  private Timestamp dateTo;
+}
@@ -0,0 +1,24 @@
+package com.java.hotelmanagementsystem.models.dto.bookings;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * Represents an unpaid reservation hold, carrying the reserved range and the moment the hold lapses
+ * so that it can be scheduled for release without hydrating the reservation entity.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationHold {
+  private Integer reservationId;
+  private Date dateFrom;
+  private Date dateTo;
+  private Timestamp expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.java.hotelmanagementsystem.models.dto.bookings;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents the number of free rooms per room type for every night of a date range, in a columnar
+ * shape. Night {@code i} is {@code dateFrom + i} days, and {@code freeRooms.get(t)[i]} is the
+ * number of rooms of type {@code roomTypeIds.get(t)} that are free on that night.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomAvailabilityCalendarResponse {
+  private String dateFrom;
+  private String dateTo;
+  private List<Integer> roomTypeIds;
+  private List<int[]> freeRooms;
+}
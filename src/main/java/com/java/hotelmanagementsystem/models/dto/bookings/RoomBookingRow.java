@@ -0,0 +1,25 @@
+package com.java.hotelmanagementsystem.models.dto.bookings;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Date;
+
+/**
+ * Represents a room reservation of a user as listed on the bookings page, carrying the room type
+ * price and the payment id read through joins so the reservation entity is never hydrated.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomBookingRow {
+  private Integer id;
+  private Date fromDate;
+  private Date toDate;
+  private Integer price;
+  private Integer roomTypeId;
+  private Integer paymentId;
+}
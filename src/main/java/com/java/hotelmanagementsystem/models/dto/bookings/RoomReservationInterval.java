@@ -0,0 +1,24 @@
+package com.java.hotelmanagementsystem.models.dto.bookings;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Date;
+
+/**
+ * Represents the occupancy interval of a single room reservation, carrying only the identifiers and
+ * dates needed to rebuild availability data without hydrating the reservation entity.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomReservationInterval {
+  private Integer reservationId;
+  private Integer roomId;
+  private Integer roomTypeId;
+  private Date fromDate;
+  private Date toDate;
+}
@@ -0,0 +1,67 @@
+package com.java.hotelmanagementsystem.repositories;
+
+import com.java.hotelmanagementsystem.models.EmailOutboxMessage;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for EmailOutboxMessage entities. Extends JpaRepository to facilitate
+ * database operations for queued emails. Includes the chunked lookup of due messages, the
+ * conditional update claiming them for one sender, and the updates recording the outcome of a
+ * delivery attempt.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Integer> {
+
+  @Query(
+      "SELECT m.id FROM EmailOutboxMessage m WHERE m.status = 'PENDING' "
+          + "AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+  List<Integer> findDueIds(@Param("now") Timestamp now, Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE EmailOutboxMessage m SET m.claimedBy = :claim, m.nextAttemptAt = :claimedUntil "
+          + "WHERE m.id IN :ids AND m.status = 'PENDING' AND m.nextAttemptAt <= :now")
+  int claim(
+      @Param("ids") Collection<Integer> ids,
+      @Param("claim") String claim,
+      @Param("now") Timestamp now,
+      @Param("claimedUntil") Timestamp claimedUntil);
+
+  List<EmailOutboxMessage> findByClaimedByOrderById(String claimedBy);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE EmailOutboxMessage m SET m.attempts = m.attempts + 1, m.claimedBy = NULL, "
+          + "m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+  int reschedule(
+      @Param("id") int id,
+      @Param("nextAttemptAt") Timestamp nextAttemptAt,
+      @Param("error") String error);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE EmailOutboxMessage m SET m.attempts = m.attempts + 1, m.claimedBy = NULL, "
+          + "m.status = 'DEAD', m.lastError = :error WHERE m.id = :id")
+  int markDead(@Param("id") int id, @Param("error") String error);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM EmailOutboxMessage m WHERE m.id IN :ids")
+  int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+  @Query("SELECT COUNT(m) FROM EmailOutboxMessage m WHERE m.status = :status")
+  long countByStatus(@Param("status") EmailOutboxMessage.Status status);
+}
@@ -1,21 +1,45 @@
 package com.java.hotelmanagementsystem.repositories;
 
 import com.java.hotelmanagementsystem.models.Entertainment;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Entertainment entities. Extends JpaRepository to provide standard CRUD
  * operations. Includes a custom query to find available entertainments by type and time,
- * considering existing reservations.
+ * considering existing reservations, and a locking read used while an element is being allocated.
+ * Elements returned to clients are loaded together with their type; the locking read leaves it lazy
+ * so that only the element row is locked.
  */
 @Repository
 public interface EntertainmentRepository extends JpaRepository<Entertainment, Integer> {
+  @Override
+  @EntityGraph(attributePaths = "entertainmentType")
+  Optional<Entertainment> findById(Integer id);
+
+  @Override
+  @EntityGraph(attributePaths = "entertainmentType")
+  List<Entertainment> findAll();
+
+  @Override
+  @EntityGraph(attributePaths = "entertainmentType")
+  List<Entertainment> findAllById(Iterable<Integer> ids);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+  @Query("SELECT e FROM Entertainment e WHERE e.id = :entertainmentId")
+  Optional<Entertainment> findByIdForUpdate(@Param("entertainmentId") int entertainmentId);
 
   @Query(
       "SELECT e FROM Entertainment e WHERE e.entertainmentType.id = :entertainmentTypeId AND "
@@ -25,6 +49,7 @@ public interface EntertainmentRepository extends JpaRepository<Entertainment, In
           + "(er.dateTo BETWEEN :startTime AND :endTime) OR "
           + "(:startTime BETWEEN er.dateFrom AND er.dateTo) OR "
           + "(:endTime BETWEEN er.dateFrom AND er.dateTo)))")
+  @EntityGraph(attributePaths = "entertainmentType")
   List<Entertainment> findAvailableEntertainmentsByTypeAndTime(
       @Param("entertainmentTypeId") int entertainmentTypeId,
       @Param("startTime") Timestamp startTime,
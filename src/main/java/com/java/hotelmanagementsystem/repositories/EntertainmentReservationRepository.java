@@ -1,25 +1,109 @@
 package com.java.hotelmanagementsystem.repositories;
 
 import com.java.hotelmanagementsystem.models.EntertainmentReservation;
-import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.models.Payment;
+import com.java.hotelmanagementsystem.models.dto.bookings.EntertainmentBookingRow;
+import com.java.hotelmanagementsystem.models.dto.bookings.EntertainmentReservationInterval;
+import com.java.hotelmanagementsystem.models.dto.bookings.ReservationHold;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for EntertainmentReservation entities. Extends JpaRepository to facilitate
  * database operations for entertainment reservations. Includes methods to find reservations by
- * user, those without payments, and reservations within a specific date range.
+ * date range, projections for the bookings page and the availability index, and the hold queries.
+ * Queries returning reservations fetch the associations their callers read.
  */
 @Repository
 public interface EntertainmentReservationRepository
     extends JpaRepository<EntertainmentReservation, Integer> {
-  List<EntertainmentReservation> findAllByUser(User user);
+  @Override
+  @EntityGraph(attributePaths = {"entertainment.entertainmentType", "payment"})
+  Optional<EntertainmentReservation> findById(Integer id);
 
-  List<EntertainmentReservation> findAllByPaymentIsNull();
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings.EntertainmentBookingRow("
+          + "er.id, er.dateFrom, er.dateTo, e.description, et.price, et.name, e.lockCode, p.id) "
+          + "FROM EntertainmentReservation er JOIN er.entertainment e "
+          + "JOIN e.entertainmentType et LEFT JOIN er.payment p WHERE er.user.id = :userId")
+  List<EntertainmentBookingRow> findBookingRowsByUserId(@Param("userId") int userId);
 
+  @Query("SELECT COUNT(er) FROM EntertainmentReservation er WHERE er.user.id = :userId")
+  long countByUserId(@Param("userId") int userId);
+
+  @Query(
+      "SELECT COUNT(er) > 0 FROM EntertainmentReservation er "
+          + "WHERE er.entertainment.id = :entertainmentId "
+          + "AND er.dateFrom <= :dateTo AND er.dateTo >= :dateFrom")
+  boolean existsOverlapping(
+      @Param("entertainmentId") int entertainmentId,
+      @Param("dateFrom") Timestamp dateFrom,
+      @Param("dateTo") Timestamp dateTo);
+
+  @EntityGraph(attributePaths = {"user", "entertainment.entertainmentType", "payment"})
   List<EntertainmentReservation> findAllByDateFromBetweenOrDateToBetween(
       Date date, Date date1, Date date2, Date date3);
+
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings."
+          + "EntertainmentReservationInterval("
+          + "er.id, er.entertainment.id, er.entertainment.entertainmentType.id, "
+          + "er.dateFrom, er.dateTo) "
+          + "FROM EntertainmentReservation er WHERE er.dateTo >= :dateFrom")
+  List<EntertainmentReservationInterval> findIntervalsEndingOnOrAfter(
+      @Param("dateFrom") Timestamp dateFrom);
+
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings.ReservationHold("
+          + "er.id, er.dateFrom, er.dateTo, er.expiresAt) "
+          + "FROM EntertainmentReservation er WHERE er.expiresAt <= :expiresAt")
+  List<ReservationHold> findHoldsExpiringBy(@Param("expiresAt") Timestamp expiresAt);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "DELETE FROM EntertainmentReservation er WHERE er.id = :id "
+          + "AND er.payment IS NULL AND er.expiresAt <= :now")
+  int deleteExpiredHold(@Param("id") int id, @Param("now") Timestamp now);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE EntertainmentReservation er SET er.payment = :payment, er.expiresAt = NULL "
+          + "WHERE er.id = :id AND (er.expiresAt IS NULL OR er.expiresAt > :now)")
+  int confirm(
+      @Param("id") int id, @Param("payment") Payment payment, @Param("now") Timestamp now);
+
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings."
+          + "EntertainmentReservationInterval("
+          + "er.id, er.entertainment.id, er.entertainment.entertainmentType.id, "
+          + "er.dateFrom, er.dateTo) "
+          + "FROM EntertainmentReservation er "
+          + "WHERE er.payment IS NULL AND er.dateFrom < :startsBefore "
+          + "AND (er.expiresAt IS NULL OR er.expiresAt <= :now) ORDER BY er.id")
+  List<EntertainmentReservationInterval> findUnpaidStartingBefore(
+      @Param("startsBefore") Timestamp startsBefore,
+      @Param("now") Timestamp now,
+      Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM EntertainmentReservation er WHERE er.id IN :ids AND er.payment IS NULL")
+  int deleteUnpaidByIds(@Param("ids") Collection<Integer> ids);
+
+  @Query("SELECT er.id FROM EntertainmentReservation er WHERE er.id IN :ids")
+  List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,52 @@
+package com.java.hotelmanagementsystem.repositories;
+
+import com.java.hotelmanagementsystem.models.RefreshToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for RefreshToken entities. Extends JpaRepository to facilitate database
+ * operations for refresh tokens. Includes the conditional update rotating a token exactly once,
+ * the deletes revoking a token family or all refresh tokens of a user, and the chunked compaction
+ * of expired tokens.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
+
+  Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE RefreshToken r SET r.rotatedAt = :now "
+          + "WHERE r.id = :id AND r.rotatedAt IS NULL")
+  int markRotated(@Param("id") int id, @Param("now") Timestamp now);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+  int deleteByFamilyId(@Param("familyId") String familyId);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RefreshToken r WHERE r.userId = :userId")
+  int deleteByUserId(@Param("userId") int userId);
+
+  @Query("SELECT r.id FROM RefreshToken r WHERE r.expiresAt <= :now ORDER BY r.id")
+  List<Integer> findExpiredIds(@Param("now") Timestamp now, Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RefreshToken r WHERE r.id IN :ids")
+  int deleteByIds(@Param("ids") Collection<Integer> ids);
+}
@@ -1,28 +1,58 @@
 package com.java.hotelmanagementsystem.repositories;
 
 import com.java.hotelmanagementsystem.models.Room;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Room entities. Extends JpaRepository to provide standard CRUD operations
  * for rooms. Includes custom queries to find available rooms based on time and type, check room
- * availability, and find rooms with active reservations that have not been cleaned today.
+ * availability, lock a room while it is being allocated, list the type of every room, and find
+ * rooms with active reservations that have not been cleaned today. Rooms returned to clients are
+ * loaded together with their type; the locking read leaves it lazy so that only the room row is
+ * locked.
  */
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Integer> {
+  @Override
+  @EntityGraph(attributePaths = "roomType")
+  Optional<Room> findById(Integer id);
+
+  @Override
+  @EntityGraph(attributePaths = "roomType")
+  List<Room> findAll();
+
+  @Override
+  @EntityGraph(attributePaths = "roomType")
+  List<Room> findAllById(Iterable<Integer> ids);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+  @Query("SELECT r FROM Room r WHERE r.id = :roomId")
+  Optional<Room> findByIdForUpdate(@Param("roomId") int roomId);
+
+  @Query("SELECT r.id, r.roomType.id FROM Room r")
+  List<Object[]> findAllRoomTypeIds();
+
   @Query(
       "SELECT r FROM Room r WHERE r.id NOT IN ("
           + "SELECT rr.room.id FROM RoomReservation rr WHERE "
           + "(rr.fromDate <= :dateTo AND rr.toDate >= :dateFrom) OR "
           + "(rr.fromDate >= :dateFrom AND rr.toDate <= :dateTo) OR "
           + "(rr.fromDate <= :dateFrom AND rr.toDate >= :dateTo)) AND r.roomType.id = :roomTypeId")
+  @EntityGraph(attributePaths = "roomType")
   List<Room> findAvailableRoomsByTimeAndType(
       @Param("dateFrom") Date dateFrom,
       @Param("dateTo") Date dateTo,
@@ -44,6 +74,7 @@ public interface RoomRepository extends JpaRepository<Room, Integer> {
           + "(rr.fromDate <= :dateTo AND rr.toDate >= :dateFrom) OR "
           + "(rr.fromDate >= :dateFrom AND rr.toDate <= :dateTo) OR "
           + "(rr.fromDate <= :dateFrom AND rr.toDate >= :dateTo))")
+  @EntityGraph(attributePaths = "roomType")
   List<Room> findAvailableRoomsByTime(
       @Param("dateFrom") Date dateFromSql, @Param("dateTo") Date dateToSql);
 
@@ -1,26 +1,111 @@
 package com.java.hotelmanagementsystem.repositories;
 
+import com.java.hotelmanagementsystem.models.Payment;
 import com.java.hotelmanagementsystem.models.RoomReservation;
 import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.models.dto.bookings.ReservationHold;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomBookingRow;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for RoomReservation entities. Extends JpaRepository to manage database
- * operations for room reservations. Includes methods to find reservations by user, those without
- * payments, and reservations within a specific date range.
+ * operations for room reservations. Includes methods to find reservations by user and date range,
+ * projections for the bookings page and the availability index, and the hold queries. Queries
+ * returning reservations fetch the associations their callers read.
  */
 @Repository
 public interface RoomReservationRepository extends JpaRepository<RoomReservation, Integer> {
+  @Override
+  @EntityGraph(attributePaths = {"room.roomType", "payment"})
+  Optional<RoomReservation> findById(Integer id);
+
+  @EntityGraph(attributePaths = "room.roomType")
   RoomReservation findFirstByUserOrderByBookedAtDesc(User user);
 
+  @EntityGraph(attributePaths = {"room.roomType", "payment"})
   List<RoomReservation> findAllByUser(User user);
 
-  List<RoomReservation> findAllByPaymentIsNull();
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings.RoomBookingRow("
+          + "rr.id, rr.fromDate, rr.toDate, rt.price, rt.id, p.id) "
+          + "FROM RoomReservation rr JOIN rr.room r JOIN r.roomType rt LEFT JOIN rr.payment p "
+          + "WHERE rr.user.id = :userId")
+  List<RoomBookingRow> findBookingRowsByUserId(@Param("userId") int userId);
+
+  @Query("SELECT COUNT(rr) FROM RoomReservation rr WHERE rr.user.id = :userId")
+  long countByUserId(@Param("userId") int userId);
+
+  @Query(
+      "SELECT COUNT(rr) > 0 FROM RoomReservation rr WHERE rr.room.id = :roomId "
+          + "AND rr.fromDate <= :dateTo AND rr.toDate >= :dateFrom")
+  boolean existsOverlapping(
+      @Param("roomId") int roomId, @Param("dateFrom") Date dateFrom, @Param("dateTo") Date dateTo);
 
+  @EntityGraph(attributePaths = {"user", "room.roomType", "payment"})
   List<RoomReservation> findAllByFromDateBetweenOrToDateBetween(
       Date date, Date date1, Date date2, Date date3);
+
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval("
+          + "rr.id, rr.room.id, rr.room.roomType.id, rr.fromDate, rr.toDate) "
+          + "FROM RoomReservation rr WHERE rr.toDate >= :dateFrom")
+  List<RoomReservationInterval> findIntervalsEndingOnOrAfter(@Param("dateFrom") Date dateFrom);
+
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval("
+          + "rr.id, rr.room.id, rr.room.roomType.id, rr.fromDate, rr.toDate) "
+          + "FROM RoomReservation rr WHERE rr.fromDate <= :dateTo AND rr.toDate >= :dateFrom")
+  List<RoomReservationInterval> findIntervalsOverlapping(
+      @Param("dateFrom") Date dateFrom, @Param("dateTo") Date dateTo);
+
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings.ReservationHold("
+          + "rr.id, rr.fromDate, rr.toDate, rr.expiresAt) "
+          + "FROM RoomReservation rr WHERE rr.expiresAt <= :expiresAt")
+  List<ReservationHold> findHoldsExpiringBy(@Param("expiresAt") Timestamp expiresAt);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "DELETE FROM RoomReservation rr WHERE rr.id = :id "
+          + "AND rr.payment IS NULL AND rr.expiresAt <= :now")
+  int deleteExpiredHold(@Param("id") int id, @Param("now") Timestamp now);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE RoomReservation rr SET rr.payment = :payment, rr.expiresAt = NULL "
+          + "WHERE rr.id = :id AND (rr.expiresAt IS NULL OR rr.expiresAt > :now)")
+  int confirm(
+      @Param("id") int id, @Param("payment") Payment payment, @Param("now") Timestamp now);
+
+  @Query(
+      "SELECT NEW com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval("
+          + "rr.id, rr.room.id, rr.room.roomType.id, rr.fromDate, rr.toDate) "
+          + "FROM RoomReservation rr WHERE rr.payment IS NULL AND rr.fromDate <= :lastDate "
+          + "AND (rr.expiresAt IS NULL OR rr.expiresAt <= :now) ORDER BY rr.id")
+  List<RoomReservationInterval> findUnpaidStartingBy(
+      @Param("lastDate") Date lastDate, @Param("now") Timestamp now, Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM RoomReservation rr WHERE rr.id IN :ids AND rr.payment IS NULL")
+  int deleteUnpaidByIds(@Param("ids") Collection<Integer> ids);
+
+  @Query("SELECT rr.id FROM RoomReservation rr WHERE rr.id IN :ids")
+  List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,58 @@
+package com.java.hotelmanagementsystem.repositories;
+
+import com.java.hotelmanagementsystem.models.SchedulerLease;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+
+/**
+ * Repository interface for SchedulerLease entities. Extends JpaRepository to provide standard CRUD
+ * operations, and includes the insert creating a missing lease, the conditional update acquiring an
+ * ended lease and the check whether a lease is still held.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+  /**
+   * Creates the lease row of a job, ended since the epoch, unless it already exists. Unlike {@code
+   * save}, which merges the assigned id, this never overwrites a lease another instance created
+   * and acquired in the meantime; if both insert at once, the primary key rejects the second.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "INSERT INTO scheduler_lease (job_name, holder, lease_until, fencing_token) "
+              + "SELECT :jobName, :holder, :leaseUntil, 0 FROM (VALUES (0)) AS seed(x) "
+              + "WHERE NOT EXISTS (SELECT 1 FROM scheduler_lease WHERE job_name = :jobName)",
+      nativeQuery = true)
+  int createIfAbsent(
+      @Param("jobName") String jobName,
+      @Param("holder") String holder,
+      @Param("leaseUntil") Timestamp leaseUntil);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE SchedulerLease l SET l.holder = :holder, l.leaseUntil = :leaseUntil, "
+          + "l.fencingToken = l.fencingToken + 1 "
+          + "WHERE l.jobName = :jobName AND l.leaseUntil <= :now")
+  int acquire(
+      @Param("jobName") String jobName,
+      @Param("holder") String holder,
+      @Param("now") Timestamp now,
+      @Param("leaseUntil") Timestamp leaseUntil);
+
+  @Query(
+      "SELECT COUNT(l) > 0 FROM SchedulerLease l WHERE l.jobName = :jobName "
+          + "AND l.fencingToken = :fencingToken AND l.leaseUntil > :now")
+  boolean isHeld(
+      @Param("jobName") String jobName,
+      @Param("fencingToken") long fencingToken,
+      @Param("now") Timestamp now);
+}
@@ -1,22 +1,52 @@
 package com.java.hotelmanagementsystem.repositories;
 
 import com.java.hotelmanagementsystem.models.Token;
+import com.java.hotelmanagementsystem.models.TokenType;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
- * Repository interface for RoomType entities. Extends JpaRepository to facilitate database
- * operations for room types. Includes a custom query to find available room types based on room
- * occupancy and availability within a specified date range.
+ * Repository interface for Token entities. Extends JpaRepository to facilitate database operations
+ * for tokens. Tokens are stored and looked up by their digest, never by the raw token. Includes
+ * set-based statements revoking the tokens of a user by type and compacting expired tokens in
+ * chunks.
  */
 @Repository
 public interface TokenRepository extends JpaRepository<Token, Integer> {
-  @Query("SELECT t FROM Token t " + "join User u on t.user.id = u.id " + "WHERE u.id = :userId")
-  List<Token> findAllValidTokensByUser(int userId);
+  Optional<Token> findByTokenHash(String tokenHash);
 
-  Optional<Token> findByToken(String token);
+  @Query("SELECT t.tokenHash FROM Token t")
+  List<String> findAllTokenHashes();
+
+  @Query(
+      "SELECT t.tokenHash FROM Token t "
+          + "WHERE t.user.id = :userId AND t.tokenType.type = :type")
+  List<String> findTokenHashesByUserAndType(
+      @Param("userId") int userId, @Param("type") TokenType.TokenTypeEnum type);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "DELETE FROM Token t WHERE t.user.id = :userId AND t.tokenType.id IN "
+          + "(SELECT tt.id FROM TokenType tt WHERE tt.type = :type)")
+  int deleteByUserAndType(
+      @Param("userId") int userId, @Param("type") TokenType.TokenTypeEnum type);
+
+  @Query("SELECT t.id FROM Token t WHERE t.expiresAt <= :now ORDER BY t.id")
+  List<Integer> findExpiredIds(@Param("now") Timestamp now, Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM Token t WHERE t.id IN :ids")
+  int deleteByIds(@Param("ids") Collection<Integer> ids);
 }
@@ -1,8 +1,18 @@
 package com.java.hotelmanagementsystem.repositories;
 
 import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.models.dto.User.UserDto;
+import com.java.hotelmanagementsystem.models.dto.auth.UserPrincipalRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,6 +24,35 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByPhone(String phone);
 
+    @Query(
+            "SELECT NEW com.java.hotelmanagementsystem.models.dto.auth.UserPrincipalRow("
+                    + "u.id, u.email, u.password, u.verified, r.name) "
+                    + "FROM User u LEFT JOIN u.roles r WHERE u.email = :email")
+    List<UserPrincipalRow> findPrincipalRowsByEmail(@Param("email") String email);
+
+    @Query(
+            "SELECT NEW com.java.hotelmanagementsystem.models.dto.User.UserDto("
+                    + "u.id, u.firstName, u.lastName, u.email, u.phone, u.discount) "
+                    + "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserDto> findPageAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Integer> findIdByEmail(@Param("email") String email);
+
+    /**
+     * Locks the row of a user until the end of the transaction, without loading the user, so that
+     * concurrent bookings of the same user are checked against its quota one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT u.id FROM User u WHERE u.id = :id")
+    Optional<Integer> lockById(@Param("id") int id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+
     List<User> findByFirstNameContainingAndLastNameContaining(
             String firstName, String lastName, Pageable pageable);
 
@@ -0,0 +1,119 @@
+package com.java.hotelmanagementsystem.scheduler;
+
+import com.java.hotelmanagementsystem.repositories.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Elects the single instance that runs a scheduled job, using a lease row per job in the shared
+ * database.
+ *
+ * <p>Every instance tries to acquire the lease when the job fires, with a conditional update that
+ * only succeeds once the previous lease has ended, so exactly one instance wins per interval. The
+ * winner keeps the lease for the given time instead of releasing it after the run, so instances
+ * firing slightly later skip the interval, and a leader that dies is replaced once its lease ends.
+ * Each acquisition increments the fencing token, which lets a slow leader check between steps
+ * whether its lease was taken over. Lease times are compared on the application clock, so they
+ * should be well above the clock skew between instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderLease {
+
+  private final SchedulerLeaseRepository schedulerLeaseRepository;
+  private final String holder = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+  /**
+   * A lease held by this instance.
+   *
+   * @param jobName The job the lease is for.
+   * @param fencingToken The token of this acquisition.
+   */
+  public record Lease(String jobName, long fencingToken) {}
+
+  /**
+   * Runs a job if this instance acquires its lease.
+   *
+   * @param jobName The job to run.
+   * @param leaseTime How long the lease is held, typically just below the job interval.
+   * @param job The job, receiving the lease to check it between steps.
+   * @return Whether this instance ran the job.
+   */
+  public boolean runIfLeader(String jobName, Duration leaseTime, Consumer<Lease> job) {
+    Optional<Lease> lease = tryAcquire(jobName, leaseTime);
+    if (lease.isEmpty()) {
+      log.debug("Skipping {}, the lease is held by another instance", jobName);
+      return false;
+    }
+    job.accept(lease.get());
+    return true;
+  }
+
+  /**
+   * Acquires the lease on a job if it has ended.
+   *
+   * @param jobName The job to lease.
+   * @param leaseTime How long the lease is held.
+   * @return The acquired lease, or an empty Optional if another instance holds it.
+   */
+  public Optional<Lease> tryAcquire(String jobName, Duration leaseTime) {
+    long now = System.currentTimeMillis();
+    if (!schedulerLeaseRepository.existsById(jobName)) {
+      try {
+        schedulerLeaseRepository.createIfAbsent(jobName, holder, new Timestamp(0));
+      } catch (DataIntegrityViolationException e) {
+        // Another instance created the lease first
+      }
+    }
+    int acquired =
+        schedulerLeaseRepository.acquire(
+            jobName, holder, new Timestamp(now), new Timestamp(now + leaseTime.toMillis()));
+    if (acquired == 0) {
+      return Optional.empty();
+    }
+    return schedulerLeaseRepository
+        .findById(jobName)
+        .filter(lease -> lease.getHolder().equals(holder))
+        .map(lease -> new Lease(jobName, lease.getFencingToken()));
+  }
+
+  /**
+   * Checks whether a lease is still held, i.e. it has not ended and was not taken over.
+   *
+   * @param lease The lease to check.
+   * @return Whether the lease is still held.
+   */
+  public boolean isHeld(Lease lease) {
+    return schedulerLeaseRepository.isHeld(
+        lease.jobName(), lease.fencingToken(), new Timestamp(System.currentTimeMillis()));
+  }
+
+  /**
+   * Returns the name identifying this instance as lease holder, made of the host name and a random
+   * suffix so that instances sharing a host are told apart.
+   *
+   * @return The holder name of this instance.
+   */
+  public String getHolder() {
+    return holder;
+  }
+
+  private static String hostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      return "unknown";
+    }
+  }
+}
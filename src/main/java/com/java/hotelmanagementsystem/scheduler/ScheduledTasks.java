@@ -6,19 +6,36 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-/** Scheduled tasks for managing hotel reservations. */
+import java.time.Duration;
+
+/**
+ * Scheduled tasks for managing hotel reservations. Each task runs on a single instance per
+ * interval, elected through {@link LeaderLease}.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ScheduledTasks {
 
+  private static final long CLEAN_UP_INTERVAL_MILLIS = 30 * 60 * 1000;
+
   private final BookingService bookingService;
+  private final LeaderLease leaderLease;
 
   /** Periodically cleans up expired reservations. This task runs every 30 minutes. */
-  @Scheduled(fixedRate = 30 * 60 * 1000)
+  @Scheduled(fixedRate = CLEAN_UP_INTERVAL_MILLIS)
   public void cleanUpExpiredReservations() {
-    log.info("Cleaning up expired reservations");
-    bookingService.deleteUnpaidRoomReservations();
-    bookingService.deleteUnpaidEntertainmentReservations();
+    leaderLease.runIfLeader(
+        "cleanUpExpiredReservations",
+        Duration.ofMillis(CLEAN_UP_INTERVAL_MILLIS).minusMinutes(1),
+        lease -> {
+          log.info("Cleaning up expired reservations");
+          bookingService.deleteUnpaidRoomReservations();
+          if (!leaderLease.isHeld(lease)) {
+            log.warn("Lease on the reservation clean-up was taken over, stopping");
+            return;
+          }
+          bookingService.deleteUnpaidEntertainmentReservations();
+        });
   }
 }
@@ -0,0 +1,453 @@
+package com.java.hotelmanagementsystem.search;
+
+import com.java.hotelmanagementsystem.models.dto.User.UserDto;
+import com.java.hotelmanagementsystem.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index answering the front desk guest search without touching the database.
+ *
+ * <p>Every guest is split into lower-cased, accent-free tokens: the first and last name, the email
+ * and its local part, and the digits of the phone number. Each token is indexed by its trigrams,
+ * which find the guests containing a search term anywhere and tolerate typos, and by itself in a
+ * sorted map, which completes terms too short to have a trigram. A search matches guests for which
+ * every term matches one of their tokens and ranks them by match quality: an exact token first,
+ * then a token prefix, a substring, and finally a fuzzy match by shared trigrams, which is left
+ * out for terms without letters such as phone numbers. The index is built from {@link
+ * UserRepository} at startup and kept current by {@link GuestSearchIndexListener}. As the listener
+ * only sees this instance's changes, the index is also reconciled with the database every {@code
+ * guest-search.index.refresh-ms}, so guests registered, renamed or deleted on other instances are
+ * found within one refresh interval. Callers must check {@link #isReady()} first and fall back to
+ * the repository queries when it returns false.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GuestSearchIndex {
+
+  private static final double EXACT = 1.0;
+  private static final double PREFIX = 0.8;
+  private static final double SUBSTRING = 0.5;
+  private static final double FUZZY = 0.4;
+
+  private final UserRepository userRepository;
+
+  @Value("${guest-search.index.enabled:true}")
+  private boolean enabled;
+
+  /** The share of its trigrams a term must have in common with a token to match it fuzzily. */
+  @Value("${guest-search.index.min-similarity:0.5}")
+  private double minSimilarity;
+
+  @Value("${guest-search.index.load-page-size:1000}")
+  private int loadPageSize;
+
+  /**
+   * Counters describing the index since startup.
+   *
+   * @param guests The number of indexed guests.
+   * @param trigrams The number of distinct trigrams.
+   * @param searches The number of searches answered.
+   * @param averageSearchMicros The average time spent answering a search.
+   */
+  public record Stats(int guests, int trigrams, long searches, double averageSearchMicros) {}
+
+  /** An indexed guest: the returned DTO and the tokens it is found by. */
+  private record Entry(UserDto user, Set<String> tokens) {}
+
+  private record Hit(UserDto user, double score) {}
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Integer, Entry> entries = new HashMap<>();
+  private final Map<String, Set<Integer>> trigrams = new HashMap<>();
+  private final TreeMap<String, Set<Integer>> tokens = new TreeMap<>();
+  private final AtomicLong searches = new AtomicLong();
+  private final AtomicLong searchNanos = new AtomicLong();
+  private final Set<Integer> touched = new HashSet<>();
+  private boolean refreshing;
+  private volatile boolean ready;
+
+  /** Builds the index once the application context is ready. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /** Reloads every guest from the database, page by page. */
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      long start = System.currentTimeMillis();
+      entries.clear();
+      trigrams.clear();
+      tokens.clear();
+      loadAll().forEach(this::add);
+      ready = true;
+      log.info(
+          "Guest search index built: {} guests, {} trigrams in {} ms",
+          entries.size(),
+          trigrams.size(),
+          System.currentTimeMillis() - start);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Reconciles the index with the guests in the database. The guests are read without holding the
+   * lock; guests changed by this instance's listener in the meantime are left as it recorded them.
+   */
+  @Scheduled(
+      fixedDelayString = "${guest-search.index.refresh-ms:60000}",
+      initialDelayString = "${guest-search.index.refresh-ms:60000}")
+  public void refresh() {
+    if (!enabled || !ready) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      refreshing = true;
+      touched.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    List<UserDto> snapshot = null;
+    try {
+      snapshot = loadAll();
+    } finally {
+      lock.writeLock().lock();
+      try {
+        refreshing = false;
+        if (snapshot != null) {
+          int changes = reconcile(snapshot);
+          if (changes > 0) {
+            log.debug("Guest search index refreshed: {} changes", changes);
+          }
+        }
+        touched.clear();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * Tells whether the index can answer searches.
+   *
+   * @return true if the index is enabled and built.
+   */
+  public boolean isReady() {
+    return enabled && ready;
+  }
+
+  /**
+   * Adds a guest or replaces its indexed details.
+   *
+   * @param user The current details of the guest.
+   */
+  public void put(UserDto user) {
+    lock.writeLock().lock();
+    try {
+      touch(user.getId());
+      remove(user.getId());
+      add(user);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a guest.
+   *
+   * @param userId The id of the guest.
+   */
+  public void delete(int userId) {
+    lock.writeLock().lock();
+    try {
+      touch(userId);
+      remove(userId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the guests best matching a query.
+   *
+   * @param query Whitespace-separated terms, each matched against the name, email and phone.
+   * @param limit The maximum number of guests to return.
+   * @return The matching guests, best match first.
+   */
+  public List<UserDto> search(String query, int limit) {
+    long start = System.nanoTime();
+    List<String> terms = new ArrayList<>(tokenize(query));
+    if (terms.isEmpty() || limit < 1) {
+      return List.of();
+    }
+    // The longest term has the most selective trigrams, so its candidates are checked against the
+    // other terms
+    terms.sort(Comparator.comparingInt(String::length).reversed());
+    PriorityQueue<Hit> best =
+        new PriorityQueue<>(
+            Comparator.comparingDouble(Hit::score)
+                .thenComparing(hit -> -hit.user().getId()));
+    lock.readLock().lock();
+    try {
+      for (int userId : candidates(terms.get(0))) {
+        Entry entry = entries.get(userId);
+        double score = 0;
+        for (String term : terms) {
+          double termScore = score(term, entry.tokens());
+          if (termScore == 0) {
+            score = 0;
+            break;
+          }
+          score += termScore;
+        }
+        if (score > 0) {
+          best.add(new Hit(entry.user(), score));
+          if (best.size() > limit) {
+            best.poll();
+          }
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    List<UserDto> result = new ArrayList<>(best.size());
+    while (!best.isEmpty()) {
+      result.add(0, best.poll().user());
+    }
+    searches.incrementAndGet();
+    searchNanos.addAndGet(System.nanoTime() - start);
+    return result;
+  }
+
+  /**
+   * Returns the index counters.
+   *
+   * @return The size of the index and the searches answered since startup.
+   */
+  public Stats getStats() {
+    long count = searches.get();
+    lock.readLock().lock();
+    try {
+      return new Stats(
+          entries.size(),
+          trigrams.size(),
+          count,
+          count == 0 ? 0 : searchNanos.get() / 1000.0 / count);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private List<UserDto> loadAll() {
+    List<UserDto> users = new ArrayList<>();
+    int afterId = 0;
+    List<UserDto> page;
+    do {
+      page = userRepository.findPageAfter(afterId, PageRequest.of(0, loadPageSize));
+      users.addAll(page);
+      if (!page.isEmpty()) {
+        afterId = page.get(page.size() - 1).getId();
+      }
+    } while (page.size() == loadPageSize);
+    return users;
+  }
+
+  private int reconcile(List<UserDto> users) {
+    int changes = 0;
+    Set<Integer> userIds = new HashSet<>();
+    for (UserDto user : users) {
+      userIds.add(user.getId());
+      Entry entry = entries.get(user.getId());
+      if (!touched.contains(user.getId()) && (entry == null || !entry.user().equals(user))) {
+        remove(user.getId());
+        add(user);
+        changes++;
+      }
+    }
+    for (Integer userId : new ArrayList<>(entries.keySet())) {
+      if (!userIds.contains(userId) && !touched.contains(userId)) {
+        remove(userId);
+        changes++;
+      }
+    }
+    return changes;
+  }
+
+  private void touch(int userId) {
+    if (refreshing) {
+      touched.add(userId);
+    }
+  }
+
+  private Set<Integer> candidates(String term) {
+    Set<Integer> candidates = new HashSet<>();
+    if (term.length() < 3) {
+      for (Set<Integer> ids : tokens.subMap(term, term + Character.MAX_VALUE).values()) {
+        candidates.addAll(ids);
+      }
+      return candidates;
+    }
+    Set<String> termTrigrams = trigrams(term);
+    Map<Integer, Integer> shared = new HashMap<>();
+    for (String trigram : termTrigrams) {
+      for (int userId : trigrams.getOrDefault(trigram, Set.of())) {
+        shared.merge(userId, 1, Integer::sum);
+      }
+    }
+    int required =
+        fuzzy(term) ? (int) Math.ceil(termTrigrams.size() * minSimilarity) : termTrigrams.size();
+    shared.forEach(
+        (userId, count) -> {
+          if (count >= required) {
+            candidates.add(userId);
+          }
+        });
+    return candidates;
+  }
+
+  private double score(String term, Set<String> guestTokens) {
+    double best = 0;
+    for (String token : guestTokens) {
+      if (token.equals(term)) {
+        return EXACT;
+      }
+      if (token.startsWith(term)) {
+        best = Math.max(best, PREFIX);
+      } else if (token.contains(term)) {
+        best = Math.max(best, SUBSTRING);
+      } else if (best < SUBSTRING && fuzzy(term)) {
+        double similarity = similarity(term, token);
+        if (similarity >= minSimilarity) {
+          best = Math.max(best, FUZZY * similarity);
+        }
+      }
+    }
+    return best;
+  }
+
+  /** Terms without letters, such as phone numbers, only match exactly, by prefix or substring. */
+  private static boolean fuzzy(String term) {
+    return term.length() >= 3 && term.chars().anyMatch(Character::isLetter);
+  }
+
+  private static double similarity(String term, String token) {
+    Set<String> termTrigrams = trigrams(term);
+    Set<String> tokenTrigrams = trigrams(token);
+    if (termTrigrams.isEmpty()) {
+      return 0;
+    }
+    int shared = 0;
+    for (String trigram : termTrigrams) {
+      if (tokenTrigrams.contains(trigram)) {
+        shared++;
+      }
+    }
+    return (double) shared / termTrigrams.size();
+  }
+
+  private void add(UserDto user) {
+    Set<String> guestTokens = new LinkedHashSet<>();
+    guestTokens.addAll(tokenize(user.getFirstName()));
+    guestTokens.addAll(tokenize(user.getLastName()));
+    String email = normalize(user.getEmail());
+    if (!email.isEmpty()) {
+      guestTokens.add(email);
+      int at = email.indexOf('@');
+      if (at > 0) {
+        guestTokens.add(email.substring(0, at));
+      }
+    }
+    String phone = user.getPhone() == null ? "" : user.getPhone().replaceAll("\\D", "");
+    if (!phone.isEmpty()) {
+      guestTokens.add(phone);
+    }
+    entries.put(user.getId(), new Entry(user, guestTokens));
+    for (String token : guestTokens) {
+      tokens.computeIfAbsent(token, key -> new HashSet<>()).add(user.getId());
+      for (String trigram : trigrams(token)) {
+        trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(user.getId());
+      }
+    }
+  }
+
+  private void remove(int userId) {
+    Entry entry = entries.remove(userId);
+    if (entry == null) {
+      return;
+    }
+    for (String token : entry.tokens()) {
+      removePosting(tokens, token, userId);
+      for (String trigram : trigrams(token)) {
+        removePosting(trigrams, trigram, userId);
+      }
+    }
+  }
+
+  private static void removePosting(Map<String, Set<Integer>> postings, String key, int userId) {
+    Set<Integer> ids = postings.get(key);
+    if (ids != null) {
+      ids.remove(userId);
+      if (ids.isEmpty()) {
+        postings.remove(key);
+      }
+    }
+  }
+
+  private static Set<String> trigrams(String token) {
+    Set<String> result = new HashSet<>();
+    for (int i = 0; i + 3 <= token.length(); i++) {
+      result.add(token.substring(i, i + 3));
+    }
+    return result;
+  }
+
+  private static Set<String> tokenize(String text) {
+    Set<String> result = new LinkedHashSet<>();
+    for (String part : normalize(text).split("\\s+")) {
+      if (!part.isEmpty()) {
+        result.add(part);
+      }
+    }
+    return result;
+  }
+
+  private static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    return Normalizer.normalize(text, Normalizer.Form.NFD)
+        .replaceAll("\\p{M}", "")
+        .toLowerCase(Locale.ROOT)
+        .trim();
+  }
+}
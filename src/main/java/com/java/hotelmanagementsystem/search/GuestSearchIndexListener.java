@@ -0,0 +1,45 @@
+package com.java.hotelmanagementsystem.search;
+
+import com.java.hotelmanagementsystem.availability.AfterCommit;
+import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.models.dto.User.UserDto;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener registering registered, updated and deleted guests in the {@link
+ * GuestSearchIndex} once the surrounding transaction commits, so a rolled back change never shows
+ * up in the search. Bulk JPQL updates bypass it, which is fine as long as they leave the name,
+ * email and phone alone.
+ */
+public class GuestSearchIndexListener {
+
+  private final ObjectProvider<GuestSearchIndex> guestSearchIndex;
+
+  public GuestSearchIndexListener(ObjectProvider<GuestSearchIndex> guestSearchIndex) {
+    this.guestSearchIndex = guestSearchIndex;
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void onSave(User user) {
+    GuestSearchIndex index = guestSearchIndex.getIfAvailable();
+    if (index == null) {
+      return;
+    }
+    UserDto snapshot = new UserDto(user);
+    AfterCommit.run(() -> index.put(snapshot));
+  }
+
+  @PostRemove
+  public void onRemove(User user) {
+    GuestSearchIndex index = guestSearchIndex.getIfAvailable();
+    if (index == null) {
+      return;
+    }
+    int userId = user.getId();
+    AfterCommit.run(() -> index.delete(userId));
+  }
+}
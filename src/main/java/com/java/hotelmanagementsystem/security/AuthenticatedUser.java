@@ -0,0 +1,98 @@
+package com.java.hotelmanagementsystem.security;
+
+import com.java.hotelmanagementsystem.models.dto.auth.UserPrincipalRow;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable security principal holding only what authorization needs: the user id, email,
+ * authorities and whether the email is verified. The password hash is only present while
+ * authenticating a login and is never cached.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+  private final int id;
+  private final String email;
+  private final String password;
+  private final boolean verified;
+  private final List<GrantedAuthority> authorities;
+
+  private AuthenticatedUser(
+      int id, String email, String password, boolean verified, List<GrantedAuthority> authorities) {
+    this.id = id;
+    this.email = email;
+    this.password = password;
+    this.verified = verified;
+    this.authorities = authorities;
+  }
+
+  /**
+   * Builds a principal from the projection rows of a single user.
+   *
+   * @param rows The rows of the user, one per role.
+   * @param withPassword Whether to keep the password hash, for login only.
+   * @return The principal.
+   */
+  public static AuthenticatedUser of(List<UserPrincipalRow> rows, boolean withPassword) {
+    UserPrincipalRow first = rows.get(0);
+    List<GrantedAuthority> authorities =
+        rows.stream()
+            .map(UserPrincipalRow::getRole)
+            .filter(Objects::nonNull)
+            .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.name()))
+            .toList();
+    return new AuthenticatedUser(
+        first.getId(),
+        first.getEmail(),
+        withPassword ? first.getPassword() : null,
+        first.getVerified() != null,
+        authorities);
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public boolean isVerified() {
+    return verified;
+  }
+
+  @Override
+  public List<GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  @Override
+  public String getPassword() {
+    return password;
+  }
+
+  @Override
+  public String getUsername() {
+    return email;
+  }
+
+  @Override
+  public boolean isAccountNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isAccountNonLocked() {
+    return true;
+  }
+
+  @Override
+  public boolean isCredentialsNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+}
@@ -0,0 +1,198 @@
+package com.java.hotelmanagementsystem.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BCrypt password encoder running every hash and verification on a small dedicated pool of worker
+ * threads instead of the request threads.
+ *
+ * <p>The pool has a bounded queue. When it is full, or a hash waits longer than the configured
+ * timeout, the call fails right away with {@link PasswordHashingRejectedException}, so a burst of
+ * logins cannot tie up the request threads serving other traffic. Stored hashes whose cost differs
+ * from the configured cost are reported as needing an upgrade, which makes the authentication
+ * provider rehash them on the next successful login.
+ */
+@Slf4j
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+  @Value("${security.password-hashing.bcrypt-cost:10}")
+  private int bcryptCost;
+
+  /** The number of worker threads, 0 for one per available processor. */
+  @Value("${security.password-hashing.threads:0}")
+  private int threads;
+
+  @Value("${security.password-hashing.queue-capacity:64}")
+  private int queueCapacity;
+
+  @Value("${security.password-hashing.timeout-ms:5000}")
+  private long timeoutMs;
+
+  /**
+   * Counters describing the password hashing since startup.
+   *
+   * @param threads The number of worker threads.
+   * @param activeThreads The number of workers currently hashing.
+   * @param queueDepth The number of hashes waiting for a worker.
+   * @param queueCapacity The maximum number of waiting hashes.
+   * @param completed The number of hashes and verifications done.
+   * @param rejected The number of calls rejected because the queue was full.
+   * @param timedOut The number of calls that gave up waiting for their result.
+   * @param averageHashMillis The average time spent hashing, excluding the wait in the queue.
+   * @param maxHashMillis The longest time spent hashing.
+   * @param averageWaitMillis The average time spent in the queue.
+   */
+  public record Stats(
+      int threads,
+      int activeThreads,
+      int queueDepth,
+      int queueCapacity,
+      long completed,
+      long rejected,
+      long timedOut,
+      double averageHashMillis,
+      double maxHashMillis,
+      double averageWaitMillis) {}
+
+  private BCryptPasswordEncoder delegate;
+  private ThreadPoolExecutor executor;
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong timedOut = new AtomicLong();
+  private final AtomicLong hashNanos = new AtomicLong();
+  private final AtomicLong maxHashNanos = new AtomicLong();
+  private final AtomicLong waitNanos = new AtomicLong();
+
+  @PostConstruct
+  void init() {
+    delegate = new BCryptPasswordEncoder(bcryptCost);
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadCount = new AtomicInteger();
+    executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * Checks whether a stored hash was made with a cost other than the configured one.
+   *
+   * @param encodedPassword The stored hash.
+   * @return Whether the password should be rehashed with the configured cost.
+   */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null || encodedPassword.length() < 7) {
+      return false;
+    }
+    try {
+      return Integer.parseInt(encodedPassword.substring(4, 6)) != bcryptCost;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the password hashing counters.
+   *
+   * @return The state of the workers and the hashes done since startup.
+   */
+  public Stats getStats() {
+    long done = completed.get();
+    return new Stats(
+        executor.getMaximumPoolSize(),
+        executor.getActiveCount(),
+        executor.getQueue().size(),
+        queueCapacity,
+        done,
+        rejected.get(),
+        timedOut.get(),
+        done == 0 ? 0 : hashNanos.get() / 1e6 / done,
+        maxHashNanos.get() / 1e6,
+        done == 0 ? 0 : waitNanos.get() / 1e6 / done);
+  }
+
+  private <T> T run(Callable<T> hash) {
+    long submitted = System.nanoTime();
+    Future<T> result;
+    try {
+      result =
+          executor.submit(
+              () -> {
+                long start = System.nanoTime();
+                waitNanos.addAndGet(start - submitted);
+                try {
+                  return hash.call();
+                } finally {
+                  long elapsed = System.nanoTime() - start;
+                  hashNanos.addAndGet(elapsed);
+                  maxHashNanos.accumulateAndGet(elapsed, Math::max);
+                  completed.incrementAndGet();
+                }
+              });
+    } catch (RejectedExecutionException e) {
+      rejected.incrementAndGet();
+      log.warn("Password hashing queue is full, rejecting the request");
+      throw new PasswordHashingRejectedException("Too many concurrent sign-ins, try again later");
+    }
+    try {
+      return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      result.cancel(true);
+      timedOut.incrementAndGet();
+      throw new PasswordHashingRejectedException("Too many concurrent sign-ins, try again later");
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingRejectedException("Password hashing was interrupted");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
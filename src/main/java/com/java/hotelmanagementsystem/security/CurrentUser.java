@@ -0,0 +1,36 @@
+package com.java.hotelmanagementsystem.security;
+
+import com.java.hotelmanagementsystem.models.User;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request-scoped holder of the authenticated user.
+ *
+ * <p>The principal is set by the JWT filter from the one it already resolved, and the user entity
+ * is kept the first time a service loads it, so the rest of the request reads both from here
+ * instead of going back to the database.
+ */
+@Component
+@RequestScope
+public class CurrentUser {
+
+  private AuthenticatedUser principal;
+  private User user;
+
+  public AuthenticatedUser getPrincipal() {
+    return principal;
+  }
+
+  public void setPrincipal(AuthenticatedUser principal) {
+    this.principal = principal;
+  }
+
+  public User getUser() {
+    return user;
+  }
+
+  public void setUser(User user) {
+    this.user = user;
+  }
+}
@@ -0,0 +1,374 @@
+package com.java.hotelmanagementsystem.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.hotelmanagementsystem.availability.AfterCommit;
+import com.java.hotelmanagementsystem.models.EmailOutboxMessage;
+import com.java.hotelmanagementsystem.repositories.EmailOutboxRepository;
+import com.java.hotelmanagementsystem.security.Implementation.EmailSender;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for the emails sent on bookings and account changes.
+ *
+ * <p>Callers only insert a row, in their own transaction, so an email is queued exactly when the
+ * change it announces commits and the request never waits for the mail server. Once the
+ * transaction commits, this instance is woken up to deliver the message; a poll picks up whatever
+ * is left, e.g. messages of another instance that stopped. Due messages are claimed with a
+ * conditional update, so every instance can drain the outbox without sending a message twice, and
+ * a claim that is not settled in time, e.g. because its instance died, becomes due again. The
+ * claimed messages are split into batches that a small pool of workers sends over one SMTP
+ * connection each. Sent messages are deleted. Failed ones are retried with exponential backoff and
+ * kept as dead once they run out of attempts; a batch that fails as a whole, e.g. on a database
+ * error, counts as an attempt of each message it left unsettled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+  private static final TypeReference<Map<String, String>> SUBSTITUTIONS = new TypeReference<>() {};
+
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final EmailSender emailSender;
+  private final ObjectMapper objectMapper;
+
+  @Value("${email.outbox.batch-size:50}")
+  private int batchSize;
+
+  @Value("${email.outbox.threads:2}")
+  private int threads;
+
+  @Value("${email.outbox.max-attempts:8}")
+  private int maxAttempts;
+
+  @Value("${email.outbox.initial-backoff-ms:30000}")
+  private long initialBackoffMs;
+
+  @Value("${email.outbox.max-backoff-ms:3600000}")
+  private long maxBackoffMs;
+
+  /** How long a claimed message is reserved for this instance before others may send it. */
+  @Value("${email.outbox.claim-timeout-ms:300000}")
+  private long claimTimeoutMs;
+
+  /**
+   * Counters describing the outbox since startup.
+   *
+   * @param enqueued The number of messages queued by this instance.
+   * @param sent The number of messages delivered by this instance.
+   * @param failedAttempts The number of delivery attempts that failed and were rescheduled.
+   * @param deadLettered The number of messages given up after their last attempt.
+   * @param batches The number of batches sent.
+   * @param averageBatchMillis The average time spent sending a batch.
+   * @param pending The number of messages waiting for delivery in the database.
+   * @param dead The number of dead messages in the database.
+   */
+  public record Stats(
+      long enqueued,
+      long sent,
+      long failedAttempts,
+      long deadLettered,
+      long batches,
+      double averageBatchMillis,
+      long pending,
+      long dead) {}
+
+  private final String instance = UUID.randomUUID().toString();
+  private final AtomicLong claimSequence = new AtomicLong();
+  private final AtomicBoolean draining = new AtomicBoolean();
+  private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+  private final AtomicLong enqueued = new AtomicLong();
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong failedAttempts = new AtomicLong();
+  private final AtomicLong deadLettered = new AtomicLong();
+  private final AtomicLong batches = new AtomicLong();
+  private final AtomicLong batchNanos = new AtomicLong();
+  private ThreadPoolExecutor dispatcher;
+  private ThreadPoolExecutor senders;
+
+  @PostConstruct
+  void init() {
+    dispatcher = newPool(1, "email-outbox-dispatcher-");
+    senders = newPool(threads, "email-outbox-sender-");
+  }
+
+  @PreDestroy
+  void shutdown() {
+    dispatcher.shutdownNow();
+    senders.shutdownNow();
+  }
+
+  /**
+   * Queues an email in the current transaction. It is sent once the transaction commits and
+   * dropped with it on rollback.
+   *
+   * @param to The recipient's email address.
+   * @param templateId The ID of the email template to use.
+   * @param substitutions The substitutions to apply to the email template.
+   */
+  public void enqueue(String to, String templateId, Map<String, String> substitutions) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(substitutions);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Invalid email substitutions", e);
+    }
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    emailOutboxRepository.save(
+        EmailOutboxMessage.builder()
+            .recipient(to)
+            .templateId(templateId)
+            .substitutions(json)
+            .status(EmailOutboxMessage.Status.PENDING)
+            .attempts(0)
+            .nextAttemptAt(now)
+            .createdAt(now)
+            .build());
+    enqueued.incrementAndGet();
+    AfterCommit.run(this::wakeUp);
+  }
+
+  /** Picks up messages that are due but were not delivered right after their commit. */
+  @Scheduled(fixedDelayString = "${email.outbox.poll-ms:10000}")
+  public void poll() {
+    wakeUp();
+  }
+
+  /**
+   * Starts draining the outbox in the background, or makes the running drain go once more so that
+   * messages committed meanwhile are not left for the next poll.
+   */
+  public void wakeUp() {
+    wakeUpPending.set(true);
+    if (draining.compareAndSet(false, true)) {
+      dispatcher.execute(
+          () -> {
+            try {
+              while (wakeUpPending.getAndSet(false)) {
+                drain();
+              }
+            } catch (RuntimeException e) {
+              log.error("Email outbox drain failed: {}", e.getMessage(), e);
+            } finally {
+              draining.set(false);
+            }
+            if (wakeUpPending.get()) {
+              wakeUp();
+            }
+          });
+    }
+  }
+
+  /**
+   * Claims and sends the due messages until none are left.
+   *
+   * @return The number of messages sent.
+   */
+  public int drain() {
+    int chunkSize = batchSize * threads;
+    int total = 0;
+    while (true) {
+      long now = System.currentTimeMillis();
+      List<Integer> ids = emailOutboxRepository.findDueIds(
+          new Timestamp(now), PageRequest.of(0, chunkSize));
+      if (ids.isEmpty()) {
+        return total;
+      }
+      String claim = instance + "-" + claimSequence.incrementAndGet();
+      emailOutboxRepository.claim(
+          ids, claim, new Timestamp(now), new Timestamp(now + claimTimeoutMs));
+      List<EmailOutboxMessage> claimed = emailOutboxRepository.findByClaimedByOrderById(claim);
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int from = 0; from < claimed.size(); from += batchSize) {
+        List<EmailOutboxMessage> batch =
+            claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+        results.add(senders.submit(() -> sendBatch(batch)));
+      }
+      for (Future<Integer> result : results) {
+        total += await(result);
+      }
+      if (ids.size() < chunkSize) {
+        return total;
+      }
+    }
+  }
+
+  /**
+   * Returns the outbox counters.
+   *
+   * @return The deliveries since startup and the messages currently stored.
+   */
+  public Stats getStats() {
+    long count = batches.get();
+    return new Stats(
+        enqueued.get(),
+        sent.get(),
+        failedAttempts.get(),
+        deadLettered.get(),
+        count,
+        count == 0 ? 0 : batchNanos.get() / 1_000_000.0 / count,
+        emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING),
+        emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.DEAD));
+  }
+
+  private int sendBatch(List<EmailOutboxMessage> batch) {
+    List<EmailOutboxMessage> unsettled = new ArrayList<>(batch);
+    try {
+      return sendBatch(batch, unsettled);
+    } catch (RuntimeException e) {
+      // Counted as an attempt, so a message that keeps breaking its batch runs out of attempts
+      log.error("Email batch failed: {}", e.getMessage(), e);
+      for (EmailOutboxMessage message : unsettled) {
+        retryLater(message, e);
+      }
+      return 0;
+    }
+  }
+
+  private int sendBatch(List<EmailOutboxMessage> batch, List<EmailOutboxMessage> unsettled) {
+    long start = System.nanoTime();
+    Map<MimeMessage, EmailOutboxMessage> built = new IdentityHashMap<>();
+    for (EmailOutboxMessage message : batch) {
+      try {
+        Map<String, String> substitutions =
+            objectMapper.readValue(message.getSubstitutions(), SUBSTITUTIONS);
+        built.put(
+            emailSender.createEmail(message.getRecipient(), message.getTemplateId(), substitutions),
+            message);
+      } catch (JsonProcessingException | MessagingException | IllegalArgumentException e) {
+        // Retrying cannot fix a message that does not build
+        deadLetter(message, e);
+        unsettled.remove(message);
+      } catch (RuntimeException e) {
+        // e.g. a template that fails to render, which may be fixed by the next attempt
+        retryLater(message, e);
+        unsettled.remove(message);
+      }
+    }
+    if (built.isEmpty()) {
+      return 0;
+    }
+    Map<MimeMessage, EmailOutboxMessage> failed = new IdentityHashMap<>();
+    Exception error = null;
+    try {
+      emailSender.sendEmails(built.keySet().toArray(new MimeMessage[0]));
+    } catch (MailSendException e) {
+      error = e;
+      Map<Object, Exception> failedMessages = e.getFailedMessages();
+      built.forEach(
+          (mime, message) -> {
+            if (failedMessages.isEmpty() || failedMessages.containsKey(mime)) {
+              failed.put(mime, message);
+            }
+          });
+    } catch (MailException e) {
+      error = e;
+      failed.putAll(built);
+    }
+    List<Integer> delivered = new ArrayList<>();
+    for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : built.entrySet()) {
+      if (failed.containsKey(entry.getKey())) {
+        retryLater(entry.getValue(), error);
+        unsettled.remove(entry.getValue());
+      } else {
+        delivered.add(entry.getValue().getId());
+      }
+    }
+    if (!delivered.isEmpty()) {
+      emailOutboxRepository.deleteByIds(delivered);
+    }
+    sent.addAndGet(delivered.size());
+    batches.incrementAndGet();
+    batchNanos.addAndGet(System.nanoTime() - start);
+    return delivered.size();
+  }
+
+  private void retryLater(EmailOutboxMessage message, Exception error) {
+    if (message.getAttempts() + 1 >= maxAttempts) {
+      deadLetter(message, error);
+      return;
+    }
+    long backoff = initialBackoffMs << Math.min(message.getAttempts(), 30);
+    backoff = Math.min(backoff <= 0 ? maxBackoffMs : backoff, maxBackoffMs);
+    // Jitter spreads the retries of a batch that failed together
+    backoff += ThreadLocalRandom.current().nextLong(backoff / 4 + 1);
+    emailOutboxRepository.reschedule(
+        message.getId(),
+        new Timestamp(System.currentTimeMillis() + backoff),
+        describe(error));
+    failedAttempts.incrementAndGet();
+  }
+
+  private void deadLetter(EmailOutboxMessage message, Exception error) {
+    log.error(
+        "Giving up email {} to {} after {} attempts: {}",
+        message.getId(),
+        message.getRecipient(),
+        message.getAttempts() + 1,
+        describe(error));
+    emailOutboxRepository.markDead(message.getId(), describe(error));
+    deadLettered.incrementAndGet();
+  }
+
+  private static String describe(Exception error) {
+    String description = error == null ? "Unknown error" : String.valueOf(error.getMessage());
+    return description.length() > 1000 ? description.substring(0, 1000) : description;
+  }
+
+  private static int await(Future<Integer> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return 0;
+    } catch (ExecutionException e) {
+      // The claim runs out and the batch is retried
+      log.error("Email batch failed: {}", e.getCause().getMessage(), e.getCause());
+      return 0;
+    }
+  }
+
+  private static ThreadPoolExecutor newPool(int size, String namePrefix) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return new ThreadPoolExecutor(
+        size,
+        size,
+        0,
+        TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+}
@@ -0,0 +1,62 @@
+package com.java.hotelmanagementsystem.security;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The emails sent by the application, keyed by the template IDs stored with queued messages. Each
+ * template has an HTML and a plain text variant under {@code templates/email/<name>}, which are
+ * rendered by the {@link EmailTemplateRegistry}.
+ */
+public enum EmailTemplate {
+  EMAIL_CONFIRMATION("d-bbe64d97ea05443993e1e44c0869bfa5", "email-confirmation",
+      "Confirm your email address"),
+  RESET_PASSWORD("d-4878326906ad4afa8bbbceb371352962", "reset-password",
+      "Reset your password"),
+  ROOM_BOOKING("d-167983214e2d45d3a58f4cd5e4f07b1c", "room-booking",
+      "Your room booking"),
+  ENTERTAINMENT_BOOKING("d-6754d6e1186e424e86305dd37ec97c12", "entertainment-booking",
+      "Your entertainment booking");
+
+  private static final Map<String, EmailTemplate> BY_ID =
+      Arrays.stream(values()).collect(Collectors.toMap(EmailTemplate::getId, Function.identity()));
+
+  private final String id;
+  private final String name;
+  private final String subject;
+
+  EmailTemplate(String id, String name, String subject) {
+    this.id = id;
+    this.name = name;
+    this.subject = subject;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+
+  /**
+   * Looks up a template by its ID.
+   *
+   * @param id The template ID.
+   * @return The template.
+   * @throws IllegalArgumentException if no template has the ID.
+   */
+  public static EmailTemplate fromId(String id) {
+    EmailTemplate template = BY_ID.get(id);
+    if (template == null) {
+      throw new IllegalArgumentException("Unknown email template " + id);
+    }
+    return template;
+  }
+}
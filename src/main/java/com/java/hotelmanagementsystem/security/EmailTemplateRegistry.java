@@ -0,0 +1,97 @@
+package com.java.hotelmanagementsystem.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the {@link EmailTemplate}s into the HTML and plain text parts of an email.
+ *
+ * <p>The registry has its own Thymeleaf engine, separate from the one rendering web views, whose
+ * templates are parsed once and kept in its cache for good, with compiled SpEL expressions. Every
+ * template is rendered once at startup, which fills the cache and fails the startup on a missing or
+ * broken template instead of on the first email. Rendering a message afterwards only evaluates the
+ * parsed template against the substitutions, so sending a large batch costs little CPU.
+ */
+@Slf4j
+@Component
+public class EmailTemplateRegistry {
+
+  /** Whether parsed templates are cached; only turned off to measure the parsing cost. */
+  @Value("${email.templates.cache:true}")
+  private boolean cacheable;
+
+  /**
+   * A rendered email.
+   *
+   * @param subject The subject line.
+   * @param html The HTML part.
+   * @param text The plain text part.
+   */
+  public record RenderedEmail(String subject, String html, String text) {}
+
+  private SpringTemplateEngine engine;
+
+  @PostConstruct
+  void init() {
+    engine = new SpringTemplateEngine();
+    engine.setEnableSpringELCompiler(true);
+    engine.addTemplateResolver(resolver(TemplateMode.HTML, ".html", 1));
+    engine.addTemplateResolver(resolver(TemplateMode.TEXT, ".txt", 2));
+    for (EmailTemplate template : EmailTemplate.values()) {
+      render(template, Map.of());
+    }
+    log.info("Loaded {} email templates", EmailTemplate.values().length);
+  }
+
+  /**
+   * Renders a template by its ID.
+   *
+   * @param templateId The ID of the template.
+   * @param substitutions The values of the template variables.
+   * @return The rendered email.
+   * @throws IllegalArgumentException if no template has the ID.
+   */
+  public RenderedEmail render(String templateId, Map<String, String> substitutions) {
+    return render(EmailTemplate.fromId(templateId), substitutions);
+  }
+
+  /**
+   * Renders a template.
+   *
+   * @param template The template.
+   * @param substitutions The values of the template variables.
+   * @return The rendered email.
+   */
+  public RenderedEmail render(EmailTemplate template, Map<String, String> substitutions) {
+    Context context = new Context(Locale.ENGLISH, new HashMap<>(substitutions));
+    return new RenderedEmail(
+        template.getSubject(),
+        engine.process(template.getName() + ".html", context),
+        engine.process(template.getName() + ".txt", context));
+  }
+
+  private ClassLoaderTemplateResolver resolver(TemplateMode mode, String suffix, int order) {
+    ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+    resolver.setPrefix("templates/email/");
+    resolver.setResolvablePatterns(Set.of("*" + suffix));
+    resolver.setTemplateMode(mode);
+    resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    resolver.setCacheable(cacheable);
+    resolver.setCacheTTLMs(null);
+    resolver.setCheckExistence(true);
+    resolver.setOrder(order);
+    return resolver;
+  }
+}
@@ -0,0 +1,172 @@
+package com.java.hotelmanagementsystem.security;
+
+import com.java.hotelmanagementsystem.repositories.RefreshTokenRepository;
+import com.java.hotelmanagementsystem.repositories.TokenRepository;
+import com.java.hotelmanagementsystem.scheduler.LeaderLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes expired tokens from the token and refresh token tables, in chunks of set-based delete
+ * statements.
+ *
+ * <p>Each chunk selects the identifiers of the next expired tokens through the expiry index and
+ * deletes them with a single statement in its own short transaction. Only one instance compacts
+ * per interval, and a run stops early when its lease is taken over. Expired tokens are rejected on
+ * their signed expiry before their liveness is checked, so the token state cache needs no update;
+ * its next reload drops them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpiredTokenCompactor {
+
+  private final TokenRepository tokenRepository;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final LeaderLease leaderLease;
+
+  @Value("${security.token-compaction.interval-ms:3600000}")
+  private long intervalMs;
+
+  @Value("${security.token-compaction.chunk-size:1000}")
+  private int chunkSize;
+
+  /**
+   * Describes a single compaction run.
+   *
+   * @param rowsPurged The number of tokens deleted.
+   * @param chunks The number of delete statements issued.
+   * @param durationMillis The wall-clock time of the whole run.
+   * @param finishedAt The moment the run finished.
+   */
+  public record Run(int rowsPurged, int chunks, long durationMillis, Timestamp finishedAt) {}
+
+  /**
+   * Counters describing the compaction since startup.
+   *
+   * @param totalRowsPurged The number of tokens deleted since startup.
+   * @param tableSize The number of tokens currently stored.
+   * @param refreshTableSize The number of refresh tokens currently stored.
+   * @param lastRun The latest run on this instance, or null if none ran yet.
+   */
+  public record Stats(long totalRowsPurged, long tableSize, long refreshTableSize, Run lastRun) {}
+
+  private Run lastRun;
+  private long totalRowsPurged;
+
+  /** Periodically deletes the expired tokens. */
+  @Scheduled(
+      fixedDelayString = "${security.token-compaction.interval-ms:3600000}",
+      initialDelayString = "${security.token-compaction.interval-ms:3600000}")
+  public void compact() {
+    leaderLease.runIfLeader(
+        "compactExpiredTokens",
+        Duration.ofMillis(intervalMs * 9 / 10),
+        lease -> deleteExpiredTokens(() -> leaderLease.isHeld(lease)));
+  }
+
+  /**
+   * Deletes the tokens expired by now.
+   *
+   * @return The statistics of the run.
+   */
+  public Run deleteExpiredTokens() {
+    return deleteExpiredTokens(() -> true);
+  }
+
+  /**
+   * Returns the compaction counters together with the current size of the token table.
+   *
+   * @return The compaction statistics.
+   */
+  public Stats getStats() {
+    long tableSize = tokenRepository.count();
+    long refreshTableSize = refreshTokenRepository.count();
+    synchronized (this) {
+      return new Stats(totalRowsPurged, tableSize, refreshTableSize, lastRun);
+    }
+  }
+
+  private Run deleteExpiredTokens(BooleanSupplier stillLeader) {
+    RunRecorder recorder = new RunRecorder();
+    Timestamp now = new Timestamp(recorder.start);
+    boolean completed =
+        compact(
+            pageable -> tokenRepository.findExpiredIds(now, pageable),
+            tokenRepository::deleteByIds,
+            stillLeader,
+            recorder);
+    if (completed) {
+      compact(
+          pageable -> refreshTokenRepository.findExpiredIds(now, pageable),
+          refreshTokenRepository::deleteByIds,
+          stillLeader,
+          recorder);
+    }
+    Run run = recorder.finish();
+    synchronized (this) {
+      lastRun = run;
+      totalRowsPurged += run.rowsPurged();
+    }
+    log.info(
+        "Deleted {} expired tokens in {} chunks, {} ms",
+        run.rowsPurged(),
+        run.chunks(),
+        run.durationMillis());
+    return run;
+  }
+
+  /**
+   * Deletes the expired rows of one table chunk by chunk.
+   *
+   * @return Whether all expired rows were deleted, false if the lease was lost on the way.
+   */
+  private boolean compact(
+      Function<Pageable, List<Integer>> findExpiredIds,
+      ToIntFunction<Collection<Integer>> deleteByIds,
+      BooleanSupplier stillLeader,
+      RunRecorder recorder) {
+    List<Integer> chunk;
+    do {
+      chunk = findExpiredIds.apply(PageRequest.of(0, chunkSize));
+      if (chunk.isEmpty()) {
+        break;
+      }
+      recorder.chunkDeleted(deleteByIds.applyAsInt(chunk));
+      if (!stillLeader.getAsBoolean()) {
+        log.warn("Lease on the token compaction was taken over, stopping");
+        return false;
+      }
+    } while (chunk.size() == chunkSize);
+    return true;
+  }
+
+  private static class RunRecorder {
+    private final long start = System.currentTimeMillis();
+    private int rowsPurged;
+    private int chunks;
+
+    void chunkDeleted(int purged) {
+      rowsPurged += purged;
+      chunks++;
+    }
+
+    Run finish() {
+      long now = System.currentTimeMillis();
+      return new Run(rowsPurged, chunks, now - start, new Timestamp(now));
+    }
+  }
+}
@@ -1,9 +1,11 @@
 package com.java.hotelmanagementsystem.security.Implementation;
 
+import com.java.hotelmanagementsystem.security.EmailTemplateRegistry;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -14,17 +16,21 @@ import java.util.Map;
 /**
  * Service class for sending emails.
  *
- * <p>This class provides functionality to send emails using SendGrid's API. It encapsulates the
- * process of setting up email content and dispatching the email to the specified recipient.
+ * <p>This class builds multipart HTML and plain text messages from the templates of the {@link
+ * EmailTemplateRegistry} and hands them to the mail server. Messages are sent in batches, which go
+ * out over a single SMTP connection. Callers queue their emails in the {@link
+ * com.java.hotelmanagementsystem.security.EmailOutbox} instead of sending them directly.
  */
 @Service
 @Slf4j
 public class EmailSender {
 
   private final JavaMailSender javaMailSender;
+  private final EmailTemplateRegistry emailTemplateRegistry;
 
-  public EmailSender(JavaMailSender javaMailSender) {
+  public EmailSender(JavaMailSender javaMailSender, EmailTemplateRegistry emailTemplateRegistry) {
     this.javaMailSender = javaMailSender;
+    this.emailTemplateRegistry = emailTemplateRegistry;
   }
 
   @Value("${email.from}")
@@ -33,36 +39,40 @@ public class EmailSender {
 
 
   /**
-   * Sends an email to the specified recipient.
+   * Builds an email to the specified recipient.
    *
    * @param to            the recipient's email address
    * @param templateId    the ID of the email template to use
    * @param substitutions a map of substitutions to apply to the email template
+   * @return the message, ready to be sent
+   * @throws MessagingException if the message cannot be built, e.g. for an invalid address
+   * @throws IllegalArgumentException if no template has the ID
    */
-  public void sendEmail(String to, String templateId, Map<String, String> substitutions) {
+  public MimeMessage createEmail(String to, String templateId, Map<String, String> substitutions)
+      throws MessagingException {
+    EmailTemplateRegistry.RenderedEmail email =
+        emailTemplateRegistry.render(templateId, substitutions);
     MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-    MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+    MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "utf-8");
 
-    try {
-      // Set sender, recipient, subject, and email content with substitutions
-      helper.setFrom(emailFrom);
-      helper.setTo(to);
-      helper.setSubject("Your Email Subject");
-
-      StringBuilder emailContent = new StringBuilder();
-      emailContent.append("Hello,\n\n");
-      emailContent.append("This is the email content with substitutions:\n");
-      for (Map.Entry<String, String> entry : substitutions.entrySet()) {
-        emailContent.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
-      }
-      helper.setText(emailContent.toString());
-
-      // Send the email
-      javaMailSender.send(mimeMessage);
+    // Set sender, recipient, subject, and the plain text and HTML parts of the rendered template
+    helper.setFrom(emailFrom);
+    helper.setTo(to);
+    helper.setSubject(email.subject());
+    helper.setText(email.text(), email.html());
+    return mimeMessage;
+  }
 
-      log.info("Email sent successfully to {}", to);
-    } catch (MessagingException e) {
-      log.error("Error sending email: {}", e.getMessage(), e);
-    }
+  /**
+   * Sends a batch of emails over one connection to the mail server.
+   *
+   * @param messages the messages to send
+   * @throws org.springframework.mail.MailSendException listing the failed messages if only some of
+   *     them could be sent
+   * @throws MailException if the mail server cannot be reached, in which case none was sent
+   */
+  public void sendEmails(MimeMessage... messages) {
+    javaMailSender.send(messages);
+    log.info("Sent {} emails", messages.length);
   }
-}
\ No newline at end of file
+}
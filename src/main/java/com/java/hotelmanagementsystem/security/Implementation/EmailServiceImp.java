@@ -3,8 +3,11 @@ package com.java.hotelmanagementsystem.security.Implementation;
 import com.java.hotelmanagementsystem.models.TokenType;
 import com.java.hotelmanagementsystem.models.User;
 import com.java.hotelmanagementsystem.repositories.UserRepository;
+import com.java.hotelmanagementsystem.security.EmailOutbox;
 import com.java.hotelmanagementsystem.security.EmailService;
+import com.java.hotelmanagementsystem.security.EmailTemplate;
 import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.PrincipalCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -27,11 +30,12 @@ public class EmailServiceImp implements EmailService {
 
   private final JwtService jwtService;
   private final UserRepository userRepository;
+  private final PrincipalCache principalCache;
 
 //  @Value("${frontend.url}")
 //  private String frontEndDomain;
 
-  private final EmailSender emailSender;
+  private final EmailOutbox emailOutbox;
 
   /**
    * Sends a confirmation email to the user for account creation or other confirmation purposes.
@@ -48,9 +52,9 @@ public class EmailServiceImp implements EmailService {
     substitutions.put("firstName", user.getFirstName());
     substitutions.put("lastName", user.getLastName());
     substitutions.put("confirmEmailLink", confirmEmailLink);
-    emailSender.sendEmail(
+    emailOutbox.enqueue(
         user.getEmail(),
-        "d-bbe64d97ea05443993e1e44c0869bfa5",
+        EmailTemplate.EMAIL_CONFIRMATION.getId(),
         substitutions
     );
     jwtService.revokeAllUserTokens(user, TokenType.TokenTypeEnum.EMAIL_CONFIRMATION);
@@ -81,6 +85,7 @@ public class EmailServiceImp implements EmailService {
         jwtService.revokeAllUserTokens(user, TokenType.TokenTypeEnum.EMAIL_CONFIRMATION);
         user.setVerified(new Timestamp(System.currentTimeMillis()));
         userRepository.save(user);
+        principalCache.evict(userEmail);
       }
     } else {
       throw new UsernameNotFoundException("User not found");
@@ -100,9 +105,9 @@ public class EmailServiceImp implements EmailService {
     substitutions.put("firstName", user.getFirstName());
     substitutions.put("lastName", user.getLastName());
     substitutions.put("resetPasswordLink", resetPasswordLink);
-    emailSender.sendEmail(
+    emailOutbox.enqueue(
         user.getEmail(),
-        "d-4878326906ad4afa8bbbceb371352962",
+        EmailTemplate.RESET_PASSWORD.getId(),
         substitutions
     );
     jwtService.revokeAllUserTokens(user, TokenType.TokenTypeEnum.RESET_PASSWORD);
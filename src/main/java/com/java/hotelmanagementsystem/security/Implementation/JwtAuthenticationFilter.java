@@ -1,6 +1,10 @@
 package com.java.hotelmanagementsystem.security.Implementation;
 
+import com.java.hotelmanagementsystem.security.AuthenticatedUser;
+import com.java.hotelmanagementsystem.security.CurrentUser;
 import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.PrincipalCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +14,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,7 +26,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
-  private final UserDetailsService userDetailsService;
+  private final PrincipalCache principalCache;
+  private final CurrentUser currentUser;
 
   /**
    * Processes an HTTP request to authenticate the user based on JWT token.
@@ -42,7 +46,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
     final String authHeader = request.getHeader("Authorization");
     final String jwt;
-    final String userEmail;
+    final Claims claims;
 
     if (authHeader == null || !authHeader.startsWith("Bearer ")) {
       filterChain.doFilter(request, response);
@@ -51,23 +55,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     jwt = authHeader.substring(7);
 
-    try {
-      userEmail = jwtService.extractUsername(jwt);
-    } catch (Exception e) {
-      response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-      return;
+    // Verify the signature and read the claims once, the checks below reuse them
+    if (request.getAttribute(RateLimitFilter.CLAIMS_ATTRIBUTE) instanceof Claims verified) {
+      claims = verified;
+    } else {
+      try {
+        claims = jwtService.extractAllClaims(jwt);
+      } catch (Exception e) {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        return;
+      }
     }
 
+    final String userEmail = claims.getSubject();
     if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-      if (userDetails.isEnabled()
-          && jwtService.isTokenValid(jwt, userDetails)
-          && !jwtService.isTokenExpired(jwt)) {
+      UserDetails userDetails = principalCache.get(userEmail);
+      if (userDetails.isEnabled() && jwtService.isTokenValid(jwt, claims, userDetails)) {
         UsernamePasswordAuthenticationToken authToken =
             new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+          currentUser.setPrincipal(authenticatedUser);
+        }
       } else {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         return;
@@ -1,26 +1,34 @@
 package com.java.hotelmanagementsystem.security.Implementation;
 
+import com.java.hotelmanagementsystem.availability.AfterCommit;
 import com.java.hotelmanagementsystem.models.Token;
 import com.java.hotelmanagementsystem.models.TokenType;
 import com.java.hotelmanagementsystem.models.User;
 import com.java.hotelmanagementsystem.repositories.TokenRepository;
 import com.java.hotelmanagementsystem.repositories.TokenTypeRepository;
 import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.TokenDigest;
+import com.java.hotelmanagementsystem.security.TokenStateCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -29,7 +37,14 @@ import java.util.function.Function;
  * <p>This service provides methods for generating, validating, and managing JWTs for various
  * purposes such as user authentication, email confirmation, and password reset. It includes
  * functionalities for token generation, extraction of information from tokens, and checking token
- * validity and type.
+ * validity and type. The signing key and the token parser are built once at startup and shared by
+ * all requests. Stored tokens carry their expiry so that {@link
+ * com.java.hotelmanagementsystem.security.ExpiredTokenCompactor} can remove them, and revoking the
+ * tokens of a user is a single delete by user and type.
+ *
+ * <p>In the stateless mode, logins receive a short-lived access token, which is not stored and is
+ * validated by its signature and expiry alone, and a refresh token of a family kept by {@link
+ * SessionTokenServiceImp}. The access token names its family, so logging out can revoke it.
  */
 @Service
 @RequiredArgsConstructor
@@ -37,12 +52,32 @@ public class JwtServiceImp implements JwtService {
 
   private final TokenRepository tokenRepository;
   private final TokenTypeRepository tokenTypeRepository;
+  private final TokenStateCache tokenStateCache;
 
   @Value("${jwt.secret}")
   private String SECRET_KEY;
   private static final long EXPIRATION_TIME_LOGIN = 86400000 * 10; // ms * d
   private static final long EXPIRATION_TIME_CONFIRM = 86400000 * 3; // ms * d
   private static final long EXPIRATION_TIME_PASSWORD_RESET = 86400000 / 2; // ms * d
+  private static final String TOKEN_TYPE_CLAIM = "token_type";
+  private static final String FAMILY_CLAIM = "family";
+  private static final String ACCESS_TOKEN_TYPE = "access";
+  private static final String REFRESH_TOKEN_TYPE = "refresh";
+
+  @Value("${security.stateless-auth.access-token-ttl-seconds:900}")
+  private long accessTokenTtlSeconds;
+
+  @Value("${security.stateless-auth.refresh-token-ttl-days:10}")
+  private long refreshTokenTtlDays;
+
+  private SecretKey signInKey;
+  private JwtParser parser;
+
+  @PostConstruct
+  void init() {
+    signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    parser = Jwts.parser().verifyWith(signInKey).build();
+  }
 
   @Override
   public String extractUsername(String token) {
@@ -91,27 +126,72 @@ public class JwtServiceImp implements JwtService {
         .compact();
   }
 
+  @Override
+  public String generateAccessToken(UserDetails userDetails, String familyId) {
+    return Jwts.builder()
+        .subject(userDetails.getUsername())
+        .issuedAt(new Date(System.currentTimeMillis()))
+        .expiration(new Date(System.currentTimeMillis() + accessTokenTtlSeconds * 1000))
+        .claim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE)
+        .claim(FAMILY_CLAIM, familyId)
+        .signWith(getSignInKey())
+        .compact();
+  }
+
+  @Override
+  public String generateRefreshToken(UserDetails userDetails) {
+    return Jwts.builder()
+        .id(UUID.randomUUID().toString())
+        .subject(userDetails.getUsername())
+        .issuedAt(new Date(System.currentTimeMillis()))
+        .expiration(
+            new Date(System.currentTimeMillis() + Duration.ofDays(refreshTokenTtlDays).toMillis()))
+        .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+        .signWith(getSignInKey())
+        .compact();
+  }
+
+  @Override
+  public boolean isRefreshToken(Claims claims) {
+    return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+  }
+
+  @Override
+  public String extractFamilyId(Claims claims) {
+    return claims.get(FAMILY_CLAIM, String.class);
+  }
+
   @Override
   public void revokeAllUserTokens(User user, TokenType.TokenTypeEnum tokenType) {
-    List<Token> validUserTokens = tokenRepository.findAllValidTokensByUser(user.getId());
-    if (validUserTokens.isEmpty()) {
+    List<String> tokenHashes =
+        tokenRepository.findTokenHashesByUserAndType(user.getId(), tokenType);
+    if (tokenHashes.isEmpty()) {
       return;
     }
-    validUserTokens.forEach(
-        token -> {
-          if (token.getTokenType().getType().equals(tokenType)) {
-            tokenRepository.delete(token);
-          }
-        });
-//     tokenRepository.saveAll(validUserTokens);
+    tokenRepository.deleteByUserAndType(user.getId(), tokenType);
+    AfterCommit.run(() -> tokenHashes.forEach(tokenStateCache::tokenRevoked));
   }
 
   @Override
   public boolean isTokenValid(String jwt, UserDetails userDetails) {
-    final String username = extractUsername(jwt);
-    boolean tokenDatabaseCheck = tokenRepository.findByToken(jwt).isPresent();
-    boolean isValid = (username.equals(userDetails.getUsername()));
-    return tokenDatabaseCheck && isValid;
+    return isTokenValid(jwt, extractAllClaims(jwt), userDetails);
+  }
+
+  @Override
+  public boolean isTokenValid(String jwt, Claims claims, UserDetails userDetails) {
+    if (!userDetails.getUsername().equals(claims.getSubject())
+        || claims.getExpiration().before(new Date())) {
+      return false;
+    }
+    String tokenType = claims.get(TOKEN_TYPE_CLAIM, String.class);
+    if (REFRESH_TOKEN_TYPE.equals(tokenType)) {
+      return false;
+    }
+    if (ACCESS_TOKEN_TYPE.equals(tokenType)) {
+      // Short-lived stateless access token, never stored
+      return true;
+    }
+    return tokenStateCache.isLive(TokenDigest.of(jwt));
   }
 
   @Override
@@ -120,8 +200,16 @@ public class JwtServiceImp implements JwtService {
         tokenTypeRepository
             .findByType(tokenType)
             .orElseThrow(() -> new RuntimeException("Token type not found"));
-    Token token = Token.builder().user(user).token(jwtToken).tokenType(type).build();
+    String tokenHash = TokenDigest.of(jwtToken);
+    Token token =
+        Token.builder()
+            .user(user)
+            .tokenHash(tokenHash)
+            .tokenType(type)
+            .expiresAt(new Timestamp(extractExpiration(jwtToken).getTime()))
+            .build();
     tokenRepository.save(token);
+    AfterCommit.run(() -> tokenStateCache.tokenSaved(tokenHash));
   }
 
   @Override
@@ -145,16 +233,12 @@ public class JwtServiceImp implements JwtService {
     return extractClaim(token, Claims::getExpiration);
   }
 
-  private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-        .setSigningKey(getSignInKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+  @Override
+  public Claims extractAllClaims(String token) {
+    return parser.parseSignedClaims(token).getPayload();
   }
 
-  private Key getSignInKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-    return Keys.hmacShaKeyFor(keyBytes);
+  private SecretKey getSignInKey() {
+    return signInKey;
   }
 }
@@ -1,6 +1,13 @@
 package com.java.hotelmanagementsystem.security.Implementation;
 
 import com.java.hotelmanagementsystem.repositories.TokenRepository;
+import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.SessionTokenService;
+import com.java.hotelmanagementsystem.security.TokenDigest;
+import com.java.hotelmanagementsystem.security.TokenStateCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -8,12 +15,19 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.stereotype.Service;
 
-/** Service to handle logout functionality. */
+/**
+ * Service to handle logout functionality. Stateless access tokens cannot be revoked, so logging
+ * out with one revokes the refresh token family of its session instead, and the access token
+ * lapses within its short lifetime.
+ */
 @Service
 @RequiredArgsConstructor
 public class LogoutService implements LogoutHandler {
 
   private final TokenRepository tokenRepository;
+  private final TokenStateCache tokenStateCache;
+  private final JwtService jwtService;
+  private final SessionTokenService sessionTokenService;
 
   /**
    * Processes a logout request by invalidating the JWT token.
@@ -33,6 +47,26 @@ public class LogoutService implements LogoutHandler {
     }
 
     jwt = authHeader.substring(7);
-    tokenRepository.findByToken(jwt).ifPresent(tokenRepository::delete);
+    String familyId = extractFamilyId(jwt);
+    if (familyId != null) {
+      sessionTokenService.revokeFamily(familyId);
+      return;
+    }
+    String tokenHash = TokenDigest.of(jwt);
+    tokenRepository.findByTokenHash(tokenHash).ifPresent(tokenRepository::delete);
+    tokenStateCache.tokenRevoked(tokenHash);
+  }
+
+  private String extractFamilyId(String jwt) {
+    Claims claims;
+    try {
+      claims = jwtService.extractAllClaims(jwt);
+    } catch (ExpiredJwtException e) {
+      // The session may outlive its access token
+      claims = e.getClaims();
+    } catch (JwtException e) {
+      return null;
+    }
+    return jwtService.extractFamilyId(claims);
   }
 }
@@ -0,0 +1,196 @@
+package com.java.hotelmanagementsystem.security.Implementation;
+
+import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.RateLimiter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filter throttling requests per client with token buckets, ahead of JWT authentication.
+ *
+ * <p>The limits are configured per route as a comma separated list of {@code [METHOD ]pattern=
+ * burst/perMinute} rules, e.g. {@code GET /api/v1/bookings/**=120/600}, and the first matching
+ * rule applies. A request takes a token from the bucket of its client address and, when it carries
+ * a valid bearer token, from the bucket of its user as well. A request finding either bucket empty
+ * takes from neither and is answered with 429 and a Retry-After header. The claims of the bearer
+ * token are handed on to {@link JwtAuthenticationFilter}, so the token is still verified only once.
+ *
+ * <p>The client address is the remote address of the request, which behind the load balancer is
+ * only the client's once the forwarded headers of trusted proxies are applied, see {@code
+ * server.forward-headers-strategy} in {@code application.properties}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  /** The request attribute holding the verified claims of the bearer token. */
+  public static final String CLAIMS_ATTRIBUTE = RateLimitFilter.class.getName() + ".claims";
+
+  private final RateLimiter rateLimiter;
+  private final JwtService jwtService;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+  @Value("${security.rate-limit.enabled:true}")
+  private boolean enabled;
+
+  @Value("${security.rate-limit.rules:/api/v1/auth/**=20/60,GET /api/v1/bookings/**=120/600}")
+  private String ruleSpec;
+
+  private List<Rule> rules;
+
+  /**
+   * A route limit together with its counters.
+   *
+   * @param method The HTTP method the rule applies to, or null for all methods.
+   * @param pattern The Ant-style path pattern the rule applies to.
+   * @param burst The number of requests a client may send at once.
+   * @param perMinute The sustained number of requests per minute.
+   * @param allowed The number of requests let through.
+   * @param rejected The number of requests rejected.
+   */
+  public record Rule(
+      String method,
+      String pattern,
+      int burst,
+      int perMinute,
+      AtomicLong allowed,
+      AtomicLong rejected) {}
+
+  @PostConstruct
+  void init() {
+    rules = parseRules(ruleSpec);
+    log.info("Rate limiting {} with rules {}", enabled ? "enabled" : "disabled", ruleSpec);
+  }
+
+  /**
+   * Parses the configured route limits.
+   *
+   * @param spec The rules, as a comma separated list of {@code [METHOD ]pattern=burst/perMinute}.
+   * @return The parsed rules in their configured order.
+   * @throws IllegalArgumentException If a rule is malformed.
+   */
+  private static List<Rule> parseRules(String spec) {
+    List<Rule> parsed = new ArrayList<>();
+    for (String entry : spec.split(",")) {
+      if (entry.isBlank()) {
+        continue;
+      }
+      String[] routeAndLimit = entry.trim().split("=");
+      String[] limit = routeAndLimit.length == 2 ? routeAndLimit[1].split("/") : new String[0];
+      if (limit.length != 2) {
+        throw new IllegalArgumentException("Malformed rate limit rule: " + entry);
+      }
+      String[] route = routeAndLimit[0].trim().split("\\s+");
+      parsed.add(
+          new Rule(
+              route.length == 2 ? route[0].toUpperCase() : null,
+              route[route.length - 1],
+              Integer.parseInt(limit[0].trim()),
+              Integer.parseInt(limit[1].trim()),
+              new AtomicLong(),
+              new AtomicLong()));
+    }
+    return parsed;
+  }
+
+  /**
+   * Returns the configured rules with their counters.
+   *
+   * @return The rules in their configured order.
+   */
+  public List<Rule> getRules() {
+    return rules;
+  }
+
+  /**
+   * Returns the number of clients currently tracked.
+   *
+   * @return The number of token buckets kept in memory.
+   */
+  public int getTrackedKeys() {
+    return rateLimiter.getTrackedKeys();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NotNull HttpServletRequest request,
+      @NotNull HttpServletResponse response,
+      @NotNull FilterChain filterChain)
+      throws ServletException, IOException {
+    int ruleIndex = findRule(request);
+    if (ruleIndex < 0) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    Rule rule = rules.get(ruleIndex);
+    String user = extractUser(request);
+    long waitNanos =
+        rateLimiter.tryAcquire(
+            "ip:" + ruleIndex + ":" + request.getRemoteAddr(),
+            user == null ? null : "user:" + ruleIndex + ":" + user,
+            rule.burst(),
+            rule.perMinute());
+    if (waitNanos > 0) {
+      rule.rejected().incrementAndGet();
+      long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+      response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      return;
+    }
+    rule.allowed().incrementAndGet();
+    filterChain.doFilter(request, response);
+  }
+
+  private int findRule(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    for (int i = 0; i < rules.size(); i++) {
+      Rule rule = rules.get(i);
+      if ((rule.method() == null || rule.method().equals(request.getMethod()))
+          && pathMatcher.match(rule.pattern(), path)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private String extractUser(HttpServletRequest request) {
+    String authHeader = request.getHeader("Authorization");
+    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+      return null;
+    }
+    try {
+      Claims claims = jwtService.extractAllClaims(authHeader.substring(7));
+      request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+      return claims.getSubject();
+    } catch (JwtException | IllegalArgumentException e) {
+      // Rejected by the JWT authentication filter
+      return null;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.java.hotelmanagementsystem.security.Implementation;
+
+import com.java.hotelmanagementsystem.models.RefreshToken;
+import com.java.hotelmanagementsystem.models.TokenType;
+import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.repositories.RefreshTokenRepository;
+import com.java.hotelmanagementsystem.security.AuthenticatedUser;
+import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.PrincipalCache;
+import com.java.hotelmanagementsystem.security.SessionTokenService;
+import com.java.hotelmanagementsystem.security.TokenDigest;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Implementation for issuing the tokens of a login session.
+ *
+ * <p>In the stateless mode, every login starts a new family of refresh tokens and revokes the
+ * previous families of the user, as logins revoke earlier access tokens in the default mode. A
+ * refresh marks the presented token as rotated with a conditional update, so of two concurrent
+ * refreshes with the same token only one succeeds. Presenting a rotated token again means it was
+ * copied, so the whole family is revoked and the client has to log in again. The methods are
+ * deliberately not transactional, so the revocation is kept when the refresh fails.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionTokenServiceImp implements SessionTokenService {
+
+  private final JwtService jwtService;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final PrincipalCache principalCache;
+
+  @Value("${security.stateless-auth.enabled:false}")
+  private boolean statelessEnabled;
+
+  /**
+   * Issues the tokens of a new session, revoking the earlier sessions of the user.
+   *
+   * @param user The user logging in.
+   * @return The tokens of the session.
+   */
+  @Override
+  public Tokens startSession(User user) {
+    if (!statelessEnabled) {
+      String jwtToken = jwtService.generateToken(user);
+      jwtService.revokeAllUserTokens(user, TokenType.TokenTypeEnum.ACCESS);
+      jwtService.saveUserToken(user, jwtToken, TokenType.TokenTypeEnum.ACCESS);
+      return new Tokens(jwtToken, null);
+    }
+    refreshTokenRepository.deleteByUserId(user.getId());
+    return issue(user, user.getId(), UUID.randomUUID().toString());
+  }
+
+  /**
+   * Exchanges a refresh token for a new access token and the next refresh token of its family.
+   *
+   * @param refreshToken The current refresh token of the session.
+   * @return The new tokens of the session.
+   * @throws IllegalArgumentException If the token is invalid, expired, revoked or already used.
+   */
+  @Override
+  public Tokens refresh(String refreshToken) {
+    if (!statelessEnabled || refreshToken == null || refreshToken.isEmpty()) {
+      throw new IllegalArgumentException("Refresh token is invalid");
+    }
+    Claims claims;
+    try {
+      claims = jwtService.extractAllClaims(refreshToken);
+    } catch (JwtException e) {
+      throw new IllegalArgumentException("Refresh token is invalid");
+    }
+    if (!jwtService.isRefreshToken(claims)) {
+      throw new IllegalArgumentException("Refresh token is invalid");
+    }
+    RefreshToken stored =
+        refreshTokenRepository
+            .findByTokenHash(TokenDigest.of(refreshToken))
+            .orElseThrow(() -> new IllegalArgumentException("Refresh token is invalid"));
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    if (refreshTokenRepository.markRotated(stored.getId(), now) == 0) {
+      refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+      log.warn(
+          "Refresh token of user {} was reused, revoked its family {}",
+          stored.getUserId(),
+          stored.getFamilyId());
+      throw new IllegalArgumentException("Refresh token is invalid");
+    }
+    AuthenticatedUser principal;
+    try {
+      principal = principalCache.get(claims.getSubject());
+    } catch (UsernameNotFoundException e) {
+      principal = null;
+    }
+    if (principal == null || principal.getId() != stored.getUserId() || !principal.isEnabled()) {
+      refreshTokenRepository.deleteByFamilyId(stored.getFamilyId());
+      throw new IllegalArgumentException("Refresh token is invalid");
+    }
+    return issue(principal, stored.getUserId(), stored.getFamilyId());
+  }
+
+  /**
+   * Revokes all refresh tokens of a session.
+   *
+   * @param familyId The family of the session.
+   */
+  @Override
+  public void revokeFamily(String familyId) {
+    refreshTokenRepository.deleteByFamilyId(familyId);
+  }
+
+  private Tokens issue(UserDetails userDetails, int userId, String familyId) {
+    String refreshToken = jwtService.generateRefreshToken(userDetails);
+    refreshTokenRepository.save(
+        RefreshToken.builder()
+            .tokenHash(TokenDigest.of(refreshToken))
+            .userId(userId)
+            .familyId(familyId)
+            .expiresAt(
+                new Timestamp(jwtService.extractAllClaims(refreshToken).getExpiration().getTime()))
+            .build());
+    return new Tokens(jwtService.generateAccessToken(userDetails, familyId), refreshToken);
+  }
+}
@@ -3,6 +3,7 @@ package com.java.hotelmanagementsystem.security;
 
 import com.java.hotelmanagementsystem.models.TokenType;
 import com.java.hotelmanagementsystem.models.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 
 /**
@@ -16,14 +17,26 @@ import org.springframework.security.core.userdetails.UserDetails;
 public interface JwtService {
   String extractUsername(String token);
 
+  Claims extractAllClaims(String token);
+
   String generateToken(UserDetails userDetails);
 
   String generateConfirmationToken(UserDetails userDetails);
 
+  String generateAccessToken(UserDetails userDetails, String familyId);
+
+  String generateRefreshToken(UserDetails userDetails);
+
+  boolean isRefreshToken(Claims claims);
+
+  String extractFamilyId(Claims claims);
+
   void revokeAllUserTokens(User user, TokenType.TokenTypeEnum tokenType);
 
   boolean isTokenValid(String jwt, UserDetails userDetails);
 
+  boolean isTokenValid(String jwt, Claims claims, UserDetails userDetails);
+
   boolean isEmailToken(String jwt);
 
   boolean isPasswordToken(String jwt);
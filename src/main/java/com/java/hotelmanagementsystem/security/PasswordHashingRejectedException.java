@@ -0,0 +1,12 @@
+package com.java.hotelmanagementsystem.security;
+
+/**
+ * Thrown when a password cannot be hashed or verified because the password hashing workers are
+ * saturated. The request should be retried later.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+  public PasswordHashingRejectedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,112 @@
+package com.java.hotelmanagementsystem.security;
+
+import com.java.hotelmanagementsystem.models.dto.auth.UserPrincipalRow;
+import com.java.hotelmanagementsystem.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of the security principals of authenticated requests, keyed by email.
+ *
+ * <p>Principals are loaded through a projection of the user, its roles and verification, so
+ * authenticating a request never touches the reservation tables. Changes to a user's email,
+ * password, roles or verification evict its entry right away and once more after the changing
+ * transaction commits, so a request racing the change cannot cache the old state for longer than
+ * the transaction. Entries also expire after their time to live, which bounds how long changes
+ * made on other instances stay unseen.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+  private final UserRepository userRepository;
+
+  @Value("${security.principal-cache.max-entries:10000}")
+  private int maxEntries;
+
+  @Value("${security.principal-cache.ttl-seconds:60}")
+  private long ttlSeconds;
+
+  private record Entry(AuthenticatedUser principal, long expiresAt) {}
+
+  private final Map<String, Entry> entries =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+          return size() > maxEntries;
+        }
+      };
+  private long version;
+
+  /**
+   * Returns the principal of a user, loading and caching it on a miss.
+   *
+   * @param email The email of the user.
+   * @return The principal, without password.
+   * @throws UsernameNotFoundException if no user has the email.
+   */
+  public AuthenticatedUser get(String email) {
+    long loadVersion;
+    synchronized (this) {
+      Entry entry = entries.get(email);
+      if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+        return entry.principal();
+      }
+      loadVersion = version;
+    }
+    AuthenticatedUser principal = load(email, false);
+    synchronized (this) {
+      if (version == loadVersion) {
+        entries.put(email, new Entry(principal, System.currentTimeMillis() + ttlSeconds * 1000));
+      }
+    }
+    return principal;
+  }
+
+  /**
+   * Loads the principal of a user from the database, bypassing the cache.
+   *
+   * @param email The email of the user.
+   * @param withPassword Whether to include the password hash, for login only.
+   * @return The principal.
+   * @throws UsernameNotFoundException if no user has the email.
+   */
+  public AuthenticatedUser load(String email, boolean withPassword) {
+    List<UserPrincipalRow> rows = userRepository.findPrincipalRowsByEmail(email);
+    if (rows.isEmpty()) {
+      throw new UsernameNotFoundException("User not found");
+    }
+    return AuthenticatedUser.of(rows, withPassword);
+  }
+
+  /**
+   * Drops the principal of a user after a change to its email, password, roles or verification.
+   *
+   * @param email The email the user was cached under.
+   */
+  public void evict(String email) {
+    remove(email);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              remove(email);
+            }
+          });
+    }
+  }
+
+  private synchronized void remove(String email) {
+    version++;
+    entries.remove(email);
+  }
+}
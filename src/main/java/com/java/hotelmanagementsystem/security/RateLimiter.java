@@ -0,0 +1,135 @@
+package com.java.hotelmanagementsystem.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets keyed by client, refilled continuously and kept in memory.
+ *
+ * <p>The buckets are spread over a fixed number of stripes, each guarded by its own lock, so
+ * concurrent requests of different clients rarely contend. A bucket is a pair of primitives
+ * updated in place, so a check allocates nothing but its key. Each stripe forgets its least
+ * recently used buckets beyond its share of the maximum number of keys; a forgotten bucket comes
+ * back full, which only ever favours the client.
+ */
+@Component
+public class RateLimiter {
+
+  private static final int STRIPES = 64;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  public RateLimiter(@Value("${security.rate-limit.max-keys:100000}") int maxKeys) {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe(Math.max(1, maxKeys / STRIPES));
+    }
+  }
+
+  /**
+   * Takes a token from the bucket of a key, creating a full bucket on first use.
+   *
+   * @param key The client the bucket belongs to.
+   * @param capacity The size of the bucket, i.e. the allowed burst.
+   * @param tokensPerMinute The rate at which the bucket refills.
+   * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available.
+   */
+  public long tryAcquire(String key, int capacity, double tokensPerMinute) {
+    return tryAcquire(key, null, capacity, tokensPerMinute);
+  }
+
+  /**
+   * Takes a token from the buckets of two keys if both have one, and from neither otherwise, so a
+   * request rejected by one bucket does not spend a token of the other.
+   *
+   * <p>The stripes of both keys are locked in index order, so concurrent checks cannot deadlock.
+   *
+   * @param key The client the first bucket belongs to.
+   * @param otherKey The client the second bucket belongs to, or null to check only the first.
+   * @param capacity The size of the buckets, i.e. the allowed burst.
+   * @param tokensPerMinute The rate at which the buckets refill.
+   * @return 0 if the tokens were taken, otherwise the nanoseconds until both buckets have a token.
+   */
+  public long tryAcquire(String key, String otherKey, int capacity, double tokensPerMinute) {
+    double tokensPerNano = tokensPerMinute / 60e9;
+    long now = System.nanoTime();
+    int first = stripeIndex(key);
+    int second = otherKey == null ? first : stripeIndex(otherKey);
+    synchronized (stripes[Math.min(first, second)]) {
+      synchronized (stripes[Math.max(first, second)]) {
+        Bucket bucket = refill(stripes[first], key, capacity, tokensPerNano, now);
+        Bucket other =
+            otherKey == null
+                ? null
+                : refill(stripes[second], otherKey, capacity, tokensPerNano, now);
+        double tokens = other == null ? bucket.tokens : Math.min(bucket.tokens, other.tokens);
+        if (tokens >= 1) {
+          bucket.tokens -= 1;
+          if (other != null) {
+            other.tokens -= 1;
+          }
+          return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+      }
+    }
+  }
+
+  private static int stripeIndex(String key) {
+    return (key.hashCode() & Integer.MAX_VALUE) % STRIPES;
+  }
+
+  private static Bucket refill(
+      Stripe stripe, String key, int capacity, double tokensPerNano, long now) {
+    Bucket bucket = stripe.get(key);
+    if (bucket == null) {
+      bucket = new Bucket(capacity, now);
+      stripe.put(key, bucket);
+    } else {
+      bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+      bucket.updatedAt = now;
+    }
+    return bucket;
+  }
+
+  /**
+   * Returns the number of buckets currently kept.
+   *
+   * @return The number of tracked keys.
+   */
+  public int getTrackedKeys() {
+    int keys = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        keys += stripe.size();
+      }
+    }
+    return keys;
+  }
+
+  private static final class Bucket {
+    private double tokens;
+    private long updatedAt;
+
+    private Bucket(double tokens, long updatedAt) {
+      this.tokens = tokens;
+      this.updatedAt = updatedAt;
+    }
+  }
+
+  private static final class Stripe extends LinkedHashMap<String, Bucket> {
+    private final int maxEntries;
+
+    private Stripe(int maxEntries) {
+      super(16, 0.75f, true);
+      this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+      return size() > maxEntries;
+    }
+  }
+}
@@ -9,38 +9,52 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * Security configuration class for the application.
  *
  * <p>This class configures beans related to application security, including user details service,
  * authentication provider, password encoder, and SendGrid for email services. It sets up the
- * authentication manager and enables global method security.
+ * authentication manager and enables global method security. Passwords are hashed and verified by
+ * {@link BoundedPasswordEncoder}.
  */
 @Configuration
 @RequiredArgsConstructor
 @EnableGlobalMethodSecurity(prePostEnabled = true, securedEnabled = true, jsr250Enabled = true)
 public class SecurityConfig {
-  private final UserRepository repository;
+  private final PrincipalCache principalCache;
+  private final UserRepository userRepository;
+  private final BoundedPasswordEncoder passwordEncoder;
 
 //  @Value("${sendgrid.api}")
 //  private String sendGridApiKey;
 
   /**
-   * Configures the UserDetailsService bean to load user details based on the provided username.
+   * Configures the UserDetailsService bean to load user details based on the provided username. It
+   * is used when logging in, so it reads the password hash and bypasses the principal cache.
    *
    * @return An instance of UserDetailsService.
    */
   @Bean
   public UserDetailsService userDetailsService() {
-    return username ->
-        repository
-            .findByEmail(username)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    return username -> principalCache.load(username, true);
+  }
+
+  /**
+   * Configures the UserDetailsPasswordService bean storing a password rehashed on login, after the
+   * configured BCrypt cost changed.
+   *
+   * @return An instance of UserDetailsPasswordService.
+   */
+  @Bean
+  public UserDetailsPasswordService userDetailsPasswordService() {
+    return (user, newPassword) -> {
+      userRepository.updatePassword(user.getUsername(), newPassword);
+      principalCache.evict(user.getUsername());
+      return user;
+    };
   }
 
   /**
@@ -52,7 +66,8 @@ public class SecurityConfig {
   public AuthenticationProvider authenticationProvider() {
     DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
     provider.setUserDetailsService(userDetailsService());
-    provider.setPasswordEncoder(passwordEncoder());
+    provider.setPasswordEncoder(passwordEncoder);
+    provider.setUserDetailsPasswordService(userDetailsPasswordService());
     return provider;
   }
 
@@ -62,11 +77,6 @@ public class SecurityConfig {
     return config.getAuthenticationManager();
   }
 
-  @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
-  }
-
 //  @Bean
 //  public SendGrid sendGrid() {
 //    return new SendGrid(sendGridApiKey);
@@ -1,6 +1,9 @@
 package com.java.hotelmanagementsystem.security;
 
 import com.java.hotelmanagementsystem.security.Implementation.JwtAuthenticationFilter;
+import com.java.hotelmanagementsystem.security.Implementation.LogoutService;
+import com.java.hotelmanagementsystem.security.Implementation.RateLimitFilter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,8 +24,8 @@ import java.util.Arrays;
  * Security filter configuration for the application.
  *
  * <p>This class configures the security filters for the application, including CORS settings, CSRF
- * protection, session management, and authentication. It integrates JWT authentication and custom
- * logout handling into the Spring Security filter chain.
+ * protection, session management, and authentication. It integrates rate limiting, JWT
+ * authentication and custom logout handling into the Spring Security filter chain.
  */
 @Configuration
 @EnableWebSecurity
@@ -30,7 +33,9 @@ import java.util.Arrays;
 public class SecurityFilter {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final LogoutService logoutService;
 
     /**
      * Configures CORS settings for the application.
@@ -71,7 +76,13 @@ public class SecurityFilter {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+                .logout(logout -> logout
+                        .logoutUrl("/api/v1/auth/logout")
+                        .addLogoutHandler(logoutService)
+                        .logoutSuccessHandler((request, response, authentication) ->
+                                response.setStatus(HttpServletResponse.SC_OK)));
         //disable cross site resource forgery(CSRF)
         http.csrf(AbstractHttpConfigurer::disable);
         return http.build();
@@ -5,6 +5,7 @@ import com.java.hotelmanagementsystem.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -15,6 +16,7 @@ import java.util.Optional;
 public class SecurityTools {
 
   private final UserRepository userRepository;
+  private final CurrentUser currentUser;
 
   /**
    * Checks if the provided phone number is valid.
@@ -49,17 +51,54 @@ public class SecurityTools {
   }
 
   /**
-   * Retrieves user data based on the authenticated user's email.
+   * Retrieves user data of the authenticated user. The user is loaded once per request and kept
+   * in the {@link CurrentUser} holder for the following calls.
    *
    * @return The User object associated with the current authenticated user.
    * @throws NoSuchElementException if the user is not found.
    */
   public User retrieveUserData() {
-    String email = SecurityContextHolder.getContext().getAuthentication().getName();
-    Optional<User> user = userRepository.findByEmail(email);
+    boolean inRequest = RequestContextHolder.getRequestAttributes() != null;
+    if (inRequest && currentUser.getUser() != null) {
+      return currentUser.getUser();
+    }
+    Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    Optional<User> user =
+        principal instanceof AuthenticatedUser authenticatedUser
+            ? userRepository.findById(authenticatedUser.getId())
+            : userRepository.findByEmail(
+                SecurityContextHolder.getContext().getAuthentication().getName());
     if (user.isEmpty()) {
       throw new NoSuchElementException("User not found");
     }
+    if (inRequest) {
+      currentUser.setUser(user.get());
+    }
     return user.get();
   }
+
+  /**
+   * Retrieves the id of the authenticated user without loading the user.
+   *
+   * @return The id of the current authenticated user.
+   * @throws NoSuchElementException if the user is not found.
+   */
+  public int retrieveUserId() {
+    if (RequestContextHolder.getRequestAttributes() != null) {
+      if (currentUser.getPrincipal() != null) {
+        return currentUser.getPrincipal().getId();
+      }
+      if (currentUser.getUser() != null) {
+        return currentUser.getUser().getId();
+      }
+    }
+    Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    if (principal instanceof AuthenticatedUser authenticatedUser) {
+      return authenticatedUser.getId();
+    }
+    String email = SecurityContextHolder.getContext().getAuthentication().getName();
+    return userRepository
+        .findIdByEmail(email)
+        .orElseThrow(() -> new NoSuchElementException("User not found"));
+  }
 }
@@ -0,0 +1,28 @@
+package com.java.hotelmanagementsystem.security;
+
+import com.java.hotelmanagementsystem.models.User;
+
+/**
+ * Interface for issuing the tokens of a login session.
+ *
+ * <p>By default a session holds a single long-lived access token checked against the token table
+ * on every request. In the stateless mode, it holds a short-lived access token validated by its
+ * signature alone, and a refresh token that is rotated on every refresh, whose reuse revokes the
+ * whole family of refresh tokens of the session.
+ */
+public interface SessionTokenService {
+
+  /**
+   * The tokens handed out to a client.
+   *
+   * @param accessToken The token authenticating requests.
+   * @param refreshToken The token exchanged for new tokens, or null outside the stateless mode.
+   */
+  record Tokens(String accessToken, String refreshToken) {}
+
+  Tokens startSession(User user);
+
+  Tokens refresh(String refreshToken);
+
+  void revokeFamily(String familyId);
+}
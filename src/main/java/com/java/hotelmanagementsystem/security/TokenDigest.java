@@ -0,0 +1,30 @@
+package com.java.hotelmanagementsystem.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the fixed-length digest under which tokens are stored and looked up, so that raw bearer
+ * tokens never reach the database.
+ */
+public final class TokenDigest {
+
+  private TokenDigest() {}
+
+  /**
+   * Digests a raw token.
+   *
+   * @param token The raw token.
+   * @return The hex encoded SHA-256 digest of the token, 64 characters long.
+   */
+  public static String of(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package com.java.hotelmanagementsystem.security;
+
+import com.java.hotelmanagementsystem.repositories.TokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers whether a stored token is still live from memory instead of querying the token table on
+ * every request.
+ *
+ * <p>The live tokens are kept as their {@link TokenDigest}, reloaded from the database periodically
+ * and updated in place whenever this instance saves or revokes a token. A token missing from
+ * memory, e.g. one issued by another instance since the last reload, is looked up in the database
+ * once and remembered either way: live tokens join the set, unknown ones go to a bounded negative
+ * cache that forgets them after two reload intervals. Revocations on this instance are recorded in
+ * the negative cache too, so a reload that started before the revocation cannot bring the token
+ * back. Saves and revocations are applied once the surrounding transaction commits, so a rollback
+ * never leaves the cache disagreeing with the table.
+ *
+ * <p>Revocations on other instances become visible with the next reload. Until then a token
+ * revoked elsewhere is still accepted here, for at most {@code security.token-cache.refresh-ms}
+ * (30 seconds by default); lower it to shorten that window at the cost of more frequent reloads.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenStateCache {
+
+  private final TokenRepository tokenRepository;
+
+  @Value("${security.token-cache.refresh-ms:30000}")
+  private long refreshMs;
+
+  @Value("${security.token-cache.negative-max-entries:100000}")
+  private int negativeMaxEntries;
+
+  /** Counters describing the cache since startup. */
+  public record Stats(
+      long lookups,
+      long liveHits,
+      long negativeHits,
+      long databaseLookups,
+      double databaseHitRate,
+      double averageLookupMicros,
+      int liveTokens,
+      int negativeEntries) {}
+
+  private volatile Set<String> live = ConcurrentHashMap.newKeySet();
+  private final Map<String, Long> negative =
+      new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+          return size() > negativeMaxEntries;
+        }
+      };
+  private final AtomicLong lookups = new AtomicLong();
+  private final AtomicLong liveHits = new AtomicLong();
+  private final AtomicLong negativeHits = new AtomicLong();
+  private final AtomicLong databaseLookups = new AtomicLong();
+  private final AtomicLong lookupNanos = new AtomicLong();
+
+  /** Replaces the live tokens with the ones currently stored in the database. */
+  @Scheduled(fixedDelayString = "${security.token-cache.refresh-ms:30000}")
+  public void reload() {
+    Set<String> tokens = ConcurrentHashMap.newKeySet();
+    tokens.addAll(tokenRepository.findAllTokenHashes());
+    live = tokens;
+    log.debug("Token state cache reloaded with {} live tokens", tokens.size());
+  }
+
+  /**
+   * Checks whether a token is stored and not revoked.
+   *
+   * @param hash The digest of the token.
+   * @return Whether the token is live.
+   */
+  public boolean isLive(String hash) {
+    long start = System.nanoTime();
+    lookups.incrementAndGet();
+    try {
+      if (isNegative(hash)) {
+        negativeHits.incrementAndGet();
+        return false;
+      }
+      if (live.contains(hash)) {
+        liveHits.incrementAndGet();
+        return true;
+      }
+      databaseLookups.incrementAndGet();
+      if (tokenRepository.findByTokenHash(hash).isPresent()) {
+        live.add(hash);
+        return true;
+      }
+      markRevoked(hash);
+      return false;
+    } finally {
+      lookupNanos.addAndGet(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records a token saved by this instance.
+   *
+   * @param hash The digest of the token.
+   */
+  public void tokenSaved(String hash) {
+    synchronized (negative) {
+      negative.remove(hash);
+    }
+    live.add(hash);
+  }
+
+  /**
+   * Records a token revoked by this instance.
+   *
+   * @param hash The digest of the token.
+   */
+  public void tokenRevoked(String hash) {
+    live.remove(hash);
+    markRevoked(hash);
+  }
+
+  /**
+   * Returns the cache counters.
+   *
+   * @return The lookups served from memory and from the database since startup.
+   */
+  public Stats getStats() {
+    long total = lookups.get();
+    long database = databaseLookups.get();
+    int negativeEntries;
+    synchronized (negative) {
+      negativeEntries = negative.size();
+    }
+    return new Stats(
+        total,
+        liveHits.get(),
+        negativeHits.get(),
+        database,
+        total == 0 ? 0 : (double) database / total,
+        total == 0 ? 0 : lookupNanos.get() / 1000.0 / total,
+        live.size(),
+        negativeEntries);
+  }
+
+  private boolean isNegative(String hash) {
+    synchronized (negative) {
+      Long expiresAt = negative.get(hash);
+      if (expiresAt == null) {
+        return false;
+      }
+      if (expiresAt <= System.currentTimeMillis()) {
+        negative.remove(hash);
+        return false;
+      }
+      return true;
+    }
+  }
+
+  private void markRevoked(String hash) {
+    synchronized (negative) {
+      negative.remove(hash);
+      negative.put(hash, System.currentTimeMillis() + 2 * refreshMs);
+    }
+  }
+}
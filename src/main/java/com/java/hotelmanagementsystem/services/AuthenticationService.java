@@ -4,19 +4,22 @@ import com.java.hotelmanagementsystem.models.dto.User.PasswordResetConfirmedRequ
 import com.java.hotelmanagementsystem.models.dto.User.PasswordResetRequest;
 import com.java.hotelmanagementsystem.models.dto.auth.AuthenticationRequest;
 import com.java.hotelmanagementsystem.models.dto.auth.AuthenticationResponse;
+import com.java.hotelmanagementsystem.models.dto.auth.RefreshTokenRequest;
 import com.java.hotelmanagementsystem.models.dto.auth.RegisterRequest;
 
 /**
  * Interface for authentication services in the application.
  *
- * <p>This interface defines methods for user registration, authentication, and password reset
- * functionalities.
+ * <p>This interface defines methods for user registration, authentication, token refresh and
+ * password reset functionalities.
  */
 public interface AuthenticationService {
   AuthenticationResponse register(RegisterRequest request);
 
   AuthenticationResponse authenticate(AuthenticationRequest request);
 
+  AuthenticationResponse refresh(RefreshTokenRequest request);
+
   void resetPasswordRequest(PasswordResetRequest passwordResetRequest);
 
   void resetPassword(String token, PasswordResetConfirmedRequest passwordRequest);
@@ -15,12 +15,15 @@ import java.util.List;
  * Interface for managing bookings in the application.
  *
  * <p>This interface provides methods for booking and managing room and entertainment reservations.
- * It includes functionalities for creating, retrieving, and deleting reservations, as well as
- * handling payments and administrative tasks related to bookings.
+ * It includes functionalities for creating, retrieving, and deleting reservations, placing holds
+ * that lapse unless paid in time, as well as handling payments and administrative tasks related to
+ * bookings.
  */
 public interface BookingService {
   RoomReservation bookRoom(String from, String to, int roomTypeId);
 
+  RoomReservation holdRoom(String from, String to, int roomTypeId);
+
   RoomReservation bookRoomByAdmin(String dateFrom, String dateTo, int roomId, int userId);
 
   EntertainmentReservation bookEntertainment(
@@ -31,6 +34,14 @@ public interface BookingService {
       String timeTo,
       int entertainmentId);
 
+  EntertainmentReservation holdEntertainment(
+      String type,
+      String dateFrom,
+      String timeFrom,
+      String dateTo,
+      String timeTo,
+      int entertainmentId);
+
   RoomReservation getRoomReservation(int reservationId);
 
   EntertainmentReservation getEntertainmentReservation(int reservationId);
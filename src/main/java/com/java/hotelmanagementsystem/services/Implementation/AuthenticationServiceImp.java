@@ -7,12 +7,16 @@ import com.java.hotelmanagementsystem.models.dto.User.PasswordResetConfirmedRequ
 import com.java.hotelmanagementsystem.models.dto.User.PasswordResetRequest;
 import com.java.hotelmanagementsystem.models.dto.auth.AuthenticationRequest;
 import com.java.hotelmanagementsystem.models.dto.auth.AuthenticationResponse;
+import com.java.hotelmanagementsystem.models.dto.auth.RefreshTokenRequest;
 import com.java.hotelmanagementsystem.models.dto.auth.RegisterRequest;
 import com.java.hotelmanagementsystem.repositories.RoleRepository;
 import com.java.hotelmanagementsystem.repositories.UserRepository;
 import com.java.hotelmanagementsystem.security.EmailService;
 import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.PasswordHashingRejectedException;
+import com.java.hotelmanagementsystem.security.PrincipalCache;
 import com.java.hotelmanagementsystem.security.SecurityTools;
+import com.java.hotelmanagementsystem.security.SessionTokenService;
 import com.java.hotelmanagementsystem.services.AuthenticationService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -29,8 +33,9 @@ import java.util.Set;
 /**
  * Implementation for authentication services in the application.
  *
- * <p>This service defines methods for user registration, authentication, and password reset
- * functionalities.
+ * <p>This service defines methods for user registration, authentication, token refresh and
+ * password reset functionalities. The tokens of a session are issued by {@link
+ * SessionTokenService}.
  */
 @Service
 @RequiredArgsConstructor
@@ -43,6 +48,8 @@ public class AuthenticationServiceImp implements AuthenticationService {
   private final AuthenticationManager authenticationManager;
   private final EmailService emailService;
   private final SecurityTools tools;
+  private final PrincipalCache principalCache;
+  private final SessionTokenService sessionTokenService;
 
   /**
    * Registers a new user with the provided registration information.
@@ -87,12 +94,15 @@ public class AuthenticationServiceImp implements AuthenticationService {
             passwordEncoder.encode(request.getPassword()),
             defaultRole);
     User savedUser = userRepository.save(user);
-    String jwtToken = jwtService.generateToken(user);
     emailService.sendConfirmationEmail(user);
-    jwtService.saveUserToken(savedUser, jwtToken, TokenType.TokenTypeEnum.ACCESS);
+    SessionTokenService.Tokens tokens = sessionTokenService.startSession(savedUser);
     Set<Role.RoleEnum> roles = new HashSet<>();
     roles.add(defaultRole.getName());
-    return AuthenticationResponse.builder().token(jwtToken).roles(roles).build();
+    return AuthenticationResponse.builder()
+        .token(tokens.accessToken())
+        .refreshToken(tokens.refreshToken())
+        .roles(roles)
+        .build();
   }
 
   /**
@@ -108,17 +118,43 @@ public class AuthenticationServiceImp implements AuthenticationService {
       authenticationManager.authenticate(
           new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
       User user = userRepository.findByEmail(request.getEmail()).orElseThrow();
-      String jwtToken = jwtService.generateToken(user);
-      jwtService.revokeAllUserTokens(user, TokenType.TokenTypeEnum.ACCESS);
-      jwtService.saveUserToken(user, jwtToken, TokenType.TokenTypeEnum.ACCESS);
+      SessionTokenService.Tokens tokens = sessionTokenService.startSession(user);
       Set<Role.RoleEnum> roles = new HashSet<>();
       user.getRoles().forEach(role -> roles.add(role.getName()));
-      return AuthenticationResponse.builder().roles(roles).token(jwtToken).build();
+      return AuthenticationResponse.builder()
+          .roles(roles)
+          .token(tokens.accessToken())
+          .refreshToken(tokens.refreshToken())
+          .build();
+    } catch (PasswordHashingRejectedException e) {
+      throw e;
     } catch (Exception e) {
       throw new UsernameNotFoundException("Invalid email or password");
     }
   }
 
+  /**
+   * Exchanges a refresh token for a new access token and the next refresh token of its session.
+   *
+   * @param request The request containing the current refresh token.
+   * @return An AuthenticationResponse containing the new tokens and the user roles.
+   * @throws IllegalArgumentException If the refresh token is invalid, expired, revoked or reused.
+   */
+  @Override
+  public AuthenticationResponse refresh(RefreshTokenRequest request) {
+    SessionTokenService.Tokens tokens = sessionTokenService.refresh(request.getRefreshToken());
+    Set<Role.RoleEnum> roles = new HashSet<>();
+    principalCache
+        .get(jwtService.extractUsername(tokens.accessToken()))
+        .getAuthorities()
+        .forEach(authority -> roles.add(Role.RoleEnum.valueOf(authority.getAuthority())));
+    return AuthenticationResponse.builder()
+        .roles(roles)
+        .token(tokens.accessToken())
+        .refreshToken(tokens.refreshToken())
+        .build();
+  }
+
   @Override
   @Transactional
   public void resetPasswordRequest(PasswordResetRequest passwordResetRequest) {
@@ -154,6 +190,7 @@ public class AuthenticationServiceImp implements AuthenticationService {
       jwtService.revokeAllUserTokens(user, TokenType.TokenTypeEnum.RESET_PASSWORD);
       user.setPassword(passwordEncoder.encode(passwordRequest.getPassword()));
       userRepository.save(user);
+      principalCache.evict(userEmail);
     }
   }
 }
@@ -1,17 +1,22 @@
 package com.java.hotelmanagementsystem.services.Implementation;
 
-
+import com.java.hotelmanagementsystem.availability.EntertainmentAvailabilityIndex;
+import com.java.hotelmanagementsystem.availability.ReservationAllocator;
+import com.java.hotelmanagementsystem.availability.ReservationHoldQueue;
+import com.java.hotelmanagementsystem.availability.UnpaidReservationSweeper;
 import com.java.hotelmanagementsystem.models.*;
 import com.java.hotelmanagementsystem.models.dto.bookings.AllBookingsResponse;
 import com.java.hotelmanagementsystem.models.dto.bookings.CurrentRoomResponse;
+import com.java.hotelmanagementsystem.models.dto.bookings.EntertainmentBookingRow;
 import com.java.hotelmanagementsystem.models.dto.bookings.EntertainmentReservationResponse;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomBookingRow;
 import com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationsResponse;
 import com.java.hotelmanagementsystem.repositories.*;
-import com.java.hotelmanagementsystem.security.Implementation.EmailSender;
+import com.java.hotelmanagementsystem.security.EmailOutbox;
+import com.java.hotelmanagementsystem.security.EmailTemplate;
 import com.java.hotelmanagementsystem.security.SecurityTools;
 import com.java.hotelmanagementsystem.services.BookingService;
 import com.java.hotelmanagementsystem.services.RoomService;
-import com.java.hotelmanagementsystem.services.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -35,17 +40,33 @@ import static com.java.hotelmanagementsystem.util.Tools.*;
 public class BookingServiceImp implements BookingService {
 
   private final RoomService roomService;
-  private final UserService userService;
   private final UserRepository userRepository;
   private final RoomReservationRepository roomReservationRepository;
   private final EntertainmentReservationRepository entertainmentReservationRepository;
   private final EntertainmentRepository entertainmentRepository;
   private final EntertainmentTypeRepository entertainmentTypeRepository;
   private final SecurityTools securityTools;
-  private final EmailSender emailSender;
+  private final EmailOutbox emailOutbox;
+  private final EntertainmentAvailabilityIndex entertainmentAvailabilityIndex;
+  private final ReservationAllocator reservationAllocator;
+  private final ReservationHoldQueue reservationHoldQueue;
+  private final UnpaidReservationSweeper unpaidReservationSweeper;
 
   @Override
   public RoomReservation bookRoom(String from, String to, int roomTypeId) {
+    return reserveRoom(from, to, roomTypeId, null);
+  }
+
+  @Override
+  public RoomReservation holdRoom(String from, String to, int roomTypeId) {
+    RoomReservation roomReservation =
+        reserveRoom(from, to, roomTypeId, reservationHoldQueue.nextExpiry());
+    reservationHoldQueue.track(roomReservation);
+    return roomReservation;
+  }
+
+  private RoomReservation reserveRoom(
+      String from, String to, int roomTypeId, Timestamp expiresAt) {
     Date sqlFromDate = parseDate(from);
     Date sqlToDate = parseDate(to);
 
@@ -53,22 +74,25 @@ public class BookingServiceImp implements BookingService {
     if (!rooms.iterator().hasNext()) {
       throw new IllegalArgumentException("No rooms available");
     }
-    Room room = rooms.iterator().next();
 
-    if (userService.getUserRoomReservationsCount() >= 5) {
-      throw new IllegalArgumentException("You can't book more than 5 rooms");
-    }
     User user = securityTools.retrieveUserData();
 
-    return getRoomReservation(from, to, sqlFromDate, sqlToDate, room, user);
+    // Rooms may be taken between the availability check and the insert, so let the allocator
+    // claim one of them under a row lock, checking the quota and queueing the email in the same
+    // transaction
+    return reservationAllocator
+        .allocateRoom(
+            rooms,
+            sqlFromDate,
+            sqlToDate,
+            user,
+            expiresAt,
+            true,
+            reservation -> queueRoomReservationEmail(from, to, reservation.getRoom(), user))
+        .orElseThrow(() -> new IllegalArgumentException("No rooms available"));
   }
 
-  private RoomReservation getRoomReservation(String from, String to, Date sqlFromDate,
-      Date sqlToDate, Room room, User user) {
-    Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-    RoomReservation roomReservation = new RoomReservation(sqlFromDate, sqlToDate, timestamp, room,
-        user);
-    roomReservationRepository.save(roomReservation);
+  private void queueRoomReservationEmail(String from, String to, Room room, User user) {
     if (user.getVerified() != null) {
       Map<String, String> substitutions = new HashMap<>();
       substitutions.put("firstName", user.getFirstName());
@@ -76,13 +100,12 @@ public class BookingServiceImp implements BookingService {
       substitutions.put("roomNumber", String.valueOf(room.getNumber()));
       substitutions.put("from", from);
       substitutions.put("to", to);
-      emailSender.sendEmail(
+      emailOutbox.enqueue(
           user.getEmail(),
-          "d-167983214e2d45d3a58f4cd5e4f07b1c",
+          EmailTemplate.ROOM_BOOKING.getId(),
           substitutions
       );
     }
-    return roomReservation;
   }
 
   @Override
@@ -96,12 +119,48 @@ public class BookingServiceImp implements BookingService {
             .orElseThrow(() -> new NoSuchElementException("No user found"));
     Room room = roomService.getById(roomId);
 
-    return getRoomReservation(dateFrom, dateTo, sqlFromDate, sqlToDate, room, user);
+    return reservationAllocator
+        .claimRoom(
+            room,
+            sqlFromDate,
+            sqlToDate,
+            user,
+            null,
+            false,
+            reservation -> queueRoomReservationEmail(dateFrom, dateTo, room, user))
+        .orElseThrow(() -> new IllegalArgumentException("Room is not available"));
   }
 
   @Override
   public EntertainmentReservation bookEntertainment(String entertainmentType, String dateFrom,
                                                     String timeFrom, String dateTo, String timeTo, int entertainmentId) {
+    return reserveEntertainment(
+        entertainmentType, dateFrom, timeFrom, dateTo, timeTo, entertainmentId, null);
+  }
+
+  @Override
+  public EntertainmentReservation holdEntertainment(
+      String entertainmentType,
+      String dateFrom,
+      String timeFrom,
+      String dateTo,
+      String timeTo,
+      int entertainmentId) {
+    EntertainmentReservation entertainmentReservation =
+        reserveEntertainment(
+            entertainmentType,
+            dateFrom,
+            timeFrom,
+            dateTo,
+            timeTo,
+            entertainmentId,
+            reservationHoldQueue.nextExpiry());
+    reservationHoldQueue.track(entertainmentReservation);
+    return entertainmentReservation;
+  }
+
+  private EntertainmentReservation reserveEntertainment(String entertainmentType, String dateFrom,
+      String timeFrom, String dateTo, String timeTo, int entertainmentId, Timestamp expiresAt) {
     Timestamp dateTimeFrom = parseDate(dateFrom, timeFrom);
     Timestamp dateTimeTo = parseDate(dateTo, timeTo);
 
@@ -118,41 +177,50 @@ public class BookingServiceImp implements BookingService {
       throw new IllegalArgumentException("Entertainment type not found");
     }
 
-    List<Entertainment> entertainments = entertainmentRepository
-        .findAvailableEntertainmentsByTypeAndTime(type.get().getId(), dateTimeFrom, dateTimeTo);
-    Optional<Entertainment> entertainment = entertainments.stream()
-        .filter(entertainment1 -> entertainment1.getId() == entertainmentId)
-        .findFirst();
+    Optional<Entertainment> entertainment;
+    if (entertainmentAvailabilityIndex.canAnswer(dateTimeFrom, dateTimeTo)) {
+      entertainment = entertainmentAvailabilityIndex.isAvailable(
+          entertainmentId, type.get().getId(), dateTimeFrom, dateTimeTo)
+          ? entertainmentRepository.findById(entertainmentId)
+          : Optional.empty();
+    } else {
+      List<Entertainment> entertainments = entertainmentRepository
+          .findAvailableEntertainmentsByTypeAndTime(type.get().getId(), dateTimeFrom, dateTimeTo);
+      entertainment = entertainments.stream()
+          .filter(entertainment1 -> entertainment1.getId() == entertainmentId)
+          .findFirst();
+    }
 
     if (entertainment.isEmpty()) {
       throw new IllegalArgumentException("Entertainment not found");
     }
 
-    if (userService.getUserEntertainmentReservationsCount() >= 10) {
-      throw new IllegalArgumentException("You can't book more than 10 entertainments");
-    }
-
-    Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-    EntertainmentReservation entertainmentReservation = new EntertainmentReservation(dateTimeFrom,
-        dateTimeTo, timestamp, user, entertainment.get());
-    entertainmentReservationRepository.save(entertainmentReservation);
-
-    if (user.getVerified() != null) {
-      Map<String, String> substitutions = new HashMap<>();
-      substitutions.put("firstName", user.getFirstName());
-      substitutions.put("lastName", user.getLastName());
-      substitutions.put("dateFrom", dateFrom);
-      substitutions.put("timeFrom", timeFrom);
-      substitutions.put("dateTo", dateTo);
-      substitutions.put("timeTo", timeTo);
-      substitutions.put("entertainmentType", entertainmentType);
-      emailSender.sendEmail(
-          user.getEmail(),
-          "d-6754d6e1186e424e86305dd37ec97c12",
-          substitutions
-      );
-    }
-    return entertainmentReservation;
+    return reservationAllocator
+        .claimEntertainment(
+            entertainment.get(),
+            dateTimeFrom,
+            dateTimeTo,
+            user,
+            expiresAt,
+            true,
+            reservation -> {
+              if (user.getVerified() != null) {
+                Map<String, String> substitutions = new HashMap<>();
+                substitutions.put("firstName", user.getFirstName());
+                substitutions.put("lastName", user.getLastName());
+                substitutions.put("dateFrom", dateFrom);
+                substitutions.put("timeFrom", timeFrom);
+                substitutions.put("dateTo", dateTo);
+                substitutions.put("timeTo", timeTo);
+                substitutions.put("entertainmentType", entertainmentType);
+                emailOutbox.enqueue(
+                    user.getEmail(),
+                    EmailTemplate.ENTERTAINMENT_BOOKING.getId(),
+                    substitutions
+                );
+              }
+            })
+        .orElseThrow(() -> new IllegalArgumentException("Entertainment not found"));
   }
 
   @Override
@@ -246,65 +314,54 @@ public class BookingServiceImp implements BookingService {
 
   @Override
   public List<AllBookingsResponse> getAll() {
-    User user = securityTools.retrieveUserData();
-    List<RoomReservation> userRooms = roomReservationRepository.findAllByUser(user);
-    List<EntertainmentReservation> userEntertainments =
-        entertainmentReservationRepository.findAllByUser(user);
-    return retrieveBookingsResponse(userRooms, userEntertainments);
+    return retrieveBookingsResponse(securityTools.retrieveUserId());
   }
 
   @Override
   public List<AllBookingsResponse> getAllByAdmin(int userId) {
-    User user =
-        userRepository
-            .findById(userId)
-            .orElseThrow(() -> new NoSuchElementException("No user found"));
-    List<RoomReservation> userRooms = roomReservationRepository.findAllByUser(user);
-    List<EntertainmentReservation> userEntertainments =
-        entertainmentReservationRepository.findAllByUser(user);
-    return retrieveBookingsResponse(userRooms, userEntertainments);
+    if (!userRepository.existsById(userId)) {
+      throw new NoSuchElementException("No user found");
+    }
+    return retrieveBookingsResponse(userId);
   }
 
-  private List<AllBookingsResponse> retrieveBookingsResponse(
-      List<RoomReservation> userRooms, List<EntertainmentReservation> userEntertainments) {
+  private List<AllBookingsResponse> retrieveBookingsResponse(int userId) {
+    // Both lists are read as projections, one query each, without hydrating the reservations
     List<AllBookingsResponse> bookings = new ArrayList<>();
-    for (RoomReservation roomReservation : userRooms) {
+    for (RoomBookingRow row : roomReservationRepository.findBookingRowsByUserId(userId)) {
       bookings.add(
           AllBookingsResponse.builder()
-              .id(roomReservation.getId())
+              .id(row.getId())
               .description("Hotel room reservation")
-              .price(roomReservation.getRoom().getRoomType().getPrice())
+              .price(row.getPrice())
               .name("Room")
-              .fromDate(roomReservation.getFromDate().toString())
-              .toDate(roomReservation.getToDate().toString())
-              .timestampFrom(new Timestamp(roomReservation.getFromDate().getTime()))
+              .fromDate(row.getFromDate().toString())
+              .toDate(row.getToDate().toString())
+              .timestampFrom(new Timestamp(row.getFromDate().getTime()))
               .bookingType("Room")
-              .roomTypeId(roomReservation.getRoom().getRoomType().getId())
-              .bookingStatus(getRoomBookingStatus(roomReservation))
-              .paymentId(
-                  roomReservation.getPayment() == null
-                      ? null
-                      : roomReservation.getPayment().getId())
+              .roomTypeId(row.getRoomTypeId())
+              .bookingStatus(
+                  getRoomBookingStatus(
+                      row.getPaymentId() != null, row.getFromDate(), row.getToDate()))
+              .paymentId(row.getPaymentId())
               .build());
     }
-    for (EntertainmentReservation entertainmentReservation : userEntertainments) {
+    for (EntertainmentBookingRow row :
+        entertainmentReservationRepository.findBookingRowsByUserId(userId)) {
       bookings.add(
           AllBookingsResponse.builder()
-              .id(entertainmentReservation.getId())
-              .description(entertainmentReservation.getEntertainment().getDescription())
-              .price(entertainmentReservation.getEntertainment().getEntertainmentType().getPrice())
-              .name(entertainmentReservation.getEntertainment().getEntertainmentType().getName())
-              .fromDate(entertainmentReservation.getDateFrom().toString())
-              .toDate(entertainmentReservation.getDateTo().toString())
-              .timestampFrom(entertainmentReservation.getDateFrom())
-              .bookingType(
-                  entertainmentReservation.getEntertainment().getEntertainmentType().getName())
-              .bookingStatus(getEntertainmentBookingStatus(entertainmentReservation))
-              .accessCode(entertainmentReservation.getEntertainment().getLockCode())
-              .paymentId(
-                  entertainmentReservation.getPayment() == null
-                      ? null
-                      : entertainmentReservation.getPayment().getId())
+              .id(row.getId())
+              .description(row.getDescription())
+              .price(row.getPrice())
+              .name(row.getTypeName())
+              .fromDate(row.getDateFrom().toString())
+              .toDate(row.getDateTo().toString())
+              .timestampFrom(row.getDateFrom())
+              .bookingType(row.getTypeName())
+              .bookingStatus(
+                  getEntertainmentBookingStatus(row.getPaymentId() != null, row.getDateFrom()))
+              .accessCode(row.getLockCode())
+              .paymentId(row.getPaymentId())
               .build());
     }
 
@@ -334,12 +391,20 @@ public class BookingServiceImp implements BookingService {
   }
 
   private RoomReservation.BookingStatus getRoomBookingStatus(RoomReservation roomReservation) {
+    return getRoomBookingStatus(
+        roomReservation.getPayment() != null,
+        roomReservation.getFromDate(),
+        roomReservation.getToDate());
+  }
+
+  private RoomReservation.BookingStatus getRoomBookingStatus(
+      boolean paid, Date fromDate, Date toDate) {
     Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-    if (roomReservation.getPayment() == null) {
+    if (!paid) {
       return RoomReservation.BookingStatus.AWAITING_PAYMENT;
-    } else if (roomReservation.getFromDate().after(timestamp)) {
+    } else if (fromDate.after(timestamp)) {
       return RoomReservation.BookingStatus.UPCOMING;
-    } else if (roomReservation.getToDate().before(timestamp)) {
+    } else if (toDate.before(timestamp)) {
       return RoomReservation.BookingStatus.COMPLETED;
     } else {
       return RoomReservation.BookingStatus.ACTIVE;
@@ -348,13 +413,19 @@ public class BookingServiceImp implements BookingService {
 
   private RoomReservation.BookingStatus getEntertainmentBookingStatus(
       EntertainmentReservation entertainmentReservation) {
+    return getEntertainmentBookingStatus(
+        entertainmentReservation.getPayment() != null, entertainmentReservation.getDateFrom());
+  }
+
+  private RoomReservation.BookingStatus getEntertainmentBookingStatus(
+      boolean paid, Timestamp dateFrom) {
     Timestamp timestamp = new Timestamp(System.currentTimeMillis());
     Timestamp timestampPlusOneHour = new Timestamp(System.currentTimeMillis() + 3600000);
-    if (entertainmentReservation.getPayment() == null) {
+    if (!paid) {
       return RoomReservation.BookingStatus.AWAITING_PAYMENT;
-    } else if (entertainmentReservation.getDateFrom().after(timestamp)) {
+    } else if (dateFrom.after(timestamp)) {
       return RoomReservation.BookingStatus.UPCOMING;
-    } else if (entertainmentReservation.getDateFrom().before(timestampPlusOneHour)) {
+    } else if (dateFrom.before(timestampPlusOneHour)) {
       return RoomReservation.BookingStatus.COMPLETED;
     } else {
       return RoomReservation.BookingStatus.ACTIVE;
@@ -363,51 +434,38 @@ public class BookingServiceImp implements BookingService {
 
   @Override
   public void addPaymentToRoomReservation(int roomReservationId, Payment payment) {
-    RoomReservation roomReservation =
-        roomReservationRepository
-            .findById(roomReservationId)
-            .orElseThrow(() -> new NoSuchElementException("No room reservation found"));
-    roomReservation.setPayment(payment);
-    roomReservationRepository.save(roomReservation);
+    // Confirm only while the hold is still valid, so a payment never races the hold expiry
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    if (roomReservationRepository.confirm(roomReservationId, payment, now) == 0) {
+      if (!roomReservationRepository.existsById(roomReservationId)) {
+        throw new NoSuchElementException("No room reservation found");
+      }
+      throw new IllegalArgumentException("Reservation hold has expired");
+    }
   }
 
   @Override
   public void addPaymentToEntertainmentReservation(int reservationId, Payment payment) {
-    EntertainmentReservation entertainmentReservation =
-        entertainmentReservationRepository
-            .findById(reservationId)
-            .orElseThrow(() -> new NoSuchElementException("No entertainment reservation found"));
-    entertainmentReservation.setPayment(payment);
-    entertainmentReservationRepository.save(entertainmentReservation);
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    if (entertainmentReservationRepository.confirm(reservationId, payment, now) == 0) {
+      if (!entertainmentReservationRepository.existsById(reservationId)) {
+        throw new NoSuchElementException("No entertainment reservation found");
+      }
+      throw new IllegalArgumentException("Reservation hold has expired");
+    }
   }
 
   @Override
   public void deleteUnpaidRoomReservations() {
-    Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-    List<RoomReservation> roomReservations = roomReservationRepository.findAllByPaymentIsNull();
     // Delete all unpaid room reservations that are in the past or 24 hours before the reservation
-    for (RoomReservation roomReservation : roomReservations) {
-      if (roomReservation.getFromDate().before(timestamp)
-          || roomReservation.getFromDate().before(new Timestamp(timestamp.getTime() + 86400000))) {
-        roomReservationRepository.delete(roomReservation);
-      }
-    }
+    unpaidReservationSweeper.deleteUnpaidRoomReservations();
   }
 
   @Override
   public void deleteUnpaidEntertainmentReservations() {
-    Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-    List<EntertainmentReservation> entertainmentReservations =
-        entertainmentReservationRepository.findAllByPaymentIsNull();
-    // Delete all unpaid room reservations that are in the past or 5 hours before the reservation
-    for (EntertainmentReservation entertainmentReservation : entertainmentReservations) {
-      if (entertainmentReservation.getDateFrom().before(timestamp)
-          || entertainmentReservation
-          .getDateFrom()
-          .before(new Timestamp(timestamp.getTime() + 18000000))) {
-        entertainmentReservationRepository.delete(entertainmentReservation);
-      }
-    }
+    // Delete all unpaid entertainment reservations that are in the past or 5 hours before the
+    // reservation
+    unpaidReservationSweeper.deleteUnpaidEntertainmentReservations();
   }
 
   @Override
@@ -1,5 +1,7 @@
 package com.java.hotelmanagementsystem.services.Implementation;
 
+import com.java.hotelmanagementsystem.availability.AvailabilityCache;
+import com.java.hotelmanagementsystem.availability.EntertainmentAvailabilityIndex;
 import com.java.hotelmanagementsystem.models.Entertainment;
 import com.java.hotelmanagementsystem.models.EntertainmentType;
 import com.java.hotelmanagementsystem.repositories.EntertainmentRepository;
@@ -9,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
+import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -20,7 +23,9 @@ import static com.java.hotelmanagementsystem.util.Tools.parseDate;
  *
  * <p>This service provides methods for retrieving entertainment types and elements, as well as
  * updating prices for different types of entertainment services. It allows querying entertainment
- * options based on availability and managing their pricing.
+ * options based on availability and managing their pricing. Availability is answered by the {@link
+ * EntertainmentAvailabilityIndex} whenever it covers the requested range, and repeated searches
+ * are served from the {@link AvailabilityCache}.
  */
 @Service
 @RequiredArgsConstructor
@@ -28,6 +33,8 @@ public class EntertainmentServiceImp implements EntertainmentService {
 
   private final EntertainmentTypeRepository entertainmentTypeRepository;
   private final EntertainmentRepository entertainmentRepository;
+  private final EntertainmentAvailabilityIndex entertainmentAvailabilityIndex;
+  private final AvailabilityCache availabilityCache;
 
   @Override
   public List<EntertainmentType> getAllEntertainmentTypes() {
@@ -59,7 +66,19 @@ public class EntertainmentServiceImp implements EntertainmentService {
       String entertainmentType, String dateFrom, String timeFrom, String dateTo, String timeTo) {
     Timestamp dateTimeFrom = parseDate(dateFrom, timeFrom);
     Timestamp dateTimeTo = parseDate(dateTo, timeTo);
+    AvailabilityCache.Key key =
+        new AvailabilityCache.Key(
+            AvailabilityCache.Area.ENTERTAINMENT,
+            "entertainmentsByType",
+            entertainmentType,
+            dateTimeFrom.getTime(),
+            dateTimeTo.getTime());
+    return availabilityCache.get(
+        key, () -> findAvailableEntertainments(entertainmentType, dateTimeFrom, dateTimeTo));
+  }
 
+  private List<Entertainment> findAvailableEntertainments(
+      String entertainmentType, Timestamp dateTimeFrom, Timestamp dateTimeTo) {
     List<EntertainmentType> entertainmentTypes = entertainmentTypeRepository.findAll();
     Optional<EntertainmentType> type =
         entertainmentTypes.stream()
@@ -69,6 +88,17 @@ public class EntertainmentServiceImp implements EntertainmentService {
       throw new IllegalArgumentException("Entertainment type not found");
     }
 
+    if (entertainmentAvailabilityIndex.canAnswer(dateTimeFrom, dateTimeTo)) {
+      List<Integer> entertainmentIds =
+          entertainmentAvailabilityIndex.findAvailableEntertainmentIds(
+              type.get().getId(), dateTimeFrom, dateTimeTo);
+      if (entertainmentIds.isEmpty()) {
+        return List.of();
+      }
+      return entertainmentRepository.findAllById(entertainmentIds).stream()
+          .sorted(Comparator.comparingInt(Entertainment::getId))
+          .toList();
+    }
     return entertainmentRepository.findAvailableEntertainmentsByTypeAndTime(
         type.get().getId(), dateTimeFrom, dateTimeTo);
   }
@@ -86,5 +116,7 @@ public class EntertainmentServiceImp implements EntertainmentService {
           type.get().setPrice(entertainmentType.getPrice());
           entertainmentTypeRepository.save(type.get());
         });
+    // Cached entertainment elements carry the old prices
+    availabilityCache.invalidateAll(AvailabilityCache.Area.ENTERTAINMENT);
   }
 }
@@ -69,12 +69,12 @@ public class PaymentServiceImp implements PaymentService {
   public int createReservation(CreatePayment createPayment) {
     if (createPayment.getPaymentType().equals("Room")) {
       return bookingService
-          .bookRoom(
+          .holdRoom(
               createPayment.getDateFrom(), createPayment.getDateTo(), createPayment.getRoomTypeId())
           .getId();
     } else {
       return bookingService
-          .bookEntertainment(
+          .holdEntertainment(
               createPayment.getPaymentType(),
               createPayment.getDateFrom(),
               createPayment.getTimeFrom(),
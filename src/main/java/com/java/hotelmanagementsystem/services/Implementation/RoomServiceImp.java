@@ -1,8 +1,13 @@
 package com.java.hotelmanagementsystem.services.Implementation;
 
+import com.java.hotelmanagementsystem.availability.AvailabilityCache;
+import com.java.hotelmanagementsystem.availability.RoomAvailabilityIndex;
 import com.java.hotelmanagementsystem.models.Room;
 import com.java.hotelmanagementsystem.models.RoomType;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomAvailabilityCalendarResponse;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval;
 import com.java.hotelmanagementsystem.repositories.RoomRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
 import com.java.hotelmanagementsystem.repositories.RoomTypeRepository;
 import com.java.hotelmanagementsystem.services.RoomService;
 import com.java.hotelmanagementsystem.util.Tools;
@@ -10,16 +15,26 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.sql.Date;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * Implementation for managing room-related services in the application.
  *
  * <p>This service provides methods for handling room operations such as retrieval, addition, and
  * deletion of rooms. It also includes functionalities for checking room availability, retrieving
- * rooms based on specific criteria, and managing room types and their prices.
+ * rooms based on specific criteria, and managing room types and their prices. Availability queries
+ * are answered by the {@link RoomAvailabilityIndex} whenever it covers the requested dates, and by
+ * the repository queries otherwise. The most frequent searches are served from the {@link
+ * AvailabilityCache}.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,6 +42,11 @@ public class RoomServiceImp implements RoomService {
 
   private final RoomRepository roomRepository;
   private final RoomTypeRepository roomTypeRepository;
+  private final RoomReservationRepository roomReservationRepository;
+  private final RoomAvailabilityIndex roomAvailabilityIndex;
+  private final AvailabilityCache availabilityCache;
+
+  private static final int CALENDAR_MAX_DAYS = 366;
 
   @Override
   public Room getById(int id) {
@@ -60,14 +80,32 @@ public class RoomServiceImp implements RoomService {
   public List<Room> getAllByAvailableTimeAndType(String from, String to, int roomTypeId) {
     Date dateFromSql = Tools.parseDate(from);
     Date dateToSql = Tools.parseDate(to);
-    return roomRepository.findAvailableRoomsByTimeAndType(dateFromSql, dateToSql, roomTypeId);
+    AvailabilityCache.Key key =
+        new AvailabilityCache.Key(
+            AvailabilityCache.Area.ROOM,
+            "roomsByType",
+            roomTypeId,
+            dateFromSql.getTime(),
+            dateToSql.getTime());
+    return availabilityCache.get(
+        key,
+        () ->
+            roomAvailabilityIndex
+                .findAvailableRoomIds(dateFromSql, dateToSql, roomTypeId)
+                .map(this::findRoomsById)
+                .orElseGet(
+                    () ->
+                        roomRepository.findAvailableRoomsByTimeAndType(
+                            dateFromSql, dateToSql, roomTypeId)));
   }
 
   @Override
   public boolean isRoomAvailable(int roomId, String from, String to) {
     Date dateFromSql = Tools.parseDate(from);
     Date dateToSql = Tools.parseDate(to);
-    return roomRepository.isRoomAvailable(roomId, dateFromSql, dateToSql);
+    return roomAvailabilityIndex
+        .isRoomAvailable(roomId, dateFromSql, dateToSql)
+        .orElseGet(() -> roomRepository.isRoomAvailable(roomId, dateFromSql, dateToSql));
   }
 
   @Override
@@ -80,15 +118,102 @@ public class RoomServiceImp implements RoomService {
       String from, String to, int roomOccupancy) {
     Date dateFromSql = Tools.parseDate(from);
     Date dateToSql = Tools.parseDate(to);
-    return roomTypeRepository.findAvailableRoomTypesByOccupancy(
-        dateFromSql, dateToSql, roomOccupancy);
+    AvailabilityCache.Key key =
+        new AvailabilityCache.Key(
+            AvailabilityCache.Area.ROOM,
+            "roomTypesByOccupancy",
+            roomOccupancy,
+            dateFromSql.getTime(),
+            dateToSql.getTime());
+    return availabilityCache.get(
+        key,
+        () -> {
+          Optional<List<Integer>> roomTypeIds =
+              roomAvailabilityIndex.findAvailableRoomTypeIds(dateFromSql, dateToSql);
+          if (roomTypeIds.isPresent()) {
+            return roomTypeRepository.findAllById(roomTypeIds.get()).stream()
+                .filter(roomType -> roomType.getRoomOccupancy() >= roomOccupancy)
+                .sorted(Comparator.comparingInt(RoomType::getId))
+                .toList();
+          }
+          return roomTypeRepository.findAvailableRoomTypesByOccupancy(
+              dateFromSql, dateToSql, roomOccupancy);
+        });
   }
 
   @Override
   public List<Room> getAllRoomsByAvailability(String dateFrom, String dateTo) {
     Date dateFromSql = Tools.parseDate(dateFrom);
     Date dateToSql = Tools.parseDate(dateTo);
-    return roomRepository.findAvailableRoomsByTime(dateFromSql, dateToSql);
+    return roomAvailabilityIndex
+        .findAvailableRoomIds(dateFromSql, dateToSql, null)
+        .map(this::findRoomsById)
+        .orElseGet(() -> roomRepository.findAvailableRoomsByTime(dateFromSql, dateToSql));
+  }
+
+  @Override
+  public RoomAvailabilityCalendarResponse getAvailabilityCalendar(String dateFrom, String dateTo) {
+    Date dateFromSql = Tools.parseDate(dateFrom);
+    Date dateToSql = Tools.parseDate(dateTo);
+    long days =
+        ChronoUnit.DAYS.between(dateFromSql.toLocalDate(), dateToSql.toLocalDate()) + 1;
+    if (days < 1 || days > CALENDAR_MAX_DAYS) {
+      throw new IllegalArgumentException(
+          "Calendar must cover between 1 and " + CALENDAR_MAX_DAYS + " days");
+    }
+    TreeMap<Integer, int[]> freeRooms =
+        roomAvailabilityIndex
+            .countFreeRoomsPerDay(dateFromSql, dateToSql)
+            .orElseGet(() -> countFreeRoomsPerDay(dateFromSql, dateToSql, (int) days));
+    // Room types without any room are listed too, so the grid always shows every type
+    for (RoomType roomType : roomTypeRepository.findAll()) {
+      freeRooms.putIfAbsent(roomType.getId(), new int[(int) days]);
+    }
+    return RoomAvailabilityCalendarResponse.builder()
+        .dateFrom(dateFromSql.toString())
+        .dateTo(dateToSql.toString())
+        .roomTypeIds(new ArrayList<>(freeRooms.keySet()))
+        .freeRooms(new ArrayList<>(freeRooms.values()))
+        .build();
+  }
+
+  private TreeMap<Integer, int[]> countFreeRoomsPerDay(Date dateFrom, Date dateTo, int days) {
+    TreeMap<Integer, int[]> freeRooms = new TreeMap<>();
+    Map<Integer, Integer> roomTypeIds = new HashMap<>();
+    for (Object[] room : roomRepository.findAllRoomTypeIds()) {
+      int[] counts = freeRooms.computeIfAbsent((Integer) room[1], id -> new int[days]);
+      for (int i = 0; i < days; i++) {
+        counts[i]++;
+      }
+      roomTypeIds.put((Integer) room[0], (Integer) room[1]);
+    }
+    // Mark the occupied days of each room first, so that overlapping stays count only once
+    long firstDay = dateFrom.toLocalDate().toEpochDay();
+    Map<Integer, BitSet> occupied = new HashMap<>();
+    for (RoomReservationInterval interval :
+        roomReservationRepository.findIntervalsOverlapping(dateFrom, dateTo)) {
+      int from = (int) Math.max(0, interval.getFromDate().toLocalDate().toEpochDay() - firstDay);
+      int to =
+          (int) Math.min(days - 1L, interval.getToDate().toLocalDate().toEpochDay() - firstDay);
+      occupied.computeIfAbsent(interval.getRoomId(), id -> new BitSet(days)).set(from, to + 1);
+    }
+    occupied.forEach(
+        (roomId, nights) -> {
+          int[] counts = freeRooms.get(roomTypeIds.get(roomId));
+          if (counts != null) {
+            nights.stream().forEach(day -> counts[day]--);
+          }
+        });
+    return freeRooms;
+  }
+
+  private List<Room> findRoomsById(List<Integer> roomIds) {
+    if (roomIds.isEmpty()) {
+      return List.of();
+    }
+    return roomRepository.findAllById(roomIds).stream()
+        .sorted(Comparator.comparingInt(Room::getId))
+        .toList();
   }
 
   @Override
@@ -102,5 +227,7 @@ public class RoomServiceImp implements RoomService {
       roomTypeFromDb.setPrice(roomType.getPrice());
       roomTypeRepository.save(roomTypeFromDb);
     }
+    // Cached rooms and room types carry the old prices
+    availabilityCache.invalidateAll(AvailabilityCache.Area.ROOM);
   }
 }
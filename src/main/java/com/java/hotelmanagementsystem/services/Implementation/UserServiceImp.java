@@ -1,17 +1,21 @@
 package com.java.hotelmanagementsystem.services.Implementation;
 
 
-import com.java.hotelmanagementsystem.models.TokenType;
 import com.java.hotelmanagementsystem.models.User;
 import com.java.hotelmanagementsystem.models.dto.User.*;
 import com.java.hotelmanagementsystem.models.dto.auth.AuthenticationResponse;
+import com.java.hotelmanagementsystem.repositories.EntertainmentReservationRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
 import com.java.hotelmanagementsystem.repositories.UserRepository;
+import com.java.hotelmanagementsystem.search.GuestSearchIndex;
 import com.java.hotelmanagementsystem.security.EmailService;
-import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.PrincipalCache;
 import com.java.hotelmanagementsystem.security.SecurityTools;
+import com.java.hotelmanagementsystem.security.SessionTokenService;
 import com.java.hotelmanagementsystem.services.UserService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,8 +27,8 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 
 /**
@@ -40,22 +44,52 @@ import java.util.stream.StreamSupport;
 public class UserServiceImp implements UserService {
 
     private final UserRepository userRepository;
+    private final RoomReservationRepository roomReservationRepository;
+    private final EntertainmentReservationRepository entertainmentReservationRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
     private final SecurityTools securityTools;
-    private final JwtService jwtService;
+    private final PrincipalCache principalCache;
+    private final SessionTokenService sessionTokenService;
+    private final GuestSearchIndex guestSearchIndex;
+
+    @Value("${users.listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${users.export.page-size:1000}")
+    private int exportPageSize;
+
+    @Override
+    public List<UserDto> getAll(int afterId, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        return userRepository.findPageAfter(afterId, PageRequest.of(0, limit));
+    }
 
     @Override
-    public List<UserDto> getAll() {
-        Iterable<User> users = userRepository.findAll();
-        return StreamSupport.stream(users.spliterator(), false)
-                .map(UserDto::new)
-                .collect(Collectors.toList());
+    public void exportAll(Consumer<List<UserDto>> pageConsumer) {
+        int afterId = 0;
+        while (true) {
+            List<UserDto> page =
+                    userRepository.findPageAfter(afterId, PageRequest.of(0, exportPageSize));
+            if (page.isEmpty()) {
+                return;
+            }
+            pageConsumer.accept(page);
+            if (page.size() < exportPageSize) {
+                return;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
     }
 
     @Override
     public List<UserDto> getByMatching(String name) {
+        if (guestSearchIndex.isReady()) {
+            return guestSearchIndex.search(name, 5);
+        }
         Pageable limit = PageRequest.of(0, 5);
         String[] parts = name.split(" ", 2);
 
@@ -84,12 +118,7 @@ public class UserServiceImp implements UserService {
 
     @Override
     public UserDto getByToken() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> user = userRepository.findByEmail(email);
-        if (user.isEmpty()) {
-            throw new NoSuchElementException("User not found");
-        }
-        return user.map(UserDto::new).get();
+        return new UserDto(securityTools.retrieveUserData());
     }
 
     @Override
@@ -111,6 +140,7 @@ public class UserServiceImp implements UserService {
         User user = securityTools.retrieveUserData();
         user.setPassword(passwordEncoder.encode(passwordChangeRequest.getNewPassword()));
         userRepository.save(user);
+        principalCache.evict(email);
     }
 
     @Override
@@ -124,17 +154,20 @@ public class UserServiceImp implements UserService {
                         });
 
         User user = securityTools.retrieveUserData();
+        String previousEmail = user.getEmail();
 
         user.setEmail(emailChangeRequest.getEmail());
         user.setVerified(null);
         emailService.sendConfirmationEmail(user);
         userRepository.save(user);
+        principalCache.evict(previousEmail);
 
-        String jwtToken = jwtService.generateToken(user);
-        jwtService.revokeAllUserTokens(user, TokenType.TokenTypeEnum.ACCESS);
-        jwtService.saveUserToken(user, jwtToken, TokenType.TokenTypeEnum.ACCESS);
+        SessionTokenService.Tokens tokens = sessionTokenService.startSession(user);
 
-        return AuthenticationResponse.builder().token(jwtToken).build();
+        return AuthenticationResponse.builder()
+                .token(tokens.accessToken())
+                .refreshToken(tokens.refreshToken())
+                .build();
     }
 
     @Override
@@ -168,14 +201,13 @@ public class UserServiceImp implements UserService {
 
     @Override
     public int getUserRoomReservationsCount() {
-        User user = securityTools.retrieveUserData();
-        return user.getRoomReservations().size();
+        return (int) roomReservationRepository.countByUserId(securityTools.retrieveUserId());
     }
 
     @Override
     public int getUserEntertainmentReservationsCount() {
-        User user = securityTools.retrieveUserData();
-        return user.getEntertainmentReservations().size();
+        return (int) entertainmentReservationRepository.countByUserId(
+                securityTools.retrieveUserId());
     }
 
     @Override
@@ -184,11 +216,13 @@ public class UserServiceImp implements UserService {
         if (user.isEmpty()) {
             throw new NoSuchElementException("User not found");
         }
+        String previousEmail = user.get().getEmail();
         user.get().setFirstName(userUpdateRequest.getFirstName());
         user.get().setLastName(userUpdateRequest.getLastName());
         user.get().setEmail(userUpdateRequest.getEmail());
         user.get().setPhone(userUpdateRequest.getPhone());
         user.get().setDiscount(userUpdateRequest.getDiscount());
         userRepository.save(user.get());
+        principalCache.evict(previousEmail);
     }
 }
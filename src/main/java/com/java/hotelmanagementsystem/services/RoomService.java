@@ -2,6 +2,7 @@ package com.java.hotelmanagementsystem.services;
 
 import com.java.hotelmanagementsystem.models.Room;
 import com.java.hotelmanagementsystem.models.RoomType;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomAvailabilityCalendarResponse;
 
 import java.util.List;
 
@@ -10,7 +11,8 @@ import java.util.List;
  *
  * <p>This interface provides methods for handling room operations such as retrieval, addition, and
  * deletion of rooms. It also includes functionalities for checking room availability, retrieving
- * rooms based on specific criteria, and managing room types and their prices.
+ * rooms based on specific criteria, building availability calendars, and managing room types and
+ * their prices.
  */
 public interface RoomService {
   Room getById(int id);
@@ -30,6 +32,8 @@ public interface RoomService {
 
   List<Room> getAllRoomsByAvailability(String dateFrom, String dateTo);
 
+  RoomAvailabilityCalendarResponse getAvailabilityCalendar(String dateFrom, String dateTo);
+
   List<RoomType> getAllRoomTypes();
 
   void updatePrices(List<RoomType> roomTypes);
@@ -4,6 +4,7 @@ import com.java.hotelmanagementsystem.models.dto.User.*;
 import com.java.hotelmanagementsystem.models.dto.auth.AuthenticationResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for managing user-related services in the application.
@@ -14,7 +15,21 @@ import java.util.List;
  * entertainment reservations.
  */
 public interface UserService {
-    List<UserDto> getAll();
+    /**
+     * Returns a page of users ordered by id, starting after a cursor.
+     *
+     * @param afterId The id of the last user of the previous page, or 0 for the first page.
+     * @param limit The maximum number of users to return.
+     * @return The users of the page.
+     */
+    List<UserDto> getAll(int afterId, int limit);
+
+    /**
+     * Passes every user to a consumer, page by page, without holding more than one page in memory.
+     *
+     * @param pageConsumer Receives each page of users, ordered by id.
+     */
+    void exportAll(Consumer<List<UserDto>> pageConsumer);
 
     UserDto getById(int id);
 
@@ -0,0 +1,146 @@
+-- H2 variant of the PostgreSQL baseline schema, used by the tests.
+
+create table if not exists room_type (
+    id             integer generated by default as identity,
+    price          integer not null,
+    room_area      integer not null,
+    room_occupancy integer not null,
+    primary key (id)
+);
+
+create table if not exists room (
+    id           integer generated by default as identity,
+    number       integer not null,
+    access_code  integer not null,
+    room_type_id integer,
+    primary key (id)
+);
+
+create table if not exists role (
+    id   integer      generated by default as identity,
+    name varchar(255) not null unique check (name in ('ROLE_USER','ROLE_ADMIN','ROLE_CLEANER','ROLE_RESTAURANT')),
+    primary key (id)
+);
+
+create table if not exists users (
+    id         integer generated by default as identity,
+    first_name varchar(50),
+    last_name  varchar(50),
+    email      varchar(100),
+    phone      varchar(20),
+    password   varchar(255),
+    discount   integer check ((discount <= 100) and (discount >= 0)),
+    verified   timestamp(6),
+    primary key (id),
+    unique (email),
+    unique (phone)
+);
+
+create table if not exists user_role (
+    user_id integer not null,
+    role_id integer not null,
+    primary key (role_id, user_id)
+);
+
+create table if not exists token_type (
+    id   integer      generated by default as identity,
+    type varchar(255) not null check (type in ('ACCESS','EMAIL_CONFIRMATION','RESET_PASSWORD')),
+    primary key (id)
+);
+
+create table if not exists token (
+    id            integer      generated by default as identity,
+    token         varchar(255) not null,
+    token_type_id integer      not null,
+    user_id       integer      not null,
+    primary key (id)
+);
+
+create table if not exists payment (
+    id     integer      generated by default as identity,
+    amount integer      not null,
+    "date" timestamp(6) not null,
+    primary key (id)
+);
+
+create table if not exists room_reservation (
+    id         integer      generated by default as identity,
+    from_date  date         not null,
+    to_date    date         not null,
+    booked_at  timestamp(6) not null,
+    room_id    integer,
+    user_id    integer,
+    payment_id integer,
+    primary key (id)
+);
+
+create table if not exists entertainment_type (
+    id    integer     generated by default as identity,
+    name  varchar(50) not null,
+    price integer     not null,
+    primary key (id)
+);
+
+create table if not exists entertainment (
+    id                    integer      generated by default as identity,
+    description           varchar(100) not null,
+    lock_code             integer,
+    entertainment_type_id integer,
+    primary key (id)
+);
+
+create table if not exists entertainment_reservation (
+    id               integer      generated by default as identity,
+    from_date        timestamp(6) not null,
+    to_date          timestamp(6) not null,
+    booked_at        timestamp(6) not null,
+    entertainment_id integer,
+    user_id          integer,
+    payment_id       integer,
+    primary key (id)
+);
+
+create table if not exists dish (
+    id              integer      generated by default as identity,
+    name            varchar(50)  not null,
+    description     varchar(500) not null,
+    photo_directory varchar(255),
+    primary key (id)
+);
+
+create table if not exists menu_type (
+    id   integer      generated by default as identity,
+    name varchar(255) not null check (name in ('BREAKFAST','LUNCH','DINNER')),
+    primary key (id)
+);
+
+create table if not exists menu_item (
+    id           integer generated by default as identity,
+    menu_date    date    not null,
+    menu_type_id integer,
+    dish_id      integer,
+    primary key (id)
+);
+
+create table if not exists cleaning_history (
+    id         integer      generated by default as identity,
+    cleaned_at timestamp(6) not null,
+    room_id    integer,
+    primary key (id)
+);
+
+alter table room add constraint FKd468eq7j1cbue8mk20qfrj5et foreign key (room_type_id) references room_type;
+alter table user_role add constraint FKa68196081fvovjhkek5m97n3y foreign key (role_id) references role;
+alter table user_role add constraint FKj345gk1bovqvfame88rcx7yyx foreign key (user_id) references users;
+alter table token add constraint FK8b0fx0cdgxhv1rxjpwe0iv77i foreign key (token_type_id) references token_type;
+alter table token add constraint FKj8rfw4x0wjjyibfqq566j4qng foreign key (user_id) references users;
+alter table room_reservation add constraint FK19p6c3un3mbs7b7bxkcxk8xn2 foreign key (room_id) references room;
+alter table room_reservation add constraint FKrmwwvyvs6nykro86q1x0vq00o foreign key (user_id) references users;
+alter table room_reservation add constraint FKe16o5rqm6gmdf8upl9y9wwtdt foreign key (payment_id) references payment;
+alter table entertainment add constraint FKog9x3smev3i677p0lrwogebgl foreign key (entertainment_type_id) references entertainment_type;
+alter table entertainment_reservation add constraint FK6glreb8mgwwv764kbvxpxb5xc foreign key (entertainment_id) references entertainment;
+alter table entertainment_reservation add constraint FKna6wunbsbpcpser62yicmlofo foreign key (user_id) references users;
+alter table entertainment_reservation add constraint FKpekgnrg91fqdljw2mrp3ta6ad foreign key (payment_id) references payment;
+alter table menu_item add constraint FKnx0stte065qd7pstcw8wy4qo3 foreign key (dish_id) references dish;
+alter table menu_item add constraint FKjqt0pd5yed6ea8c0m9exn536s foreign key (menu_type_id) references menu_type;
+alter table cleaning_history add constraint FK80g3glbi7d55qookviulk246q foreign key (room_id) references room;
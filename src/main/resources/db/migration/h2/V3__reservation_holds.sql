@@ -0,0 +1,7 @@
+-- H2 variant of the reservation hold columns, without partial indexes.
+
+alter table room_reservation add column if not exists expires_at timestamp(6);
+alter table entertainment_reservation add column if not exists expires_at timestamp(6);
+
+create index if not exists room_reservation_hold_idx on room_reservation (expires_at);
+create index if not exists entertainment_reservation_hold_idx on entertainment_reservation (expires_at);
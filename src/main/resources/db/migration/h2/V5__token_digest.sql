@@ -0,0 +1,9 @@
+-- H2 variant of the token digest migration.
+
+alter table token add column if not exists token_hash varchar(64);
+update token set token_hash = lower(rawtohex(hash('SHA-256', token))) where token_hash is null;
+alter table token alter column token_hash set not null;
+
+drop index if exists token_token_idx;
+alter table token drop column if exists token;
+create index if not exists token_token_hash_idx on token (token_hash);
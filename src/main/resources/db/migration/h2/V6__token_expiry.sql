@@ -0,0 +1,7 @@
+-- H2 variant of the token expiry migration.
+
+alter table token add column if not exists expires_at timestamp(6);
+update token set expires_at = dateadd('DAY', 10, current_timestamp) where expires_at is null;
+alter table token alter column expires_at set not null;
+
+create index if not exists token_expires_at_idx on token (expires_at);
@@ -0,0 +1,17 @@
+-- H2 variant of the email outbox table.
+
+create table if not exists email_outbox (
+    id              integer       generated by default as identity,
+    recipient       varchar(255)  not null,
+    template_id     varchar(100)  not null,
+    substitutions   varchar(4000) not null,
+    status          varchar(20)   not null check (status in ('PENDING','DEAD')),
+    attempts        integer       not null,
+    next_attempt_at timestamp(6)  not null,
+    claimed_by      varchar(100),
+    last_error      varchar(1000),
+    created_at      timestamp(6)  not null,
+    primary key (id)
+);
+
+create index if not exists email_outbox_due_idx on email_outbox (status, next_attempt_at);
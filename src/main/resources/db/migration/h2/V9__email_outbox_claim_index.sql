@@ -0,0 +1,3 @@
+-- Looks up the messages of a claim (findByClaimedByOrderById) instead of scanning the outbox.
+
+create index if not exists email_outbox_claimed_by_idx on email_outbox (claimed_by);
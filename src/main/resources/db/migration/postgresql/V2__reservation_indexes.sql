@@ -0,0 +1,36 @@
+-- Indexes backing the queries in the repositories package.
+
+-- Overlap checks per room (existsOverlapping, the NOT IN sub-queries of the availability queries)
+create index if not exists room_reservation_room_dates_idx
+    on room_reservation (room_id, from_date, to_date);
+-- Range scans over all rooms (index rebuild, calendar, bookings for a period)
+create index if not exists room_reservation_to_date_idx
+    on room_reservation (to_date) include (from_date, room_id);
+create index if not exists room_reservation_from_date_idx
+    on room_reservation (from_date);
+-- Bookings of a user, newest first
+create index if not exists room_reservation_user_booked_idx
+    on room_reservation (user_id, booked_at desc);
+-- Unpaid reservations swept by the scheduler
+create index if not exists room_reservation_unpaid_idx
+    on room_reservation (from_date) where payment_id is null;
+
+create index if not exists entertainment_reservation_entertainment_dates_idx
+    on entertainment_reservation (entertainment_id, from_date, to_date);
+create index if not exists entertainment_reservation_to_date_idx
+    on entertainment_reservation (to_date) include (from_date, entertainment_id);
+create index if not exists entertainment_reservation_from_date_idx
+    on entertainment_reservation (from_date);
+create index if not exists entertainment_reservation_user_idx
+    on entertainment_reservation (user_id);
+create index if not exists entertainment_reservation_unpaid_idx
+    on entertainment_reservation (from_date) where payment_id is null;
+
+create index if not exists room_room_type_idx on room (room_type_id);
+create index if not exists entertainment_entertainment_type_idx on entertainment (entertainment_type_id);
+
+create index if not exists token_token_idx on token (token);
+create index if not exists token_user_type_idx on token (user_id, token_type_id);
+
+create index if not exists menu_item_date_type_idx on menu_item (menu_date, menu_type_id) include (dish_id);
+create index if not exists cleaning_history_room_cleaned_idx on cleaning_history (room_id, cleaned_at);
@@ -0,0 +1,9 @@
+-- Unpaid reservations created through the payment flow are holds released at expires_at.
+
+alter table room_reservation add column if not exists expires_at timestamp(6);
+alter table entertainment_reservation add column if not exists expires_at timestamp(6);
+
+create index if not exists room_reservation_hold_idx
+    on room_reservation (expires_at) where expires_at is not null;
+create index if not exists entertainment_reservation_hold_idx
+    on entertainment_reservation (expires_at) where expires_at is not null;
@@ -0,0 +1,9 @@
+-- Leases electing the single instance that runs each scheduled job.
+
+create table if not exists scheduler_lease (
+    job_name varchar(100) not null,
+    holder varchar(255) not null,
+    lease_until timestamp(6) not null,
+    fencing_token bigint not null,
+    primary key (job_name)
+);
@@ -0,0 +1,9 @@
+-- Tokens are stored as the hex encoded SHA-256 digest of the raw token instead of the token itself.
+
+alter table token add column if not exists token_hash varchar(64);
+update token set token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex') where token_hash is null;
+alter table token alter column token_hash set not null;
+
+drop index if exists token_token_idx;
+alter table token drop column if exists token;
+create index if not exists token_token_hash_idx on token (token_hash);
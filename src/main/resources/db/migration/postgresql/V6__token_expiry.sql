@@ -0,0 +1,8 @@
+-- Expiry of each stored token, used to compact expired tokens. Existing rows get the longest token
+-- lifetime, as their expiry cannot be read back from the stored digest.
+
+alter table token add column if not exists expires_at timestamp(6);
+update token set expires_at = current_timestamp + interval '10 days' where expires_at is null;
+alter table token alter column expires_at set not null;
+
+create index if not exists token_expires_at_idx on token (expires_at);
@@ -0,0 +1,19 @@
+-- Refresh tokens of the stateless authentication mode, stored as digests. Tokens rotated out of a
+-- family are kept until they expire so that their reuse can be detected.
+
+create table if not exists refresh_token (
+    id         serial       not null,
+    token_hash varchar(64)  not null,
+    user_id    integer      not null,
+    family_id  varchar(36)  not null,
+    expires_at timestamp(6) not null,
+    rotated_at timestamp(6),
+    primary key (id)
+);
+
+alter table refresh_token add constraint refresh_token_user_fk foreign key (user_id) references users;
+
+create unique index if not exists refresh_token_hash_idx on refresh_token (token_hash);
+create index if not exists refresh_token_family_idx on refresh_token (family_id);
+create index if not exists refresh_token_user_idx on refresh_token (user_id);
+create index if not exists refresh_token_expires_at_idx on refresh_token (expires_at);
@@ -0,0 +1,18 @@
+-- Outbox of emails written in the transaction of the change that triggers them and delivered
+-- asynchronously. Sent messages are deleted, messages that keep failing stay as DEAD.
+
+create table if not exists email_outbox (
+    id              serial        not null,
+    recipient       varchar(255)  not null,
+    template_id     varchar(100)  not null,
+    substitutions   text          not null,
+    status          varchar(20)   not null check (status in ('PENDING','DEAD')),
+    attempts        integer       not null,
+    next_attempt_at timestamp(6)  not null,
+    claimed_by      varchar(100),
+    last_error      varchar(1000),
+    created_at      timestamp(6)  not null,
+    primary key (id)
+);
+
+create index if not exists email_outbox_due_idx on email_outbox (status, next_attempt_at);
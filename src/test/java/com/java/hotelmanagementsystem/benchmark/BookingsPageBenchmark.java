@@ -0,0 +1,207 @@
+package com.java.hotelmanagementsystem.benchmark;
+
+import com.java.hotelmanagementsystem.HotelManagementSystemApplication;
+import com.java.hotelmanagementsystem.models.*;
+import com.java.hotelmanagementsystem.models.dto.bookings.AllBookingsResponse;
+import com.java.hotelmanagementsystem.repositories.*;
+import com.java.hotelmanagementsystem.services.BookingService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency of listing the bookings page of a guest with 500 bookings, half of them room
+ * stays and half entertainment slots. The entity path loads the reservations the way {@code
+ * BookingServiceImp.getAll} did before and walks the room type, entertainment type and payment of
+ * each row, which lazily loads them one by one, against the two projection queries the service
+ * runs now. Both run against the in-memory H2 database of the tests.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.java.hotelmanagementsystem.benchmark.BookingsPageBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingsPageBenchmark {
+
+  private static final int BOOKINGS = 500;
+
+  private ConfigurableApplicationContext context;
+  private BookingService bookingService;
+  private EntityManager entityManager;
+  private TransactionTemplate transactionTemplate;
+  private int userId;
+
+  @Setup
+  public void setup() {
+    context =
+        new SpringApplicationBuilder(HotelManagementSystemApplication.class)
+            .properties(
+                "spring.config.name=application-test",
+                "spring.jpa.show-sql=false",
+                "server.port=0")
+            .run();
+    bookingService = context.getBean(BookingService.class);
+    entityManager = context.getBean(EntityManager.class);
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+    seed();
+  }
+
+  private void seed() {
+    Role role = context.getBean(RoleRepository.class).save(new Role(Role.RoleEnum.ROLE_USER));
+    User user =
+        context
+            .getBean(UserRepository.class)
+            .save(new User("test", "test", "test@example.com", "123456789", 0, "test", role));
+    userId = user.getId();
+    List<Room> rooms = new ArrayList<>();
+    List<Entertainment> entertainments = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      RoomType roomType =
+          context.getBean(RoomTypeRepository.class).save(new RoomType(i + 1, 80 + i, 20));
+      rooms.add(context.getBean(RoomRepository.class).save(new Room(i + 1, 1000 + i, roomType)));
+      EntertainmentType entertainmentType =
+          context
+              .getBean(EntertainmentTypeRepository.class)
+              .save(new EntertainmentType("Type " + i, 20 + i));
+      entertainments.add(
+          context
+              .getBean(EntertainmentRepository.class)
+              .save(new Entertainment("Element " + i, 2000 + i, entertainmentType)));
+    }
+    Payment payment =
+        context
+            .getBean(PaymentRepository.class)
+            .save(new Payment(new Timestamp(System.currentTimeMillis()), 200));
+
+    JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    List<Object[]> roomRows = new ArrayList<>();
+    List<Object[]> entertainmentRows = new ArrayList<>();
+    for (int i = 0; i < BOOKINGS / 2; i++) {
+      LocalDate from = LocalDate.of(2028, 1, 1).plusDays(i);
+      Integer paymentId = i % 2 == 0 ? payment.getId() : null;
+      roomRows.add(
+          new Object[] {
+            Date.valueOf(from),
+            Date.valueOf(from.plusDays(2)),
+            now,
+            rooms.get(i % rooms.size()).getId(),
+            userId,
+            paymentId
+          });
+      LocalDateTime start = from.atTime(10, 0);
+      entertainmentRows.add(
+          new Object[] {
+            Timestamp.valueOf(start),
+            Timestamp.valueOf(start.plusHours(1)),
+            now,
+            entertainments.get(i % entertainments.size()).getId(),
+            userId,
+            paymentId
+          });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO room_reservation "
+            + "(from_date, to_date, booked_at, room_id, user_id, payment_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)",
+        roomRows);
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO entertainment_reservation "
+            + "(from_date, to_date, booked_at, entertainment_id, user_id, payment_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)",
+        entertainmentRows);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<AllBookingsResponse> entities() {
+    return transactionTemplate.execute(
+        status -> {
+          List<AllBookingsResponse> bookings = new ArrayList<>();
+          for (RoomReservation reservation :
+              entityManager
+                  .createQuery(
+                      "SELECT rr FROM RoomReservation rr WHERE rr.user.id = :userId",
+                      RoomReservation.class)
+                  .setParameter("userId", userId)
+                  .getResultList()) {
+            bookings.add(
+                AllBookingsResponse.builder()
+                    .id(reservation.getId())
+                    .price(reservation.getRoom().getRoomType().getPrice())
+                    .roomTypeId(reservation.getRoom().getRoomType().getId())
+                    .fromDate(reservation.getFromDate().toString())
+                    .toDate(reservation.getToDate().toString())
+                    .timestampFrom(new Timestamp(reservation.getFromDate().getTime()))
+                    .paymentId(
+                        reservation.getPayment() == null ? null : reservation.getPayment().getId())
+                    .build());
+          }
+          for (EntertainmentReservation reservation :
+              entityManager
+                  .createQuery(
+                      "SELECT er FROM EntertainmentReservation er WHERE er.user.id = :userId",
+                      EntertainmentReservation.class)
+                  .setParameter("userId", userId)
+                  .getResultList()) {
+            bookings.add(
+                AllBookingsResponse.builder()
+                    .id(reservation.getId())
+                    .description(reservation.getEntertainment().getDescription())
+                    .price(reservation.getEntertainment().getEntertainmentType().getPrice())
+                    .name(reservation.getEntertainment().getEntertainmentType().getName())
+                    .fromDate(reservation.getDateFrom().toString())
+                    .toDate(reservation.getDateTo().toString())
+                    .timestampFrom(reservation.getDateFrom())
+                    .accessCode(reservation.getEntertainment().getLockCode())
+                    .paymentId(
+                        reservation.getPayment() == null ? null : reservation.getPayment().getId())
+                    .build());
+          }
+          bookings.sort((o1, o2) -> o2.getTimestampFrom().compareTo(o1.getTimestampFrom()));
+          return bookings;
+        });
+  }
+
+  @Benchmark
+  public List<AllBookingsResponse> projections() {
+    return bookingService.getAllByAdmin(userId);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BookingsPageBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,79 @@
+package com.java.hotelmanagementsystem.benchmark;
+
+import com.java.hotelmanagementsystem.security.EmailTemplate;
+import com.java.hotelmanagementsystem.security.EmailTemplateRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CPU cost of rendering one email, both parts of the entertainment booking template,
+ * with the parsed templates cached as in production against parsing them again for every message.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.java.hotelmanagementsystem.benchmark.EmailRenderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailRenderBenchmark {
+
+  private static final Map<String, String> SUBSTITUTIONS =
+      Map.of(
+          "firstName", "Ann",
+          "lastName", "Lee",
+          "dateFrom", "2024-05-01",
+          "timeFrom", "10:00",
+          "dateTo", "2024-05-01",
+          "timeTo", "12:00",
+          "entertainmentType", "Tennis court");
+
+  private EmailTemplateRegistry cached;
+  private EmailTemplateRegistry uncached;
+
+  @Setup
+  public void setup() {
+    cached = registry(true);
+    uncached = registry(false);
+  }
+
+  @Benchmark
+  public EmailTemplateRegistry.RenderedEmail renderCached() {
+    return cached.render(EmailTemplate.ENTERTAINMENT_BOOKING, SUBSTITUTIONS);
+  }
+
+  @Benchmark
+  public EmailTemplateRegistry.RenderedEmail renderParsingEachTime() {
+    return uncached.render(EmailTemplate.ENTERTAINMENT_BOOKING, SUBSTITUTIONS);
+  }
+
+  private static EmailTemplateRegistry registry(boolean cacheable) {
+    EmailTemplateRegistry registry = new EmailTemplateRegistry();
+    ReflectionTestUtils.setField(registry, "cacheable", cacheable);
+    ReflectionTestUtils.invokeMethod(registry, "init");
+    return registry;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(EmailRenderBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,87 @@
+package com.java.hotelmanagementsystem.benchmark;
+
+import com.java.hotelmanagementsystem.security.Implementation.JwtServiceImp;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of validating an access token the way {@code
+ * JwtAuthenticationFilter} did before, parsing the token three times with a freshly decoded key and
+ * parser each time, against the single parse with the cached parser. The token repository lookup is
+ * left out, as it is the same on both paths.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.java.hotelmanagementsystem.benchmark.JwtValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+  private static final String SECRET_KEY =
+      "58703273357638792F423F4428472B4B6250655368566D597133743677397A24";
+
+  private JwtServiceImp jwtService;
+  private UserDetails userDetails;
+  private String jwt;
+
+  @Setup
+  public void setup() {
+    jwtService = new JwtServiceImp(null, null, null);
+    ReflectionTestUtils.setField(jwtService, "SECRET_KEY", SECRET_KEY);
+    ReflectionTestUtils.invokeMethod(jwtService, "init");
+    userDetails = User.withUsername("test@example.com").password("test").roles("USER").build();
+    jwt = jwtService.generateToken(userDetails);
+  }
+
+  @Benchmark
+  public boolean parseThreeTimes() {
+    String username = parse(jwt).getSubject();
+    boolean valid = username.equals(userDetails.getUsername())
+        && parse(jwt).getSubject().equals(userDetails.getUsername());
+    return valid && !parse(jwt).getExpiration().before(new Date());
+  }
+
+  @Benchmark
+  public boolean parseOnce() {
+    Claims claims = jwtService.extractAllClaims(jwt);
+    return claims.getSubject().equals(userDetails.getUsername())
+        && !claims.getExpiration().before(new Date());
+  }
+
+  private static Claims parse(String token) {
+    SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(JwtValidationBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
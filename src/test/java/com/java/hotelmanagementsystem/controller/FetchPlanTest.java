@@ -0,0 +1,237 @@
+package com.java.hotelmanagementsystem.controller;
+
+import com.java.hotelmanagementsystem.models.*;
+import com.java.hotelmanagementsystem.repositories.*;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the number of SQL statements each read endpoint issues, so that a lazy association read
+ * without a matching entity graph shows up as a failing count instead of an N+1 in production.
+ * Every endpoint is called with several reservations in the database.
+ */
+@SpringBootTest(
+        properties = {
+                "spring.config.name=application-test",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + "com.java.hotelmanagementsystem.controller.FetchPlanTest$StatementCounter"
+        })
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class FetchPlanTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomReservationRepository roomReservationRepository;
+    @Autowired
+    private EntertainmentTypeRepository entertainmentTypeRepository;
+    @Autowired
+    private EntertainmentRepository entertainmentRepository;
+    @Autowired
+    private EntertainmentReservationRepository entertainmentReservationRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    /** Counts the statements prepared by the current thread, which runs the whole request. */
+    public static class StatementCounter implements StatementInspector {
+        private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.set(COUNT.get() + 1);
+            return sql;
+        }
+
+        static void reset() {
+            COUNT.set(0);
+        }
+
+        static int count() {
+            return COUNT.get();
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        if (userRepository.count() > 0) {
+            return;
+        }
+        Role role = new Role(Role.RoleEnum.ROLE_USER);
+        roleRepository.save(role);
+        User user = new User("test", "test", "test@example.com", "123456789", 0, "test", role);
+        userRepository.save(user);
+        RoomType single = roomTypeRepository.save(new RoomType(1, 80, 20));
+        RoomType twin = roomTypeRepository.save(new RoomType(2, 100, 30));
+        List<Room> rooms =
+                roomRepository.saveAll(
+                        List.of(
+                                new Room(1, 1234, single),
+                                new Room(2, 1235, twin),
+                                new Room(3, 1236, twin),
+                                new Room(4, 1237, single)));
+        Payment payment =
+                paymentRepository.save(new Payment(new Timestamp(System.currentTimeMillis()), 200));
+        for (int i = 0; i < 3; i++) {
+            RoomReservation reservation =
+                    new RoomReservation(
+                            Date.valueOf(LocalDate.of(2028, 10, 10 + i * 3)),
+                            Date.valueOf(LocalDate.of(2028, 10, 12 + i * 3)),
+                            new Timestamp(System.currentTimeMillis() - 60000 + i),
+                            rooms.get(i),
+                            user);
+            reservation.setPayment(i == 0 ? payment : null);
+            roomReservationRepository.save(reservation);
+        }
+        // A stay started today fails the future date validation, so it is inserted directly
+        jdbcTemplate.update(
+                "INSERT INTO room_reservation "
+                        + "(from_date, to_date, booked_at, room_id, user_id, payment_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                Date.valueOf(LocalDate.now()),
+                Date.valueOf(LocalDate.now().plusDays(2)),
+                new Timestamp(System.currentTimeMillis()),
+                rooms.get(3).getId(),
+                user.getId(),
+                payment.getId());
+        EntertainmentType tennis =
+                entertainmentTypeRepository.save(new EntertainmentType("Tennis", 20));
+        EntertainmentType sauna =
+                entertainmentTypeRepository.save(new EntertainmentType("Sauna", 30));
+        List<Entertainment> entertainments =
+                entertainmentRepository.saveAll(
+                        List.of(
+                                new Entertainment("Court 1", 1111, tennis),
+                                new Entertainment("Sauna 1", 2222, sauna)));
+        for (int i = 0; i < 2; i++) {
+            entertainmentReservationRepository.save(
+                    new EntertainmentReservation(
+                            Timestamp.valueOf("2028-10-1" + i + " 10:00:00"),
+                            Timestamp.valueOf("2028-10-1" + i + " 11:00:00"),
+                            new Timestamp(System.currentTimeMillis()),
+                            user,
+                            entertainments.get(i),
+                            i == 0 ? payment : null));
+        }
+    }
+
+    private void assertStatements(int expected, String url, ResultMatcher... matchers)
+            throws Exception {
+        StatementCounter.reset();
+        mockMvc.perform(get(url)).andExpect(status().isOk()).andExpectAll(matchers);
+        assertEquals(expected, StatementCounter.count(), "SQL statements issued by " + url);
+    }
+
+    @Test
+    @DisplayName("Junit to test that listing the bookings of the current user takes 3 statements")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenBookings_whenGetAll_thenThreeStatements() throws Exception {
+        // The user id, its room booking rows and its entertainment booking rows
+        assertStatements(3, "/api/v1/bookings/getAll", jsonPath("$.data", hasSize(6)));
+    }
+
+    @Test
+    @DisplayName("Junit to test that listing the bookings of a user by admin takes 3 statements")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenBookings_whenGetAllByAdmin_thenThreeStatements() throws Exception {
+        int userId = userRepository.findIdByEmail("test@example.com").orElseThrow();
+        assertStatements(
+                3, "/api/v1/bookings/getAllByAdmin/" + userId, jsonPath("$.data", hasSize(6)));
+    }
+
+    @Test
+    @DisplayName("Junit to test that the room bookings for a period take 1 statement")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenBookings_whenGetBookingsForPeriod_thenOneStatement() throws Exception {
+        assertStatements(
+                1,
+                "/api/v1/bookings/room/getBookingsForPeriod/2028-10-01/2028-10-31",
+                jsonPath("$.data", hasSize(3)));
+    }
+
+    @Test
+    @DisplayName("Junit to test that the entertainment bookings for a period take 1 statement")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenBookings_whenGetEntertainmentBookingsForPeriod_thenOneStatement() throws Exception {
+        assertStatements(
+                1,
+                "/api/v1/bookings/getEntertainmentBookingsForPeriod/2028-10-01/2028-10-31",
+                jsonPath("$.data", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Junit to test that the last booking takes 2 statements and carries the room type")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenBookings_whenGetLastBooking_thenTwoStatements() throws Exception {
+        assertStatements(
+                2,
+                "/api/v1/bookings/room/getLastBooking",
+                jsonPath("$.data.number", is(4)),
+                jsonPath("$.data.roomType.price", is(80)));
+    }
+
+    @Test
+    @DisplayName("Junit to test that the current rooms take 2 statements")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenActiveStay_whenGetAllCurrentRooms_thenTwoStatements() throws Exception {
+        assertStatements(
+                2, "/api/v1/bookings/room/getAllCurrentRooms", jsonPath("$.data", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Junit to test that the rooms to clean take 1 statement")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenActiveStay_whenGetRoomsToClean_thenOneStatement() throws Exception {
+        assertStatements(
+                1, "/api/v1/cleaning/getRoomsToClean", jsonPath("$.data[0].roomNumber", is(4)));
+    }
+
+    @Test
+    @DisplayName("Junit to test that listing the rooms takes 1 statement")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenRooms_whenGetAll_thenOneStatement() throws Exception {
+        assertStatements(
+                1, "/api/v1/room/getAll", jsonPath("$.data[0].roomType.price", is(80)));
+    }
+
+    @Test
+    @DisplayName("Junit to test that listing the entertainment elements takes 1 statement")
+    @WithMockUser(username = "test@example.com", roles = "ADMIN")
+    void givenEntertainments_whenGetAll_thenOneStatement() throws Exception {
+        assertStatements(
+                1,
+                "/api/v1/entertainment/getAll",
+                jsonPath("$.data[0].entertainmentType.name", is("Tennis")));
+    }
+}
@@ -111,6 +111,15 @@ public class RoomControllerTest {
                 Assertions.assertEquals(4, roomRepository.findAll().size());
     }
     @Test
+    @DisplayName("Junit to get Room availability calendar")
+    void givenRoomReservation_whenGetCalendar_thenReturnFreeRoomsPerNight() throws Exception{
+        mockMvc
+                .perform(get("/api/v1/room/calendar/2028-10-09/2028-10-13"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.roomTypeIds[0]", is(1)))
+                .andExpect(jsonPath("$.data.freeRooms[0]", is(List.of(5, 4, 4, 4, 5))));
+    }
+    @Test
     @DisplayName("Junit to get Room Availabilty True")
     @WithMockUser(username = "test@example.com", roles = "ADMIN")
     void givenRoomDate_whenGetAvailable_thenReturnTrue() throws Exception{
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.java.hotelmanagementsystem.models.Role;
 import com.java.hotelmanagementsystem.models.User;
 import com.java.hotelmanagementsystem.models.dto.User.DiscountChangeRequest;
+import com.java.hotelmanagementsystem.models.dto.User.UserDto;
 import com.java.hotelmanagementsystem.models.dto.User.UserUpdateRequest;
 import com.java.hotelmanagementsystem.repositories.RoleRepository;
 import com.java.hotelmanagementsystem.repositories.UserRepository;
@@ -23,13 +24,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(properties = "spring.config.name=application-test")
@@ -98,6 +104,38 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.data[1].id", is(2)));
     }
 
+    @Test
+    @DisplayName("Junit to get the users page by page with a cursor")
+    @WithMockUser(username = "kalyan@gmail.com", roles = "ADMIN")
+    void givenLimit_whenGetAll_thenReturnPageAndNextCursor() throws Exception{
+        mockMvc.perform(get("/api/v1/user/get-all").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(jsonPath("$.data.length()", is(1)))
+                .andExpect(jsonPath("$.data[0].id", is(1)));
+        mockMvc.perform(get("/api/v1/user/get-all").param("after", "1").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.data.length()", is(1)))
+                .andExpect(jsonPath("$.data[0].id", is(2)));
+    }
+
+    @Test
+    @DisplayName("Junit to export all users as newline-delimited JSON")
+    @WithMockUser(username = "kalyan@gmail.com", roles = "ADMIN")
+    void givenUsers_whenExport_thenStreamOneJsonLinePerUser() throws Exception{
+        MvcResult started = mockMvc.perform(get("/api/v1/user/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], UserDto.class).getEmail())
+                .isEqualTo("test@gmail.com");
+    }
+
     @Test
     @DisplayName("Junit to test emailVerificaton")
     @WithMockUser(username = "kalyan@gmail.com", roles = "ADMIN")
@@ -0,0 +1,112 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.availability.AvailabilityCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AvailabilityCacheTest {
+
+    private AvailabilityCache availabilityCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        availabilityCache = new AvailabilityCache();
+        ReflectionTestUtils.setField(availabilityCache, "enabled", true);
+        ReflectionTestUtils.setField(availabilityCache, "maxEntries", 2);
+        ReflectionTestUtils.setField(availabilityCache, "ttlSeconds", 60L);
+    }
+
+    private AvailabilityCache.Key roomKey(int roomTypeId, long from, long to) {
+        return new AvailabilityCache.Key(
+                AvailabilityCache.Area.ROOM, "rooms", roomTypeId, from, to);
+    }
+
+    private List<Integer> load(AvailabilityCache.Key key) {
+        return availabilityCache.get(key, () -> List.of(loads.incrementAndGet()));
+    }
+
+    @Test
+    @DisplayName("Junit to test that a repeated search is served from the cache")
+    void givenCachedSearch_whenGet_thenLoaderRunsOnce() {
+        //given - precondition or setup
+        AvailabilityCache.Key key = roomKey(1, 10, 20);
+        load(key);
+        //when - action or the behaviour that we are going test
+        List<Integer> result = load(key);
+        //then - verify the output
+        assertThat(result).containsExactly(1);
+        assertThat(availabilityCache.getStats().hits()).isEqualTo(1);
+        assertThat(availabilityCache.getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Junit to test that only overlapping searches are invalidated")
+    void givenCachedSearches_whenInvalidateOverlapping_thenOnlyOverlappingAreDropped() {
+        //given - precondition or setup
+        AvailabilityCache.Key before = roomKey(1, 10, 20);
+        AvailabilityCache.Key after = roomKey(1, 30, 40);
+        load(before);
+        load(after);
+        //when - action or the behaviour that we are going test
+        availabilityCache.invalidateOverlapping(AvailabilityCache.Area.ROOM, 20, 25);
+        availabilityCache.invalidateOverlapping(AvailabilityCache.Area.ENTERTAINMENT, 0, 100);
+        //then - verify the output
+        assertThat(load(before)).containsExactly(3);
+        assertThat(load(after)).containsExactly(2);
+        assertThat(availabilityCache.getStats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Junit to test that the least recently used search is evicted when full")
+    void givenFullCache_whenGetNewSearch_thenEvictLeastRecentlyUsed() {
+        //given - precondition or setup
+        AvailabilityCache.Key first = roomKey(1, 10, 20);
+        AvailabilityCache.Key second = roomKey(2, 10, 20);
+        load(first);
+        load(second);
+        load(first);
+        //when - action or the behaviour that we are going test
+        load(roomKey(3, 10, 20));
+        //then - verify the output
+        assertThat(availabilityCache.getStats().evictions()).isEqualTo(1);
+        assertThat(load(first)).containsExactly(1);
+        assertThat(load(second)).containsExactly(4);
+    }
+
+    @Test
+    @DisplayName("Junit to test that expired searches are loaded again")
+    void givenExpiredSearch_whenGet_thenLoadAgain() {
+        //given - precondition or setup
+        ReflectionTestUtils.setField(availabilityCache, "ttlSeconds", 0L);
+        AvailabilityCache.Key key = roomKey(1, 10, 20);
+        load(key);
+        //when - action or the behaviour that we are going test
+        List<Integer> result = load(key);
+        //then - verify the output
+        assertThat(result).containsExactly(2);
+        assertThat(availabilityCache.getStats().expirations()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Junit to test that a search racing an invalidation is not cached")
+    void givenInvalidationDuringLoad_whenGet_thenResultIsNotCached() {
+        //given - precondition or setup
+        AvailabilityCache.Key key = roomKey(1, 10, 20);
+        availabilityCache.get(key, () -> {
+            availabilityCache.invalidateOverlapping(AvailabilityCache.Area.ROOM, 15, 15);
+            return List.of(loads.incrementAndGet());
+        });
+        //when - action or the behaviour that we are going test
+        List<Integer> result = load(key);
+        //then - verify the output
+        assertThat(result).containsExactly(2);
+    }
+}
@@ -0,0 +1,102 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.security.BoundedPasswordEncoder;
+import com.java.hotelmanagementsystem.security.PasswordHashingRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        passwordEncoder = new BoundedPasswordEncoder();
+        ReflectionTestUtils.setField(passwordEncoder, "bcryptCost", 4);
+        ReflectionTestUtils.setField(passwordEncoder, "threads", 1);
+        ReflectionTestUtils.setField(passwordEncoder, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordEncoder, "timeoutMs", 5000L);
+        ReflectionTestUtils.invokeMethod(passwordEncoder, "init");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(passwordEncoder, "shutdown");
+    }
+
+    @Test
+    @DisplayName("Junit to test that passwords are hashed and verified on the worker pool")
+    void givenPassword_whenEncodeAndMatch_thenVerifiedOnWorkers() {
+        //given - precondition or setup
+        String hash = passwordEncoder.encode("Secret@123");
+
+        //when - action or the behaviour that we are going test
+        boolean matches = passwordEncoder.matches("Secret@123", hash);
+        boolean wrongMatches = passwordEncoder.matches("Wrong@123", hash);
+
+        //then - verify the output
+        assertThat(matches).isTrue();
+        assertThat(wrongMatches).isFalse();
+        BoundedPasswordEncoder.Stats stats = passwordEncoder.getStats();
+        assertThat(stats.completed()).isEqualTo(3);
+        assertThat(stats.rejected()).isZero();
+        assertThat(stats.maxHashMillis()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Junit to test that hashing is rejected right away when the queue is full")
+    void givenSaturatedWorkers_whenEncode_thenRejected() throws InterruptedException {
+        //given - precondition or setup
+        ThreadPoolExecutor executor =
+                (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordEncoder, "executor");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(
+                () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        started.await();
+        executor.execute(() -> {});
+
+        //when - action or the behaviour that we are going test
+        long start = System.currentTimeMillis();
+        assertThrows(PasswordHashingRejectedException.class, () -> passwordEncoder.encode("x"));
+
+        //then - verify the output
+        assertThat(System.currentTimeMillis() - start).isLessThan(1000);
+        assertThat(passwordEncoder.getStats().rejected()).isEqualTo(1);
+        assertThat(passwordEncoder.getStats().queueDepth()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Junit to test that hashes made with another cost are upgraded")
+    void givenHashWithOtherCost_whenCheckUpgrade_thenUpgradeRequested() {
+        //given - precondition or setup
+        String oldHash = new BCryptPasswordEncoder(5).encode("Secret@123");
+        String currentHash = passwordEncoder.encode("Secret@123");
+
+        //when - action or the behaviour that we are going test
+        boolean upgradeOld = passwordEncoder.upgradeEncoding(oldHash);
+        boolean upgradeCurrent = passwordEncoder.upgradeEncoding(currentHash);
+
+        //then - verify the output
+        assertThat(upgradeOld).isTrue();
+        assertThat(upgradeCurrent).isFalse();
+    }
+}
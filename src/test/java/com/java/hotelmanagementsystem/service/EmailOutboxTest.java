@@ -0,0 +1,170 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.hotelmanagementsystem.models.EmailOutboxMessage;
+import com.java.hotelmanagementsystem.repositories.EmailOutboxRepository;
+import com.java.hotelmanagementsystem.security.EmailOutbox;
+import com.java.hotelmanagementsystem.security.Implementation.EmailSender;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private EmailSender emailSender;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @InjectMocks
+    private EmailOutbox emailOutbox;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(emailOutbox, "batchSize", 2);
+        ReflectionTestUtils.setField(emailOutbox, "threads", 2);
+        ReflectionTestUtils.setField(emailOutbox, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutbox, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(emailOutbox, "maxBackoffMs", 60000L);
+        ReflectionTestUtils.setField(emailOutbox, "claimTimeoutMs", 60000L);
+        ReflectionTestUtils.invokeMethod(emailOutbox, "init");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(emailOutbox, "shutdown");
+    }
+
+    @Test
+    @DisplayName("Junit to test that claimed messages are sent in batches and then deleted")
+    void givenDueMessages_whenDrain_thenSentInBatchesAndDeleted() throws Exception {
+        //given - precondition or setup
+        given(emailOutboxRepository.findDueIds(any(), any())).willReturn(List.of(1, 2, 3));
+        given(emailOutboxRepository.findByClaimedByOrderById(anyString()))
+                .willReturn(List.of(message(1, 0), message(2, 0), message(3, 0)));
+        given(emailSender.createEmail(anyString(), anyString(), anyMap()))
+                .willAnswer(invocation -> mimeMessage());
+
+        //when - action or the behaviour that we are going test
+        int sent = emailOutbox.drain();
+
+        //then - verify the output
+        assertThat(sent).isEqualTo(3);
+        verify(emailOutboxRepository).claim(eq(List.of(1, 2, 3)), anyString(), any(), any());
+        verify(emailSender, times(2)).sendEmails(any(MimeMessage[].class));
+        verify(emailOutboxRepository, times(2)).deleteByIds(anyCollection());
+        assertThat(emailOutbox.getStats().sent()).isEqualTo(3);
+        assertThat(emailOutbox.getStats().batches()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Junit to test that failed messages are retried later and dead after the last try")
+    void givenFailingServer_whenDrain_thenRescheduledOrDeadLettered() throws Exception {
+        //given - precondition or setup
+        given(emailOutboxRepository.findDueIds(any(), any())).willReturn(List.of(1, 2));
+        given(emailOutboxRepository.findByClaimedByOrderById(anyString()))
+                .willReturn(List.of(message(1, 0), message(2, 2)));
+        given(emailSender.createEmail(anyString(), anyString(), anyMap()))
+                .willAnswer(invocation -> mimeMessage());
+        willThrow(new MailSendException("Connection refused"))
+                .given(emailSender).sendEmails(any(MimeMessage[].class));
+
+        //when - action or the behaviour that we are going test
+        int sent = emailOutbox.drain();
+
+        //then - verify the output
+        assertThat(sent).isZero();
+        verify(emailOutboxRepository).reschedule(eq(1), any(Timestamp.class), anyString());
+        verify(emailOutboxRepository).markDead(eq(2), anyString());
+        verify(emailOutboxRepository, never()).reschedule(eq(2), any(), any());
+        verify(emailOutboxRepository, never()).deleteByIds(anyCollection());
+        assertThat(emailOutbox.getStats().failedAttempts()).isEqualTo(1);
+        assertThat(emailOutbox.getStats().deadLettered()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Junit to test that unexpected errors while building or sending count as attempts")
+    void givenUnexpectedErrors_whenDrain_thenRescheduled() throws Exception {
+        //given - precondition or setup
+        given(emailOutboxRepository.findDueIds(any(), any())).willReturn(List.of(1, 2));
+        given(emailOutboxRepository.findByClaimedByOrderById(anyString()))
+                .willReturn(List.of(message(1, 0), message(2, 0)));
+        given(emailSender.createEmail(eq("guest1@example.com"), anyString(), anyMap()))
+                .willThrow(new IllegalStateException("Template failed to render"));
+        given(emailSender.createEmail(eq("guest2@example.com"), anyString(), anyMap()))
+                .willAnswer(invocation -> mimeMessage());
+        willThrow(new IllegalStateException("Database unavailable"))
+                .given(emailSender).sendEmails(any(MimeMessage[].class));
+
+        //when - action or the behaviour that we are going test
+        int sent = emailOutbox.drain();
+
+        //then - verify the output
+        assertThat(sent).isZero();
+        verify(emailOutboxRepository).reschedule(eq(1), any(Timestamp.class), anyString());
+        verify(emailOutboxRepository).reschedule(eq(2), any(Timestamp.class), anyString());
+        assertThat(emailOutbox.getStats().failedAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Junit to test that a message is only queued by the caller, not sent")
+    void givenEmail_whenEnqueue_thenSavedAsPending() {
+        //given - precondition or setup
+        Map<String, String> substitutions = Map.of("firstName", "Ann");
+
+        //when - action or the behaviour that we are going test
+        emailOutbox.enqueue("guest@example.com", "d-template", substitutions);
+
+        //then - verify the output
+        verify(emailOutboxRepository).save(argThat(message ->
+                message.getStatus() == EmailOutboxMessage.Status.PENDING
+                        && message.getAttempts() == 0
+                        && message.getSubstitutions().equals("{\"firstName\":\"Ann\"}")));
+        verify(emailSender, never()).sendEmails(any(MimeMessage[].class));
+    }
+
+    private static EmailOutboxMessage message(int id, int attempts) {
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .recipient("guest" + id + "@example.com")
+                .templateId("d-template")
+                .substitutions("{\"firstName\":\"Ann\"}")
+                .status(EmailOutboxMessage.Status.PENDING)
+                .attempts(attempts)
+                .build();
+    }
+
+    private static MimeMessage mimeMessage() {
+        return new MimeMessage(Session.getInstance(new Properties()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.security.EmailTemplate;
+import com.java.hotelmanagementsystem.security.EmailTemplateRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmailTemplateRegistryTest {
+
+    private EmailTemplateRegistry emailTemplateRegistry;
+
+    @BeforeEach
+    public void setup() {
+        emailTemplateRegistry = new EmailTemplateRegistry();
+        ReflectionTestUtils.setField(emailTemplateRegistry, "cacheable", true);
+        ReflectionTestUtils.invokeMethod(emailTemplateRegistry, "init");
+    }
+
+    @Test
+    @DisplayName("Junit to test that a template is rendered by its ID into HTML and text parts")
+    void givenTemplateId_whenRender_thenHtmlAndTextContainSubstitutions() {
+        //given - precondition or setup
+        Map<String, String> substitutions =
+                Map.of(
+                        "firstName", "Ann",
+                        "lastName", "<Lee>",
+                        "roomNumber", "101",
+                        "from", "2024-05-01",
+                        "to", "2024-05-03");
+
+        //when - action or the behaviour that we are going test
+        EmailTemplateRegistry.RenderedEmail email =
+                emailTemplateRegistry.render(EmailTemplate.ROOM_BOOKING.getId(), substitutions);
+
+        //then - verify the output
+        assertThat(email.subject()).isEqualTo("Your room booking");
+        assertThat(email.html()).contains("Ann", "&lt;Lee&gt;", "101", "2024-05-01", "2024-05-03");
+        assertThat(email.html()).doesNotContain("<Lee>");
+        assertThat(email.text())
+                .contains("Hello Ann <Lee>,", "room 101 from 2024-05-01 to 2024-05-03");
+    }
+
+    @Test
+    @DisplayName("Junit to test that links are rendered into both parts of the email")
+    void givenLink_whenRenderConfirmation_thenLinkIsInBothParts() {
+        //given - precondition or setup
+        Map<String, String> substitutions =
+                Map.of(
+                        "firstName", "Ann",
+                        "lastName", "Lee",
+                        "confirmEmailLink", "/email-confirmation?emailToken=abc");
+
+        //when - action or the behaviour that we are going test
+        EmailTemplateRegistry.RenderedEmail email =
+                emailTemplateRegistry.render(EmailTemplate.EMAIL_CONFIRMATION, substitutions);
+
+        //then - verify the output
+        assertThat(email.html()).contains("href=\"/email-confirmation?emailToken=abc\"");
+        assertThat(email.text()).contains("/email-confirmation?emailToken=abc");
+    }
+
+    @Test
+    @DisplayName("Junit to test that an unknown template ID is rejected")
+    void givenUnknownTemplateId_whenRender_thenThrows() {
+        assertThatThrownBy(() -> emailTemplateRegistry.render("d-unknown", Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
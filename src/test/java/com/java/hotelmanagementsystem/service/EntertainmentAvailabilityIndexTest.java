@@ -0,0 +1,136 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.availability.EntertainmentAvailabilityIndex;
+import com.java.hotelmanagementsystem.models.Entertainment;
+import com.java.hotelmanagementsystem.models.EntertainmentType;
+import com.java.hotelmanagementsystem.models.dto.bookings.EntertainmentReservationInterval;
+import com.java.hotelmanagementsystem.repositories.EntertainmentRepository;
+import com.java.hotelmanagementsystem.repositories.EntertainmentReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EntertainmentAvailabilityIndexTest {
+    @Mock
+    private EntertainmentRepository entertainmentRepository;
+    @Mock
+    private EntertainmentReservationRepository entertainmentReservationRepository;
+    @InjectMocks
+    private EntertainmentAvailabilityIndex entertainmentAvailabilityIndex;
+
+    private final long now = System.currentTimeMillis();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(entertainmentAvailabilityIndex, "enabled", true);
+        EntertainmentType sauna = new EntertainmentType("Sauna", 20);
+        sauna.setId(1);
+        EntertainmentType tennis = new EntertainmentType("Tennis", 30);
+        tennis.setId(2);
+        Entertainment sauna1 = new Entertainment("Sauna one", 1111, sauna);
+        sauna1.setId(1);
+        Entertainment sauna2 = new Entertainment("Sauna two", 2222, sauna);
+        sauna2.setId(2);
+        Entertainment court = new Entertainment("Court", 3333, tennis);
+        court.setId(3);
+        given(entertainmentRepository.findAll()).willReturn(List.of(sauna1, sauna2, court));
+        given(entertainmentReservationRepository.findIntervalsEndingOnOrAfter(any()))
+                .willReturn(List.of(
+                        new EntertainmentReservationInterval(10, 1, 1, hour(2), hour(4)),
+                        new EntertainmentReservationInterval(11, 1, 1, hour(20), hour(70)),
+                        new EntertainmentReservationInterval(12, 3, 2, hour(1), hour(2))));
+        entertainmentAvailabilityIndex.rebuild();
+    }
+
+    private Timestamp hour(int offset) {
+        return new Timestamp(now + offset * 3600000L);
+    }
+
+    @Test
+    @DisplayName("Junit to answer only ranges starting after the build")
+    void givenRanges_whenCanAnswer_thenOnlyCoverLoadedSlots() {
+        assertThat(entertainmentAvailabilityIndex.canAnswer(hour(1), hour(3))).isTrue();
+        assertThat(entertainmentAvailabilityIndex.canAnswer(hour(-1), hour(3))).isFalse();
+        assertThat(entertainmentAvailabilityIndex.canAnswer(hour(3), hour(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Junit to find free elements of a type with inclusive bounds")
+    void givenSlots_whenFindAvailable_thenSkipOverlapping() {
+        assertThat(entertainmentAvailabilityIndex
+                .findAvailableEntertainmentIds(1, hour(3), hour(5)))
+                .containsExactly(2);
+        assertThat(entertainmentAvailabilityIndex
+                .findAvailableEntertainmentIds(1, hour(4), hour(5)))
+                .containsExactly(2);
+        assertThat(entertainmentAvailabilityIndex
+                .findAvailableEntertainmentIds(1, hour(5), hour(6)))
+                .containsExactly(1, 2);
+        assertThat(entertainmentAvailabilityIndex
+                .findAvailableEntertainmentIds(1, hour(30), hour(31)))
+                .containsExactly(2);
+        assertThat(entertainmentAvailabilityIndex
+                .findAvailableEntertainmentIds(7, hour(30), hour(31)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Junit to check a single element against its type")
+    void givenElement_whenIsAvailable_thenCheckTypeAndSlots() {
+        assertThat(entertainmentAvailabilityIndex.isAvailable(3, 2, hour(3), hour(4))).isTrue();
+        assertThat(entertainmentAvailabilityIndex.isAvailable(3, 1, hour(3), hour(4))).isFalse();
+        assertThat(entertainmentAvailabilityIndex.isAvailable(3, 2, hour(0), hour(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Junit to release and move slots")
+    void givenChanges_whenUpdated_thenReflectThem() {
+        entertainmentAvailabilityIndex.removeReservation(11);
+        assertThat(entertainmentAvailabilityIndex.isAvailable(1, 1, hour(30), hour(31))).isTrue();
+        entertainmentAvailabilityIndex.putReservation(13, 2, 1, hour(30), hour(31));
+        assertThat(entertainmentAvailabilityIndex
+                .findAvailableEntertainmentIds(1, hour(31), hour(32)))
+                .containsExactly(1);
+        entertainmentAvailabilityIndex.putEntertainment(2, 2);
+        assertThat(entertainmentAvailabilityIndex
+                .findAvailableEntertainmentIds(2, hour(31), hour(32)))
+                .containsExactly(3);
+        entertainmentAvailabilityIndex.removeEntertainment(3);
+        assertThat(entertainmentAvailabilityIndex
+                .findAvailableEntertainmentIds(2, hour(40), hour(41)))
+                .containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Junit to follow slots booked and released by another instance on refresh")
+    void givenChangesOnAnotherInstance_whenRefresh_thenScheduleFollowsDatabase() {
+        //given - precondition or setup
+        given(entertainmentReservationRepository.findIntervalsEndingOnOrAfter(any()))
+                .willAnswer(invocation -> {
+                    entertainmentAvailabilityIndex.putReservation(14, 3, 2, hour(30), hour(31));
+                    return List.of(
+                            new EntertainmentReservationInterval(11, 1, 1, hour(20), hour(70)),
+                            new EntertainmentReservationInterval(13, 2, 1, hour(2), hour(3)),
+                            new EntertainmentReservationInterval(12, 3, 2, hour(1), hour(2)));
+                });
+        //when - action or the behaviour that we are going test
+        entertainmentAvailabilityIndex.refresh();
+        //then - verify the output
+        assertThat(entertainmentAvailabilityIndex.isAvailable(1, 1, hour(3), hour(3))).isTrue();
+        assertThat(entertainmentAvailabilityIndex.isAvailable(2, 1, hour(3), hour(3))).isFalse();
+        assertThat(entertainmentAvailabilityIndex.isAvailable(3, 2, hour(30), hour(30))).isFalse();
+    }
+}
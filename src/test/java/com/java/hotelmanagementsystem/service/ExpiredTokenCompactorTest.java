@@ -0,0 +1,110 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.repositories.RefreshTokenRepository;
+import com.java.hotelmanagementsystem.repositories.TokenRepository;
+import com.java.hotelmanagementsystem.scheduler.LeaderLease;
+import com.java.hotelmanagementsystem.security.ExpiredTokenCompactor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ExpiredTokenCompactorTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private LeaderLease leaderLease;
+    @InjectMocks
+    private ExpiredTokenCompactor expiredTokenCompactor;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(expiredTokenCompactor, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Junit to test that expired tokens are deleted chunk by chunk")
+    void givenExpiredTokens_whenCompact_thenDeletedInChunks() {
+        //given - precondition or setup
+        given(tokenRepository.findExpiredIds(any(), any()))
+                .willReturn(List.of(1, 2), List.of(3));
+        given(tokenRepository.deleteByIds(anyCollection())).willReturn(2, 1);
+        given(refreshTokenRepository.findExpiredIds(any(), any())).willReturn(List.of(4));
+        given(refreshTokenRepository.deleteByIds(anyCollection())).willReturn(1);
+        given(tokenRepository.count()).willReturn(7L);
+        given(refreshTokenRepository.count()).willReturn(2L);
+
+        //when - action or the behaviour that we are going test
+        ExpiredTokenCompactor.Run run = expiredTokenCompactor.deleteExpiredTokens();
+
+        //then - verify the output
+        assertThat(run.rowsPurged()).isEqualTo(4);
+        assertThat(run.chunks()).isEqualTo(3);
+        verify(tokenRepository).deleteByIds(List.of(1, 2));
+        verify(tokenRepository).deleteByIds(List.of(3));
+        verify(refreshTokenRepository).deleteByIds(List.of(4));
+        ExpiredTokenCompactor.Stats stats = expiredTokenCompactor.getStats();
+        assertThat(stats.totalRowsPurged()).isEqualTo(4);
+        assertThat(stats.tableSize()).isEqualTo(7);
+        assertThat(stats.refreshTableSize()).isEqualTo(2);
+        assertThat(stats.lastRun()).isEqualTo(run);
+    }
+
+    @Test
+    @DisplayName("Junit to test that nothing is deleted when no token has expired")
+    void givenNoExpiredTokens_whenCompact_thenNothingDeleted() {
+        //given - precondition or setup
+        given(tokenRepository.findExpiredIds(any(), any())).willReturn(List.of());
+
+        //when - action or the behaviour that we are going test
+        ExpiredTokenCompactor.Run run = expiredTokenCompactor.deleteExpiredTokens();
+
+        //then - verify the output
+        assertThat(run.rowsPurged()).isZero();
+        assertThat(run.chunks()).isZero();
+        verify(tokenRepository, never()).deleteByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Junit to test that compaction stops once its lease is taken over")
+    void givenLeaseTakenOver_whenCompact_thenStopsAfterChunk() {
+        //given - precondition or setup
+        LeaderLease.Lease lease = new LeaderLease.Lease("compactExpiredTokens", 1);
+        given(leaderLease.runIfLeader(any(), any(), any()))
+                .willAnswer(
+                        invocation -> {
+                            invocation.<Consumer<LeaderLease.Lease>>getArgument(2)
+                                    .accept(lease);
+                            return true;
+                        });
+        given(leaderLease.isHeld(lease)).willReturn(false);
+        given(tokenRepository.findExpiredIds(any(), any())).willReturn(List.of(1, 2));
+        given(tokenRepository.deleteByIds(anyCollection())).willReturn(2);
+
+        //when - action or the behaviour that we are going test
+        expiredTokenCompactor.compact();
+
+        //then - verify the output
+        verify(tokenRepository, times(1)).deleteByIds(anyCollection());
+        verify(refreshTokenRepository, never()).findExpiredIds(any(), any());
+    }
+}
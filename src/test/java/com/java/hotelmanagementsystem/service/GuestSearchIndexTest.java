@@ -0,0 +1,121 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.models.dto.User.UserDto;
+import com.java.hotelmanagementsystem.repositories.UserRepository;
+import com.java.hotelmanagementsystem.search.GuestSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class GuestSearchIndexTest {
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private GuestSearchIndex guestSearchIndex;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(guestSearchIndex, "enabled", true);
+        ReflectionTestUtils.setField(guestSearchIndex, "minSimilarity", 0.5);
+        ReflectionTestUtils.setField(guestSearchIndex, "loadPageSize", 100);
+        given(userRepository.findPageAfter(anyInt(), any()))
+                .willReturn(List.of(
+                        guest(1, "Kalyan", "Sendang", "kalyan@gmail.com", "9804993544"),
+                        guest(2, "Karan", "Sendang", "karan@gmail.com", "9804993546"),
+                        guest(3, "Anna", "Kalyanova", "anna.k@example.com", "+44 7700 900123"),
+                        guest(4, "José", "Álvarez", "jose@example.com", "600123456")));
+        guestSearchIndex.rebuild();
+    }
+
+    private static UserDto guest(
+            int id, String firstName, String lastName, String email, String phone) {
+        return new UserDto(id, firstName, lastName, email, phone, 0);
+    }
+
+    private static List<Integer> ids(List<UserDto> users) {
+        return users.stream().map(UserDto::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Junit to test that an exact name ranks above a name containing it")
+    void givenName_whenSearch_thenExactMatchFirst() {
+        //when - action or the behaviour that we are going test
+        List<UserDto> result = guestSearchIndex.search("kalyan", 5);
+
+        //then - verify the output
+        assertThat(ids(result)).containsExactly(1, 3);
+    }
+
+    @Test
+    @DisplayName("Junit to test that short prefixes autocomplete and every term must match")
+    void givenPrefixTerms_whenSearch_thenOnlyGuestsMatchingAllTerms() {
+        //when - action or the behaviour that we are going test
+        List<UserDto> byPrefix = guestSearchIndex.search("ka", 5);
+        List<UserDto> byFullName = guestSearchIndex.search("Karan Sen", 5);
+
+        //then - verify the output
+        assertThat(ids(byPrefix)).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(ids(byFullName)).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Junit to test that typos, accents, emails and phone digits are matched")
+    void givenFuzzyQueries_whenSearch_thenGuestsFound() {
+        //when - action or the behaviour that we are going test / then - verify the output
+        assertThat(ids(guestSearchIndex.search("kalyam", 5))).startsWith(1);
+        assertThat(ids(guestSearchIndex.search("alvarez jose", 5))).containsExactly(4);
+        assertThat(ids(guestSearchIndex.search("anna.k@example.com", 5))).startsWith(3);
+        assertThat(ids(guestSearchIndex.search("900123", 5))).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Junit to test that updated and deleted guests are reflected in the search")
+    void givenUpdatedGuest_whenSearch_thenNewDetailsFound() {
+        //given - precondition or setup
+        guestSearchIndex.put(guest(2, "Karina", "Smith", "karina@gmail.com", "9804993546"));
+        guestSearchIndex.delete(1);
+
+        //when - action or the behaviour that we are going test
+        List<UserDto> bySendang = guestSearchIndex.search("sendang", 5);
+        List<UserDto> bySmith = guestSearchIndex.search("smith", 5);
+
+        //then - verify the output
+        assertThat(bySendang).isEmpty();
+        assertThat(ids(bySmith)).containsExactly(2);
+        assertThat(guestSearchIndex.getStats().guests()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Junit to test that guests changed without the listener are found after a refresh")
+    void givenGuestsChangedInDatabase_whenRefresh_thenIndexFollows() {
+        //given - precondition or setup
+        given(userRepository.findPageAfter(anyInt(), any()))
+                .willReturn(List.of(
+                        guest(1, "Kalyan", "Sendang", "kalyan@gmail.com", "9804993544"),
+                        guest(3, "Anna", "Kalyanova", "anna.k@example.com", "+44 7700 900123"),
+                        guest(4, "José", "Ortega", "jose@example.com", "600123456"),
+                        guest(5, "Marta", "Novak", "marta@example.com", "600999888")));
+
+        //when - action or the behaviour that we are going test
+        guestSearchIndex.refresh();
+
+        //then - verify the output
+        assertThat(ids(guestSearchIndex.search("marta", 5))).containsExactly(5);
+        assertThat(ids(guestSearchIndex.search("ortega", 5))).containsExactly(4);
+        assertThat(guestSearchIndex.search("alvarez", 5)).isEmpty();
+        assertThat(guestSearchIndex.search("karan", 5)).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.models.TokenType;
+import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.repositories.TokenRepository;
+import com.java.hotelmanagementsystem.repositories.TokenTypeRepository;
+import com.java.hotelmanagementsystem.security.TokenDigest;
+import com.java.hotelmanagementsystem.security.TokenStateCache;
+import com.java.hotelmanagementsystem.security.Implementation.JwtServiceImp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtServiceTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+    @Mock
+    private TokenTypeRepository tokenTypeRepository;
+    @Mock
+    private TokenStateCache tokenStateCache;
+    private JwtServiceImp jwtService;
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        jwtService = new JwtServiceImp(tokenRepository, tokenTypeRepository, tokenStateCache);
+        ReflectionTestUtils.setField(
+                jwtService,
+                "SECRET_KEY",
+                "58703273357638792F423F4428472B4B6250655368566D597133743677397A24");
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        user = new User("test", "test", "test@example.com", "123456789", 0, "test", null);
+        user.setId(1);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization :
+                TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    @Test
+    @DisplayName("Junit to test that a token saved in a rolled back transaction is not cached")
+    void givenRollback_whenSaveUserToken_thenCacheUntouched() {
+        //given - precondition or setup
+        TokenType.TokenTypeEnum type = TokenType.TokenTypeEnum.values()[0];
+        given(tokenTypeRepository.findByType(type)).willReturn(Optional.of(new TokenType(type)));
+        String jwt = jwtService.generateToken(user);
+        //when - action or the behaviour that we are going test
+        jwtService.saveUserToken(user, jwt, type);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        //then - verify the output
+        verify(tokenStateCache, never()).tokenSaved(anyString());
+    }
+
+    @Test
+    @DisplayName("Junit to test that revoked tokens leave the cache once the revocation commits")
+    void givenCommit_whenRevokeAllUserTokens_thenCacheUpdatedAfterCommit() {
+        //given - precondition or setup
+        TokenType.TokenTypeEnum type = TokenType.TokenTypeEnum.values()[0];
+        String hash = TokenDigest.of("token");
+        given(tokenRepository.findTokenHashesByUserAndType(1, type)).willReturn(List.of(hash));
+        //when - action or the behaviour that we are going test
+        jwtService.revokeAllUserTokens(user, type);
+        verify(tokenStateCache, never()).tokenRevoked(anyString());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        //then - verify the output
+        verify(tokenStateCache).tokenRevoked(hash);
+    }
+}
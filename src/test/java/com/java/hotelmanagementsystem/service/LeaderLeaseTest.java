@@ -0,0 +1,128 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.HotelManagementSystemApplication;
+import com.java.hotelmanagementsystem.scheduler.LeaderLease;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Runs two application instances against one shared H2 database. */
+public class LeaderLeaseTest {
+
+    private ConfigurableApplicationContext first;
+    private ConfigurableApplicationContext second;
+    private LeaderLease firstLease;
+    private LeaderLease secondLease;
+
+    @BeforeEach
+    public void setup() {
+        String url =
+                "jdbc:h2:mem:lease-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_ON_EXIT=FALSE";
+        first = start(url);
+        second = start(url);
+        firstLease = first.getBean(LeaderLease.class);
+        secondLease = second.getBean(LeaderLease.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        second.close();
+        first.close();
+    }
+
+    private ConfigurableApplicationContext start(String url) {
+        return new SpringApplicationBuilder(HotelManagementSystemApplication.class)
+                .properties(
+                        "spring.config.name=application-test",
+                        "spring.datasource.url=" + url,
+                        "server.port=0")
+                .run();
+    }
+
+    @Test
+    @DisplayName("Junit to test that only one instance runs a job per interval")
+    void givenTwoInstances_whenJobFires_thenOnlyOneRunsIt() {
+        //given - precondition or setup
+        AtomicInteger runs = new AtomicInteger();
+
+        //when - action or the behaviour that we are going test
+        boolean firstRan =
+                firstLease.runIfLeader(
+                        "job", Duration.ofMinutes(1), lease -> runs.incrementAndGet());
+        boolean secondRan =
+                secondLease.runIfLeader(
+                        "job", Duration.ofMinutes(1), lease -> runs.incrementAndGet());
+
+        //then - verify the output
+        assertThat(firstRan).isTrue();
+        assertThat(secondRan).isFalse();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Junit to test that a lease is taken over once the leader stops renewing it")
+    void givenExpiredLease_whenOtherInstanceAcquires_thenTakesOverAndFencesLeader()
+            throws InterruptedException {
+        //given - precondition or setup
+        LeaderLease.Lease leader =
+                firstLease.tryAcquire("job", Duration.ofMillis(300)).orElseThrow();
+        assertThat(secondLease.tryAcquire("job", Duration.ofMillis(300))).isEmpty();
+        Thread.sleep(400);
+
+        //when - action or the behaviour that we are going test
+        Optional<LeaderLease.Lease> follower = secondLease.tryAcquire("job", Duration.ofMinutes(1));
+
+        //then - verify the output
+        assertThat(follower).isPresent();
+        assertThat(follower.get().fencingToken()).isGreaterThan(leader.fencingToken());
+        assertThat(firstLease.isHeld(leader)).isFalse();
+        assertThat(secondLease.isHeld(follower.get())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Junit to test that two instances creating a missing lease at once get one leader")
+    void givenEmptyTable_whenBothInstancesAcquireAtOnce_thenOnlyOneHoldsTheLease()
+            throws Exception {
+        //given - precondition or setup
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when - action or the behaviour that we are going test
+        Future<Optional<LeaderLease.Lease>> firstResult =
+                executor.submit(
+                        () -> {
+                            start.await();
+                            return firstLease.tryAcquire("job", Duration.ofMinutes(1));
+                        });
+        Future<Optional<LeaderLease.Lease>> secondResult =
+                executor.submit(
+                        () -> {
+                            start.await();
+                            return secondLease.tryAcquire("job", Duration.ofMinutes(1));
+                        });
+        start.countDown();
+        Optional<LeaderLease.Lease> firstAcquired = firstResult.get();
+        Optional<LeaderLease.Lease> secondAcquired = secondResult.get();
+        executor.shutdown();
+
+        //then - verify the output
+        assertThat(firstAcquired.isPresent()).isNotEqualTo(secondAcquired.isPresent());
+        LeaderLease.Lease leader = firstAcquired.or(() -> secondAcquired).orElseThrow();
+        assertThat(leader.fencingToken()).isEqualTo(1);
+        assertThat(firstLease.isHeld(leader)).isTrue();
+    }
+}
@@ -0,0 +1,91 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.models.Role;
+import com.java.hotelmanagementsystem.models.dto.auth.UserPrincipalRow;
+import com.java.hotelmanagementsystem.repositories.UserRepository;
+import com.java.hotelmanagementsystem.security.AuthenticatedUser;
+import com.java.hotelmanagementsystem.security.PrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class PrincipalCacheTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(principalCache, "maxEntries", 10);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 60L);
+    }
+
+    private List<UserPrincipalRow> rows() {
+        Timestamp verified = new Timestamp(System.currentTimeMillis());
+        return List.of(
+                new UserPrincipalRow(1, EMAIL, "hash", verified, Role.RoleEnum.ROLE_USER),
+                new UserPrincipalRow(1, EMAIL, "hash", verified, Role.RoleEnum.ROLE_ADMIN));
+    }
+
+    @Test
+    @DisplayName("Junit to test that a principal is loaded once and carries no password")
+    void givenUser_whenGetTwice_thenLoadedOnce() {
+        //given - precondition or setup
+        given(userRepository.findPrincipalRowsByEmail(EMAIL)).willReturn(rows());
+        //when - action or the behaviour that we are going test
+        principalCache.get(EMAIL);
+        AuthenticatedUser principal = principalCache.get(EMAIL);
+        //then - verify the output
+        verify(userRepository, times(1)).findPrincipalRowsByEmail(EMAIL);
+        assertThat(principal.getId()).isEqualTo(1);
+        assertThat(principal.isVerified()).isTrue();
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Junit to test that an evicted principal is loaded again")
+    void givenCachedPrincipal_whenEvict_thenReloaded() {
+        //given - precondition or setup
+        given(userRepository.findPrincipalRowsByEmail(EMAIL)).willReturn(rows());
+        principalCache.get(EMAIL);
+        //when - action or the behaviour that we are going test
+        principalCache.evict(EMAIL);
+        principalCache.get(EMAIL);
+        //then - verify the output
+        verify(userRepository, times(2)).findPrincipalRowsByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Junit to test that an unknown email is rejected")
+    void givenUnknownEmail_whenGet_thenThrows() {
+        //given - precondition or setup
+        given(userRepository.findPrincipalRowsByEmail(EMAIL)).willReturn(List.of());
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get(EMAIL));
+    }
+}
@@ -0,0 +1,133 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.security.Implementation.RateLimitFilter;
+import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.RateLimiter;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    public void setup() {
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(1000), jwtService);
+        ReflectionTestUtils.setField(rateLimitFilter, "enabled", true);
+        ReflectionTestUtils.setField(
+                rateLimitFilter, "ruleSpec", "/api/v1/auth/**=2/1,GET /api/v1/bookings/**=3/1");
+        ReflectionTestUtils.invokeMethod(rateLimitFilter, "init");
+    }
+
+    private MockHttpServletResponse send(String method, String path, String ip, String token)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("Junit to test that a client exceeding its burst is rejected with Retry-After")
+    void givenBurstExceeded_whenRequest_thenRejectedWithRetryAfter() throws Exception {
+        //given - precondition or setup
+        send("POST", "/api/v1/auth/authenticate", "10.0.0.1", null);
+        send("POST", "/api/v1/auth/authenticate", "10.0.0.1", null);
+
+        //when - action or the behaviour that we are going test
+        MockHttpServletResponse rejected =
+                send("POST", "/api/v1/auth/authenticate", "10.0.0.1", null);
+        MockHttpServletResponse otherClient =
+                send("POST", "/api/v1/auth/authenticate", "10.0.0.2", null);
+
+        //then - verify the output
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(1L, 60L);
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        RateLimitFilter.Rule rule = rateLimitFilter.getRules().get(0);
+        assertThat(rule.allowed()).hasValue(3);
+        assertThat(rule.rejected()).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Junit to test that a user is limited across client addresses")
+    void givenSameUserFromManyAddresses_whenRequest_thenLimitedPerUser() throws Exception {
+        //given - precondition or setup
+        given(jwtService.extractAllClaims("token"))
+                .willReturn(Jwts.claims().subject("test@example.com").build());
+        for (int i = 0; i < 3; i++) {
+            assertThat(send("GET", "/api/v1/bookings/getAll", "10.0.1." + i, "token").getStatus())
+                    .isEqualTo(200);
+        }
+
+        //when - action or the behaviour that we are going test
+        MockHttpServletResponse response =
+                send("GET", "/api/v1/bookings/getAll", "10.0.1.9", "token");
+
+        //then - verify the output
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Junit to test that a request rejected for its user spends no address token")
+    void givenUserBucketEmpty_whenRequest_thenAddressBucketUntouched() throws Exception {
+        //given - precondition or setup
+        given(jwtService.extractAllClaims("token"))
+                .willReturn(Jwts.claims().subject("test@example.com").build());
+        for (int i = 0; i < 3; i++) {
+            send("GET", "/api/v1/bookings/getAll", "10.0.3." + i, "token");
+        }
+        assertThat(send("GET", "/api/v1/bookings/getAll", "10.0.3.9", "token").getStatus())
+                .isEqualTo(429);
+
+        //when - action or the behaviour that we are going test
+        int allowed = 0;
+        for (int i = 0; i < 3; i++) {
+            int status = send("GET", "/api/v1/bookings/getAll", "10.0.3.9", null).getStatus();
+            allowed += status == 200 ? 1 : 0;
+        }
+
+        //then - verify the output
+        assertThat(allowed).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Junit to test that routes without a rule and other methods are not limited")
+    void givenUnlimitedRoute_whenRequestMany_thenNeverRejected() throws Exception {
+        //given - precondition or setup
+        int rejected = 0;
+
+        //when - action or the behaviour that we are going test
+        for (int i = 0; i < 10; i++) {
+            int status = send("GET", "/api/v1/rooms/getAll", "10.0.2.1", null).getStatus();
+            rejected += status == 429 ? 1 : 0;
+            status = send("DELETE", "/api/v1/bookings/deleteBooking/1", "10.0.2.1", null)
+                    .getStatus();
+            rejected += status == 429 ? 1 : 0;
+        }
+
+        //then - verify the output
+        assertThat(rejected).isZero();
+        assertThat(rateLimitFilter.getTrackedKeys()).isZero();
+    }
+}
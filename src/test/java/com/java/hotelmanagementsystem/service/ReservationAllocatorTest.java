@@ -0,0 +1,208 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.availability.ReservationAllocator;
+import com.java.hotelmanagementsystem.models.*;
+import com.java.hotelmanagementsystem.repositories.*;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(properties = "spring.config.name=application-test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReservationAllocatorTest {
+
+    private static final int ROOMS = 8;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+
+    @Autowired
+    private ReservationAllocator reservationAllocator;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomReservationRepository roomReservationRepository;
+
+    private User user;
+    private List<Room> rooms;
+
+    @BeforeEach
+    public void setup() {
+        Role role = new Role(Role.RoleEnum.ROLE_USER);
+        roleRepository.save(role);
+        user = new User("test", "test", "test@example.com", "123456789", 0, "test", role);
+        userRepository.save(user);
+        RoomType roomType = new RoomType(2, 100, 30);
+        roomTypeRepository.save(roomType);
+        rooms = new ArrayList<>();
+        for (int i = 1; i <= ROOMS; i++) {
+            rooms.add(new Room(i, 1000 + i, roomType));
+        }
+        roomRepository.saveAll(rooms);
+    }
+
+    @Test
+    @DisplayName("Junit to test that concurrent bookings of the same stay never share a room")
+    void givenConcurrentBookingsForSameStay_whenAllocate_thenEachRoomBookedOnce() throws Exception {
+        //given - precondition or setup
+        Date from = Date.valueOf("2028-05-01");
+        Date to = Date.valueOf("2028-05-03");
+
+        //when - action or the behaviour that we are going test
+        int booked = runConcurrently(i -> new Date[] {from, to});
+
+        //then - verify the output
+        assertEquals(ROOMS, booked);
+        assertNoOverlaps();
+    }
+
+    @Test
+    @DisplayName("Junit to test that concurrent bookings of overlapping stays never overlap")
+    void givenConcurrentOverlappingStays_whenAllocate_thenNoRoomIsDoubleBooked() throws Exception {
+        //given - precondition or setup
+        LocalDate start = LocalDate.of(2028, 6, 1);
+
+        //when - action or the behaviour that we are going test
+        int booked =
+                runConcurrently(
+                        i -> {
+                            LocalDate from = start.plusDays(i % 20);
+                            LocalDate to = from.plusDays(2 + i % 3);
+                            return new Date[] {Date.valueOf(from), Date.valueOf(to)};
+                        });
+
+        //then - verify the output
+        assertTrue(booked > 0);
+        assertEquals(booked, roomReservationRepository.count());
+        assertNoOverlaps();
+    }
+
+    @Test
+    @DisplayName("Junit to test that concurrent bookings of the same user never exceed the quota")
+    void givenConcurrentBookingsOfSameUser_whenAllocate_thenQuotaIsNeverExceeded()
+            throws Exception {
+        //given - precondition or setup
+        Date from = Date.valueOf("2028-07-01");
+        Date to = Date.valueOf("2028-07-03");
+        ExecutorService executor = Executors.newFixedThreadPool(ROOMS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        //when - action or the behaviour that we are going test
+        for (Room room : rooms) {
+            results.add(
+                    executor.submit(
+                            () -> {
+                                start.await();
+                                try {
+                                    return reservationAllocator
+                                            .claimRoom(room, from, to, user, null, true, r -> {})
+                                            .isPresent();
+                                } catch (IllegalArgumentException e) {
+                                    return false;
+                                }
+                            }));
+        }
+        start.countDown();
+        int booked = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(1, TimeUnit.MINUTES)) {
+                booked++;
+            }
+        }
+        executor.shutdown();
+
+        //then - verify the output
+        assertEquals(5, booked);
+        assertEquals(5, roomReservationRepository.countByUserId(user.getId()));
+    }
+
+    private interface StayFactory {
+        Date[] stay(int attempt);
+    }
+
+    private int runConcurrently(StayFactory stays) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(
+                    executor.submit(
+                            () -> {
+                                start.await();
+                                int booked = 0;
+                                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                                    Date[] stay = stays.stay(thread * ATTEMPTS_PER_THREAD + i);
+                                    if (reservationAllocator
+                                            .allocateRoom(rooms, stay[0], stay[1], user, null)
+                                            .isPresent()) {
+                                        booked++;
+                                    }
+                                }
+                                return booked;
+                            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        int booked = 0;
+        for (Future<Integer> result : results) {
+            booked += result.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+        log.info(
+                "Allocated {} of {} requests in {} ms ({} requests/s)",
+                booked,
+                THREADS * ATTEMPTS_PER_THREAD,
+                elapsedMs,
+                THREADS * ATTEMPTS_PER_THREAD * 1000L / elapsedMs);
+        return booked;
+    }
+
+    private void assertNoOverlaps() {
+        Map<Integer, List<RoomReservation>> byRoom =
+                roomReservationRepository.findAll().stream()
+                        .collect(Collectors.groupingBy(
+                                reservation -> reservation.getRoom().getId()));
+        byRoom.forEach(
+                (roomId, reservations) -> {
+                    for (int i = 0; i < reservations.size(); i++) {
+                        for (int j = i + 1; j < reservations.size(); j++) {
+                            RoomReservation a = reservations.get(i);
+                            RoomReservation b = reservations.get(j);
+                            boolean overlap = !a.getFromDate().after(b.getToDate())
+                                    && !a.getToDate().before(b.getFromDate());
+                            assertFalse(overlap, "Room " + roomId + " is double booked");
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,126 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.availability.ReservationAllocator;
+import com.java.hotelmanagementsystem.availability.ReservationHoldQueue;
+import com.java.hotelmanagementsystem.models.*;
+import com.java.hotelmanagementsystem.repositories.*;
+import com.java.hotelmanagementsystem.services.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.config.name=application-test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReservationHoldQueueTest {
+
+    private static final Date FROM = Date.valueOf("2028-07-01");
+    private static final Date TO = Date.valueOf("2028-07-03");
+
+    @Autowired
+    private ReservationAllocator reservationAllocator;
+    @Autowired
+    private ReservationHoldQueue reservationHoldQueue;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomReservationRepository roomReservationRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private User user;
+    private Room room;
+
+    @BeforeEach
+    public void setup() {
+        Role role = new Role(Role.RoleEnum.ROLE_USER);
+        roleRepository.save(role);
+        user = new User("test", "test", "test@example.com", "123456789", 0, "test", role);
+        userRepository.save(user);
+        RoomType roomType = new RoomType(2, 100, 30);
+        roomTypeRepository.save(roomType);
+        room = new Room(1, 1001, roomType);
+        roomRepository.save(room);
+    }
+
+    @Test
+    @DisplayName("Junit to test that an unpaid hold is released once it expires")
+    void givenUnpaidHold_whenExpired_thenReleased() throws Exception {
+        //given - precondition or setup
+        RoomReservation hold = holdRoom();
+
+        //when - action or the behaviour that we are going test
+        reservationHoldQueue.track(hold);
+
+        //then - verify the output
+        assertTrue(awaitRelease(hold.getId()));
+        assertTrue(reservationAllocator.claimRoom(room, FROM, TO, user, null).isPresent());
+    }
+
+    @Test
+    @DisplayName("Junit to test that a hold paid in time is kept")
+    void givenHoldPaidInTime_whenExpiryPasses_thenKept() throws Exception {
+        //given - precondition or setup
+        RoomReservation hold = holdRoom();
+        reservationHoldQueue.track(hold);
+        Payment payment =
+                paymentRepository.save(new Payment(new Timestamp(System.currentTimeMillis()), 200));
+
+        //when - action or the behaviour that we are going test
+        bookingService.addPaymentToRoomReservation(hold.getId(), payment);
+
+        //then - verify the output
+        assertFalse(awaitRelease(hold.getId()));
+        assertNull(roomReservationRepository.findById(hold.getId()).orElseThrow().getExpiresAt());
+    }
+
+    @Test
+    @DisplayName("Junit to test that an expired hold can no longer be paid")
+    void givenExpiredHold_whenPay_thenThrows() throws Exception {
+        //given - precondition or setup
+        RoomReservation hold = holdRoom();
+        Payment payment =
+                paymentRepository.save(new Payment(new Timestamp(System.currentTimeMillis()), 200));
+        Thread.sleep(500);
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> bookingService.addPaymentToRoomReservation(hold.getId(), payment));
+    }
+
+    private RoomReservation holdRoom() {
+        Timestamp expiresAt = new Timestamp(System.currentTimeMillis() + 300);
+        return reservationAllocator.claimRoom(room, FROM, TO, user, expiresAt).orElseThrow();
+    }
+
+    private boolean awaitRelease(int reservationId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!roomReservationRepository.existsById(reservationId)) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
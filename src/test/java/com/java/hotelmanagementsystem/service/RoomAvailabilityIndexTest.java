@@ -0,0 +1,151 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.availability.RoomAvailabilityIndex;
+import com.java.hotelmanagementsystem.models.Room;
+import com.java.hotelmanagementsystem.models.RoomType;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval;
+import com.java.hotelmanagementsystem.repositories.RoomRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomAvailabilityIndexTest {
+    @Mock
+    private RoomRepository roomRepository;
+    @Mock
+    private RoomReservationRepository roomReservationRepository;
+    @InjectMocks
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private final LocalDate today = LocalDate.now();
+    private List<Room> rooms;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(roomAvailabilityIndex, "enabled", true);
+        ReflectionTestUtils.setField(roomAvailabilityIndex, "horizonDays", 200);
+        RoomType single = new RoomType(1, 100, 20);
+        single.setId(1);
+        RoomType suite = new RoomType(4, 300, 60);
+        suite.setId(2);
+        Room room1 = new Room(1, 1111, single);
+        room1.setId(1);
+        Room room2 = new Room(2, 2222, single);
+        room2.setId(2);
+        Room room3 = new Room(3, 3333, suite);
+        room3.setId(3);
+        rooms = List.of(room1, room2, room3);
+        given(roomRepository.findAll()).willReturn(rooms);
+        given(roomReservationRepository.findIntervalsEndingOnOrAfter(any()))
+                .willReturn(List.of(
+                        new RoomReservationInterval(10, 1, 1, day(60), day(70)),
+                        new RoomReservationInterval(11, 3, 2, day(-5), day(2))));
+        roomAvailabilityIndex.rebuild();
+    }
+
+    private Date day(int offset) {
+        return Date.valueOf(today.plusDays(offset));
+    }
+
+    @Test
+    @DisplayName("Junit to answer only ranges inside the horizon")
+    void givenRanges_whenQuery_thenOnlyAnswerInsideHorizon() {
+        assertThat(roomAvailabilityIndex.findAvailableRoomTypeIds(day(0), day(199))).isPresent();
+        assertThat(roomAvailabilityIndex.findAvailableRoomTypeIds(day(-1), day(3))).isEmpty();
+        assertThat(roomAvailabilityIndex.isRoomAvailable(1, day(10), day(200))).isEmpty();
+        assertThat(roomAvailabilityIndex.countFreeRoomsPerDay(day(5), day(4))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Junit to find free rooms across word boundaries")
+    void givenReservations_whenFindAvailableRooms_thenSkipOverlapping() {
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(day(62), day(66), 1))
+                .hasValue(List.of(2));
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(day(70), day(80), null))
+                .hasValue(List.of(2, 3));
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(day(71), day(190), null))
+                .hasValue(List.of(1, 2, 3));
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(day(0), day(1), 2))
+                .hasValue(List.of());
+        assertThat(roomAvailabilityIndex.isRoomAvailable(1, day(0), day(59))).contains(true);
+        assertThat(roomAvailabilityIndex.isRoomAvailable(1, day(0), day(60))).contains(false);
+        assertThat(roomAvailabilityIndex.isRoomAvailable(42, day(0), day(60))).contains(true);
+    }
+
+    @Test
+    @DisplayName("Junit to find room types with a free room")
+    void givenReservations_whenFindAvailableRoomTypes_thenReturnTypes() {
+        assertThat(roomAvailabilityIndex.findAvailableRoomTypeIds(day(0), day(2)))
+                .hasValue(List.of(1));
+        assertThat(roomAvailabilityIndex.findAvailableRoomTypeIds(day(3), day(9)))
+                .hasValue(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Junit to keep overlapping stays after a removal")
+    void givenOverlappingStays_whenRemoveOne_thenKeepTheOther() {
+        roomAvailabilityIndex.putReservation(12, 2, 1, day(20), day(30));
+        roomAvailabilityIndex.putReservation(13, 2, 1, day(25), day(40));
+        roomAvailabilityIndex.removeReservation(12);
+        assertThat(roomAvailabilityIndex.isRoomAvailable(2, day(20), day(24))).contains(true);
+        assertThat(roomAvailabilityIndex.isRoomAvailable(2, day(26), day(27))).contains(false);
+        roomAvailabilityIndex.removeRoom(2);
+        roomAvailabilityIndex.putRoom(4, 1);
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(day(30), day(30), 1))
+                .hasValue(List.of(1, 4));
+    }
+
+    @Test
+    @DisplayName("Junit to follow bookings and releases made by another instance on refresh")
+    void givenChangesOnAnotherInstance_whenRefresh_thenIndexFollowsDatabase() {
+        //given - precondition or setup
+        RoomType single = rooms.get(0).getRoomType();
+        Room room4 = new Room(4, 4444, single);
+        room4.setId(4);
+        given(roomRepository.findAll()).willReturn(List.of(rooms.get(0), rooms.get(2), room4));
+        given(roomReservationRepository.findIntervalsEndingOnOrAfter(any()))
+                .willReturn(List.of(
+                        new RoomReservationInterval(11, 3, 2, day(-5), day(2)),
+                        new RoomReservationInterval(14, 4, 1, day(60), day(65))));
+        //when - action or the behaviour that we are going test
+        roomAvailabilityIndex.refresh();
+        //then - verify the output
+        assertThat(roomAvailabilityIndex.isRoomAvailable(1, day(60), day(70))).contains(true);
+        assertThat(roomAvailabilityIndex.isRoomAvailable(4, day(61), day(61))).contains(false);
+        assertThat(roomAvailabilityIndex.findAvailableRoomIds(day(0), day(1), null))
+                .hasValue(List.of(1, 4));
+    }
+
+    @Test
+    @DisplayName("Junit to keep a local booking recorded while the refresh snapshot is read")
+    void givenLocalBookingDuringRefresh_whenRefresh_thenKeepIt() {
+        //given - precondition or setup
+        given(roomReservationRepository.findIntervalsEndingOnOrAfter(any()))
+                .willAnswer(invocation -> {
+                    roomAvailabilityIndex.putReservation(15, 2, 1, day(30), day(31));
+                    return List.of(
+                            new RoomReservationInterval(10, 1, 1, day(60), day(70)),
+                            new RoomReservationInterval(11, 3, 2, day(-5), day(2)));
+                });
+        //when - action or the behaviour that we are going test
+        roomAvailabilityIndex.refresh();
+        //then - verify the output
+        assertThat(roomAvailabilityIndex.isRoomAvailable(2, day(30), day(30))).contains(false);
+        assertThat(roomAvailabilityIndex.isRoomAvailable(1, day(65), day(65))).contains(false);
+    }
+}
@@ -1,8 +1,13 @@
 package com.java.hotelmanagementsystem.service;
 
+import com.java.hotelmanagementsystem.availability.AvailabilityCache;
+import com.java.hotelmanagementsystem.availability.RoomAvailabilityIndex;
 import com.java.hotelmanagementsystem.models.Room;
 import com.java.hotelmanagementsystem.models.RoomType;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomAvailabilityCalendarResponse;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval;
 import com.java.hotelmanagementsystem.repositories.RoomRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
 import com.java.hotelmanagementsystem.repositories.RoomTypeRepository;
 import com.java.hotelmanagementsystem.services.Implementation.RoomServiceImp;
 import static org.assertj.core.api.Assertions.*;
@@ -13,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.Date;
@@ -31,6 +37,12 @@ public class RoomServiceTest {
     private RoomRepository roomRepository;
     @Mock
     private RoomTypeRepository roomTypeRepository;
+    @Mock
+    private RoomReservationRepository roomReservationRepository;
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+    @Spy
+    private AvailabilityCache availabilityCache = new AvailabilityCache();
     @InjectMocks
     private RoomServiceImp roomService;
 
@@ -102,6 +114,40 @@ public class RoomServiceTest {
         assertThat(result).isTrue();
         verify(roomRepository, times(1)).isRoomAvailable(roomId,dateFromSql,dateToSql);
     }
+    @Test
+    @DisplayName("Junit to room is available from the availability index")
+    void givenIndexCoversDates_whenIsAvailable_thenSkipRepository(){
+        //given - precondition
+        Date dateFromSql = Tools.parseDate("2024-03-14");
+        Date dateToSql = Tools.parseDate("2024-03-16");
+        given(roomAvailabilityIndex.isRoomAvailable(1, dateFromSql, dateToSql))
+                .willReturn(Optional.of(false));
+        //when - action or behaviour we are going to test
+        boolean result = roomService.isRoomAvailable(1, "2024-03-14", "2024-03-16");
+        //then - verify the output
+        assertThat(result).isFalse();
+        verify(roomRepository, times(0)).isRoomAvailable(1, dateFromSql, dateToSql);
+    }
+
+    @Test
+    @DisplayName("Junit to get available rooms of a type from the availability index")
+    void givenIndexCoversDates_whenGetByTimeAndType_thenLoadIndexedRooms(){
+        //given - precondition
+        Date dateFromSql = Tools.parseDate("2024-03-14");
+        Date dateToSql = Tools.parseDate("2024-03-16");
+        Room room = new Room();
+        room.setId(2);
+        Room room1 = new Room();
+        room1.setId(1);
+        given(roomAvailabilityIndex.findAvailableRoomIds(dateFromSql, dateToSql, 3))
+                .willReturn(Optional.of(List.of(1, 2)));
+        given(roomRepository.findAllById(List.of(1, 2))).willReturn(Arrays.asList(room, room1));
+        //when - action or behaviour we are going to test
+        List<Room> rooms = roomService.getAllByAvailableTimeAndType("2024-03-14", "2024-03-16", 3);
+        //then - verify the output
+        assertThat(rooms).extracting(Room::getId).containsExactly(1, 2);
+    }
+
     @Test
     @DisplayName("Junit to get all tyoes of room")
     void givenRoomObject_whenGetAll_thenReturnAllRoomTypes(){
@@ -128,5 +174,45 @@ public class RoomServiceTest {
         //then - verify the output
         verify(roomTypeRepository, times(1)).save(roomType);
     }
-}
 
+    @Test
+    @DisplayName("Junit to get availability calendar from reservation intervals")
+    void givenReservations_whenGetAvailabilityCalendar_thenReturnFreeRoomsPerNight() {
+        //given - precondition
+        Date dateFromSql = Tools.parseDate("2024-03-14");
+        Date dateToSql = Tools.parseDate("2024-03-17");
+        RoomType roomType = new RoomType();
+        roomType.setId(1);
+        RoomType roomType1 = new RoomType();
+        roomType1.setId(2);
+        given(roomAvailabilityIndex.countFreeRoomsPerDay(dateFromSql, dateToSql))
+                .willReturn(Optional.empty());
+        given(roomRepository.findAllRoomTypeIds()).willReturn(
+                List.of(new Object[] {10, 1}, new Object[] {11, 1}));
+        given(roomReservationRepository.findIntervalsOverlapping(dateFromSql, dateToSql))
+                .willReturn(List.of(
+                        new RoomReservationInterval(1, 10, 1,
+                                Date.valueOf("2024-03-10"), Date.valueOf("2024-03-15")),
+                        new RoomReservationInterval(2, 10, 1,
+                                Date.valueOf("2024-03-15"), Date.valueOf("2024-03-15")),
+                        new RoomReservationInterval(3, 11, 1,
+                                Date.valueOf("2024-03-17"), Date.valueOf("2024-03-20"))));
+        given(roomTypeRepository.findAll()).willReturn(List.of(roomType, roomType1));
+        //when - action or behaviour we are going to test
+        RoomAvailabilityCalendarResponse calendar =
+                roomService.getAvailabilityCalendar("2024-03-14", "2024-03-17");
+        //then - verify the output
+        assertThat(calendar.getRoomTypeIds()).containsExactly(1, 2);
+        assertThat(calendar.getFreeRooms().get(0)).containsExactly(1, 1, 2, 1);
+        assertThat(calendar.getFreeRooms().get(1)).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Junit to reject an availability calendar ending before it starts")
+    void givenReversedDates_whenGetAvailabilityCalendar_thenThrowException() {
+        //when - action or behaviour we are going to test
+        //then - verify the output
+        assertThatThrownBy(() -> roomService.getAvailabilityCalendar("2024-03-17", "2024-03-14"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.models.Role;
+import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.models.dto.auth.UserPrincipalRow;
+import com.java.hotelmanagementsystem.repositories.UserRepository;
+import com.java.hotelmanagementsystem.security.AuthenticatedUser;
+import com.java.hotelmanagementsystem.security.CurrentUser;
+import com.java.hotelmanagementsystem.security.SecurityTools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class SecurityToolsTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+    private CurrentUser currentUser;
+    private SecurityTools securityTools;
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    public void setup() {
+        currentUser = new CurrentUser();
+        securityTools = new SecurityTools(userRepository, currentUser);
+        principal = AuthenticatedUser.of(
+                List.of(new UserPrincipalRow(7, EMAIL, null, null, Role.RoleEnum.ROLE_USER)),
+                false);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities()));
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Junit to test that the user is loaded once per request by its id")
+    void givenRequest_whenRetrieveUserDataTwice_thenLoadedOnce() {
+        //given - precondition or setup
+        User user = new User("test", "test", EMAIL, "123456789", 0, "test", null);
+        given(userRepository.findById(7)).willReturn(Optional.of(user));
+        //when - action or the behaviour that we are going test
+        securityTools.retrieveUserData();
+        User second = securityTools.retrieveUserData();
+        //then - verify the output
+        assertThat(second).isSameAs(user);
+        verify(userRepository, times(1)).findById(7);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Junit to test that the user id is read from the principal set by the filter")
+    void givenPrincipalInHolder_whenRetrieveUserId_thenNoQuery() {
+        //given - precondition or setup
+        currentUser.setPrincipal(principal);
+        //when - action or the behaviour that we are going test
+        int id = securityTools.retrieveUserId();
+        //then - verify the output
+        assertThat(id).isEqualTo(7);
+        verify(userRepository, never()).findById(anyInt());
+        verify(userRepository, never()).findIdByEmail(anyString());
+    }
+}
@@ -0,0 +1,163 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.models.RefreshToken;
+import com.java.hotelmanagementsystem.models.Role;
+import com.java.hotelmanagementsystem.models.User;
+import com.java.hotelmanagementsystem.models.dto.auth.UserPrincipalRow;
+import com.java.hotelmanagementsystem.repositories.RefreshTokenRepository;
+import com.java.hotelmanagementsystem.security.AuthenticatedUser;
+import com.java.hotelmanagementsystem.security.Implementation.SessionTokenServiceImp;
+import com.java.hotelmanagementsystem.security.JwtService;
+import com.java.hotelmanagementsystem.security.PrincipalCache;
+import com.java.hotelmanagementsystem.security.SessionTokenService;
+import com.java.hotelmanagementsystem.security.TokenDigest;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionTokenServiceTest {
+
+    private static final String EMAIL = "test@example.com";
+    private static final String REFRESH_TOKEN = "refresh-token";
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private PrincipalCache principalCache;
+    @InjectMocks
+    private SessionTokenServiceImp sessionTokenService;
+
+    private final Claims claims =
+            Jwts.claims()
+                    .subject(EMAIL)
+                    .expiration(new Date(System.currentTimeMillis() + 60000))
+                    .build();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(sessionTokenService, "statelessEnabled", true);
+    }
+
+    private RefreshToken stored() {
+        return RefreshToken.builder()
+                .id(5)
+                .tokenHash(TokenDigest.of(REFRESH_TOKEN))
+                .userId(1)
+                .familyId("family")
+                .expiresAt(new Timestamp(System.currentTimeMillis() + 60000))
+                .build();
+    }
+
+    private AuthenticatedUser principal() {
+        return AuthenticatedUser.of(
+                List.of(new UserPrincipalRow(1, EMAIL, null, null, Role.RoleEnum.ROLE_USER)),
+                false);
+    }
+
+    @Test
+    @DisplayName("Junit to test that a refresh rotates the token within its family")
+    void givenCurrentRefreshToken_whenRefresh_thenRotatedWithinFamily() {
+        //given - precondition or setup
+        given(jwtService.extractAllClaims(anyString())).willReturn(claims);
+        given(jwtService.isRefreshToken(claims)).willReturn(true);
+        given(refreshTokenRepository.findByTokenHash(TokenDigest.of(REFRESH_TOKEN)))
+                .willReturn(Optional.of(stored()));
+        given(refreshTokenRepository.markRotated(eq(5), any())).willReturn(1);
+        given(principalCache.get(EMAIL)).willReturn(principal());
+        given(jwtService.generateRefreshToken(any())).willReturn("next-refresh-token");
+        given(jwtService.generateAccessToken(any(), eq("family"))).willReturn("access-token");
+
+        //when - action or the behaviour that we are going test
+        SessionTokenService.Tokens tokens = sessionTokenService.refresh(REFRESH_TOKEN);
+
+        //then - verify the output
+        assertThat(tokens.accessToken()).isEqualTo("access-token");
+        assertThat(tokens.refreshToken()).isEqualTo("next-refresh-token");
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo("family");
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(TokenDigest.of("next-refresh-token"));
+        verify(refreshTokenRepository, never()).deleteByFamilyId(anyString());
+    }
+
+    @Test
+    @DisplayName("Junit to test that reusing a rotated refresh token revokes its family")
+    void givenRotatedRefreshToken_whenRefresh_thenFamilyRevoked() {
+        //given - precondition or setup
+        given(jwtService.extractAllClaims(REFRESH_TOKEN)).willReturn(claims);
+        given(jwtService.isRefreshToken(claims)).willReturn(true);
+        given(refreshTokenRepository.findByTokenHash(TokenDigest.of(REFRESH_TOKEN)))
+                .willReturn(Optional.of(stored()));
+        given(refreshTokenRepository.markRotated(eq(5), any())).willReturn(0);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(
+                IllegalArgumentException.class, () -> sessionTokenService.refresh(REFRESH_TOKEN));
+
+        //then - verify the output
+        verify(refreshTokenRepository).deleteByFamilyId("family");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Junit to test that an access token cannot be used as refresh token")
+    void givenAccessToken_whenRefresh_thenRejected() {
+        //given - precondition or setup
+        given(jwtService.extractAllClaims(REFRESH_TOKEN)).willReturn(claims);
+        given(jwtService.isRefreshToken(claims)).willReturn(false);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(
+                IllegalArgumentException.class, () -> sessionTokenService.refresh(REFRESH_TOKEN));
+
+        //then - verify the output
+        verify(refreshTokenRepository, never()).markRotated(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Junit to test that a login starts a new family and revokes the previous ones")
+    void givenUser_whenStartSession_thenNewFamilyStarted() {
+        //given - precondition or setup
+        User user = new User();
+        user.setId(1);
+        user.setEmail(EMAIL);
+        given(jwtService.generateRefreshToken(user)).willReturn("refresh-token");
+        given(jwtService.extractAllClaims("refresh-token")).willReturn(claims);
+        given(jwtService.generateAccessToken(eq(user), anyString())).willReturn("access-token");
+
+        //when - action or the behaviour that we are going test
+        SessionTokenService.Tokens tokens = sessionTokenService.startSession(user);
+
+        //then - verify the output
+        assertThat(tokens.refreshToken()).isEqualTo("refresh-token");
+        verify(refreshTokenRepository).deleteByUserId(1);
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(jwtService, never()).saveUserToken(any(), anyString(), any());
+    }
+}
@@ -0,0 +1,85 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.models.Token;
+import com.java.hotelmanagementsystem.repositories.TokenRepository;
+import com.java.hotelmanagementsystem.security.TokenStateCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenStateCacheTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+    @InjectMocks
+    private TokenStateCache tokenStateCache;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(tokenStateCache, "refreshMs", 30000L);
+        ReflectionTestUtils.setField(tokenStateCache, "negativeMaxEntries", 100);
+    }
+
+    @Test
+    @DisplayName("Junit to test that loaded tokens are answered from memory")
+    void givenReloadedToken_whenIsLive_thenNoDatabaseLookup() {
+        //given - precondition or setup
+        given(tokenRepository.findAllTokenHashes()).willReturn(List.of("token"));
+        tokenStateCache.reload();
+        //when - action or the behaviour that we are going test
+        boolean live = tokenStateCache.isLive("token");
+        //then - verify the output
+        assertThat(live).isTrue();
+        verify(tokenRepository, never()).findByTokenHash("token");
+        assertThat(tokenStateCache.getStats().databaseLookups()).isZero();
+    }
+
+    @Test
+    @DisplayName("Junit to test that a revoked token stays rejected after a stale reload")
+    void givenRevokedToken_whenStaleReload_thenStillRejected() {
+        //given - precondition or setup
+        given(tokenRepository.findAllTokenHashes()).willReturn(List.of("token"));
+        tokenStateCache.tokenSaved("token");
+        tokenStateCache.tokenRevoked("token");
+        //when - action or the behaviour that we are going test
+        tokenStateCache.reload();
+        //then - verify the output
+        assertThat(tokenStateCache.isLive("token")).isFalse();
+        assertThat(tokenStateCache.getStats().negativeHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Junit to test that unknown tokens hit the database once")
+    void givenUnknownTokens_whenIsLive_thenDatabaseLookedUpOnce() {
+        //given - precondition or setup
+        given(tokenRepository.findByTokenHash("issued-elsewhere"))
+                .willReturn(Optional.of(new Token()));
+        given(tokenRepository.findByTokenHash("forged")).willReturn(Optional.empty());
+        //when - action or the behaviour that we are going test
+        tokenStateCache.isLive("issued-elsewhere");
+        tokenStateCache.isLive("forged");
+        boolean issuedElsewhere = tokenStateCache.isLive("issued-elsewhere");
+        boolean forged = tokenStateCache.isLive("forged");
+        //then - verify the output
+        assertThat(issuedElsewhere).isTrue();
+        assertThat(forged).isFalse();
+        verify(tokenRepository, times(1)).findByTokenHash("issued-elsewhere");
+        verify(tokenRepository, times(1)).findByTokenHash("forged");
+        assertThat(tokenStateCache.getStats().databaseHitRate()).isEqualTo(0.5);
+    }
+}
@@ -0,0 +1,97 @@
+package com.java.hotelmanagementsystem.service;
+
+import com.java.hotelmanagementsystem.availability.AvailabilityCache;
+import com.java.hotelmanagementsystem.availability.EntertainmentAvailabilityIndex;
+import com.java.hotelmanagementsystem.availability.RoomAvailabilityIndex;
+import com.java.hotelmanagementsystem.availability.UnpaidReservationSweeper;
+import com.java.hotelmanagementsystem.models.dto.bookings.RoomReservationInterval;
+import com.java.hotelmanagementsystem.repositories.EntertainmentReservationRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class UnpaidReservationSweeperTest {
+
+    @Mock
+    private RoomReservationRepository roomReservationRepository;
+    @Mock
+    private EntertainmentReservationRepository entertainmentReservationRepository;
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+    @Mock
+    private EntertainmentAvailabilityIndex entertainmentAvailabilityIndex;
+    @Mock
+    private AvailabilityCache availabilityCache;
+    @InjectMocks
+    private UnpaidReservationSweeper unpaidReservationSweeper;
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(unpaidReservationSweeper, "chunkSize", 2);
+    }
+
+    private RoomReservationInterval interval(int reservationId) {
+        return new RoomReservationInterval(
+                reservationId, 1, 1, Date.valueOf("2024-05-01"), Date.valueOf("2024-05-03"));
+    }
+
+    @Test
+    @DisplayName("Junit to test that unpaid room reservations are deleted chunk by chunk")
+    void givenUnpaidReservations_whenDelete_thenDeletedInChunks() {
+        //given - precondition or setup
+        given(roomReservationRepository.findUnpaidStartingBy(any(), any(), any()))
+                .willReturn(List.of(interval(1), interval(2)))
+                .willReturn(List.of(interval(3)));
+        given(roomReservationRepository.deleteUnpaidByIds(anyCollection())).willReturn(2, 1);
+
+        //when - action or the behaviour that we are going test
+        UnpaidReservationSweeper.Run run = unpaidReservationSweeper.deleteUnpaidRoomReservations();
+
+        //then - verify the output
+        assertThat(run.rowsRemoved()).isEqualTo(3);
+        assertThat(run.chunks()).isEqualTo(2);
+        assertThat(unpaidReservationSweeper.getTotalRowsRemoved()).isEqualTo(3);
+        assertThat(unpaidReservationSweeper.getLastRuns())
+                .containsEntry(AvailabilityCache.Area.ROOM, run);
+        verify(roomReservationRepository).deleteUnpaidByIds(Set.of(1, 2));
+        verify(roomReservationRepository).deleteUnpaidByIds(Set.of(3));
+        verify(roomAvailabilityIndex, times(3)).removeReservation(anyInt());
+    }
+
+    @Test
+    @DisplayName("Junit to test that a reservation paid during the cleanup stays indexed")
+    void givenReservationPaidDuringCleanup_whenDelete_thenKeptInIndex() {
+        //given - precondition or setup
+        given(roomReservationRepository.findUnpaidStartingBy(any(), any(), any()))
+                .willReturn(List.of(interval(1)));
+        given(roomReservationRepository.deleteUnpaidByIds(anyCollection())).willReturn(0);
+        given(roomReservationRepository.findExistingIds(anyCollection())).willReturn(List.of(1));
+
+        //when - action or the behaviour that we are going test
+        UnpaidReservationSweeper.Run run = unpaidReservationSweeper.deleteUnpaidRoomReservations();
+
+        //then - verify the output
+        assertThat(run.rowsRemoved()).isZero();
+        verify(roomAvailabilityIndex, never()).removeReservation(anyInt());
+    }
+}
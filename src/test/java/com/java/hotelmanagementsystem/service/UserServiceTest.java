@@ -1,12 +1,12 @@
 package com.java.hotelmanagementsystem.service;
 
-import com.java.hotelmanagementsystem.models.EntertainmentReservation;
 import com.java.hotelmanagementsystem.models.Role;
-import com.java.hotelmanagementsystem.models.RoomReservation;
 import com.java.hotelmanagementsystem.models.User;
 import com.java.hotelmanagementsystem.models.dto.User.DiscountChangeRequest;
 import com.java.hotelmanagementsystem.models.dto.User.PhoneChangeRequest;
 import com.java.hotelmanagementsystem.models.dto.User.UserDto;
+import com.java.hotelmanagementsystem.repositories.EntertainmentReservationRepository;
+import com.java.hotelmanagementsystem.repositories.RoomReservationRepository;
 import com.java.hotelmanagementsystem.repositories.UserRepository;
 import com.java.hotelmanagementsystem.security.EmailService;
 import com.java.hotelmanagementsystem.security.JwtService;
@@ -27,6 +27,8 @@ import org.mockito.Mock;
 
 
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.sql.Timestamp;
 import java.util.*;
@@ -38,6 +40,10 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private RoomReservationRepository roomReservationRepository;
+    @Mock
+    private EntertainmentReservationRepository entertainmentReservationRepository;
+    @Mock
     private EmailService emailService;
     @Mock
     private SecurityTools securityTools;
@@ -82,9 +88,11 @@ public class UserServiceTest {
         //given - precondition
         userRepository.save(user);
         userRepository.save(user1);
-        given(userRepository.findAll()).willReturn(List.of(user, user1));
+        ReflectionTestUtils.setField(userService, "maxPageSize", 500);
+        given(userRepository.findPageAfter(0, PageRequest.of(0, 50)))
+                .willReturn(List.of(new UserDto(user), new UserDto(user1)));
         //when - action or behaviour we are going to test
-        List<UserDto> userList = userService.getAll();
+        List<UserDto> userList = userService.getAll(0, 50);
 
         //then - verify the output
         assertThat(userList).isNotNull().hasSize(2);
@@ -153,8 +161,8 @@ public class UserServiceTest {
     void givenUser_whenCount_thenReturnUserReservationCount() {
         //given - precondition
         userRepository.save(user);
-        user.setRoomReservations(Arrays.asList(new RoomReservation(), new RoomReservation()));
-        given(securityTools.retrieveUserData()).willReturn(user);
+        given(securityTools.retrieveUserId()).willReturn(user.getId());
+        given(roomReservationRepository.countByUserId(user.getId())).willReturn(2L);
         //when - action or behaviour we are going to test
         int count = userService.getUserRoomReservationsCount();
         //then - verify the output
@@ -169,8 +177,8 @@ public class UserServiceTest {
     void givenUser_whenCount_thenReturnUserEntertainmentCount() {
         //given - precondition
         userRepository.save(user);
-        user.setEntertainmentReservations(Arrays.asList(new EntertainmentReservation(), new EntertainmentReservation()));
-        given(securityTools.retrieveUserData()).willReturn(user);
+        given(securityTools.retrieveUserId()).willReturn(user.getId());
+        given(entertainmentReservationRepository.countByUserId(user.getId())).willReturn(2L);
         //when - action or behaviour we are going to test
         int count = userService.getUserEntertainmentReservationsCount();
         //then - verify the output